@@ -0,0 +1,58 @@
+package com.sustainshare.backend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.service.FoodItemService;
+
+// FoodItemService.getAvailableFoodItems with the in-memory cache and with it switched off (one query per call)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailableFoodBenchmark {
+
+    @Param({ "1000" })
+    public int items;
+
+    @Param({ "LOCAL", "OFF" })
+    public String cacheMode;
+
+    private ConfigurableApplicationContext context;
+    private FoodItemService foodItemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("sustainshare.cache.available.mode=" + cacheMode);
+        foodItemService = context.getBean(FoodItemService.class);
+        BenchmarkApplication.seedFood(context, BenchmarkApplication.newUser(context, "Donor").getId(), items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FoodItem> available() {
+        return foodItemService.getAvailableFoodItems();
+    }
+}
@@ -0,0 +1,54 @@
+package com.sustainshare.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sustainshare.backend.BackendApplication;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.service.FoodItemService;
+
+// Boots the real application against the embedded H2 (MySQL mode) from the test properties and seeds data
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                // Own database per fork; closed by the context, not by a JVM shutdown hook racing it
+                "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(BackendApplication.class).properties(all.toArray(String[]::new)).run();
+    }
+
+    static User newUser(ConfigurableApplicationContext context, String role) {
+        String unique = UUID.randomUUID().toString().substring(0, 12);
+        return context.getBean(UserRepository.class)
+                .save(new User(role + " " + unique, unique, unique + "@example.com", unique, "pass", role));
+    }
+
+    // Posts count unclaimed items with donation logs through the bulk path; returns their ids in order
+    static List<Long> seedFood(ConfigurableApplicationContext context, Long donorId, int count) {
+        FoodItemService foodItemService = context.getBean(FoodItemService.class);
+        List<Long> ids = new ArrayList<>(count);
+        for (int start = 0; start < count; start += 1000) {
+            List<FoodItem> chunk = new ArrayList<>();
+            for (int i = start; i < Math.min(count, start + 1000); i++) {
+                chunk.add(new FoodItem("Item " + i, 1 + i % 20, "Depot " + i % 50, null, donorId));
+            }
+            foodItemService.addFoodBatch(chunk);
+            chunk.forEach(f -> ids.add(f.getId()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,98 @@
+package com.sustainshare.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.service.DonationLogService;
+import com.sustainshare.backend.service.DonationLogService.ClaimMode;
+
+// DonationLogService.claimFood, alone and with CONTENDERS threads racing for each item.
+// Every iteration gets a fresh pool of unclaimed items so calls measure real claims, not rejections;
+// "pool" must exceed the claims one iteration can make.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClaimBenchmark {
+
+    private static final int CONTENDERS = 4;
+
+    @Param({ "LOCKING", "CONDITIONAL" })
+    public ClaimMode mode;
+
+    @Param({ "20000" })
+    public int pool;
+
+    private ConfigurableApplicationContext context;
+    private DonationLogService donationLogService;
+    private Long donorId;
+    private final List<Long> charityIds = new ArrayList<>();
+
+    private List<Long> foodIds;
+    private final AtomicInteger tickets = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        donationLogService = context.getBean(DonationLogService.class);
+        donorId = BenchmarkApplication.newUser(context, "Donor").getId();
+        for (int i = 0; i < CONTENDERS; i++) {
+            charityIds.add(BenchmarkApplication.newUser(context, "Charity").getId());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void seedIteration() {
+        foodIds = BenchmarkApplication.seedFood(context, donorId, pool);
+        tickets.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<DonationLog> uncontended() {
+        int ticket = tickets.getAndIncrement();
+        return donationLogService.claimFood(foodId(ticket), charityIds.get(0), mode);
+    }
+
+    // Consecutive tickets share an item, so CONTENDERS threads race for it and all but one lose
+    @Benchmark
+    @Threads(CONTENDERS)
+    public Optional<DonationLog> contended() {
+        int ticket = tickets.getAndIncrement();
+        return donationLogService.claimFood(foodId(ticket / CONTENDERS), charityIds.get(ticket % CONTENDERS), mode);
+    }
+
+    private Long foodId(int index) {
+        if (index >= foodIds.size()) {
+            throw new IllegalStateException("Item pool exhausted; run with a larger -p pool=");
+        }
+        return foodIds.get(index);
+    }
+}
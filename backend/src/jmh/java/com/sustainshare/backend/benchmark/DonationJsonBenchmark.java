@@ -0,0 +1,83 @@
+package com.sustainshare.backend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sustainshare.backend.controller.dto.DonationLogView;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.service.DonationLogService;
+
+// JSON serialization of "items" donations with the application's ObjectMapper: full DonationLog entity
+// graphs (donor, charity, food item) and the flat DonationLogView rows /api/donations now returns.
+// Both lists are loaded once, so only serialization is measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DonationJsonBenchmark {
+
+    @Param({ "1000" })
+    public int items;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private List<DonationLog> entities;
+    private List<DonationLogView> views;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        objectMapper = context.getBean(ObjectMapper.class);
+        User donor = BenchmarkApplication.newUser(context, "Donor");
+        List<Long> foodIds = BenchmarkApplication.seedFood(context, donor.getId(), items);
+
+        // Claim every other item so half the graphs carry a charity
+        DonationLogService donationLogService = context.getBean(DonationLogService.class);
+        Long charityId = BenchmarkApplication.newUser(context, "Charity").getId();
+        for (int i = 0; i < foodIds.size(); i += 2) {
+            donationLogService.claimFood(foodIds.get(i), charityId);
+        }
+
+        entities = context.getBean(DonationLogRepository.class).findAll();
+        views = donationLogService.getAllDonationViews();
+        if (entities.size() < items || views.size() < items) {
+            throw new IllegalStateException("Seeding produced fewer donations than requested");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entityGraphs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] views() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(views);
+    }
+}
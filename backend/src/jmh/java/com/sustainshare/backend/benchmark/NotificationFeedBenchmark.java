@@ -0,0 +1,84 @@
+package com.sustainshare.backend.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import com.sustainshare.backend.controller.NotificationController;
+import com.sustainshare.backend.model.Notification;
+import com.sustainshare.backend.repository.NotificationRepository;
+import com.sustainshare.backend.security.AuthenticatedUser;
+
+// Notification assembly as NotificationController serves it: first page of the feed and the unread badge
+// for a user with "notifications" rows of history
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationFeedBenchmark {
+
+    @Param({ "10000" })
+    public int notifications;
+
+    private ConfigurableApplicationContext context;
+    private NotificationController controller;
+    private AuthenticatedUser user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        controller = context.getBean(NotificationController.class);
+        Long userId = BenchmarkApplication.newUser(context, "Charity").getId();
+        user = new AuthenticatedUser(userId, "Charity");
+
+        NotificationRepository repository = context.getBean(NotificationRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> chunk = new ArrayList<>();
+        for (int i = 0; i < notifications; i++) {
+            Notification n = new Notification(userId, "food_posted", "New food posted: Item " + i + " by Donor", now);
+            n.setFoodName("Item " + i);
+            n.setDonorName("Donor");
+            n.setRead(i % 3 == 0);
+            chunk.add(n);
+            if (chunk.size() == 1000) {
+                repository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        repository.saveAll(chunk);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> firstPage() {
+        return controller.getNotificationsForUser(user.getId(), null, 20, user);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> unreadCount() {
+        return controller.getUnreadCount(user.getId(), user);
+    }
+}
@@ -0,0 +1,37 @@
+package com.sustainshare.backend.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// Request execution: with spring.threads.virtual.enabled=true (Java 21+) Tomcat serves each request on a
+// virtual thread. Virtual threads make blocking cheap but do not add database connections, so
+// sustainshare.db.admission.enabled=true puts a fair, bounded semaphore in front of the pool
+// (see AdmissionControlDataSource); its queue depth and wait times are served at /api/stats/db.
+@Configuration
+public class ExecutionConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "sustainshare.db.admission.enabled", havingValue = "true")
+    public static BeanPostProcessor admissionControlPostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlDataSource) {
+                    return bean;
+                }
+                // Default to the pool size so admission, not Hikari, is where callers wait
+                int poolSize = env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int permits = env.getProperty("sustainshare.db.admission.permits", Integer.class, poolSize);
+                int maxQueue = env.getProperty("sustainshare.db.admission.max-queue", Integer.class, 1000);
+                long timeoutMs = env.getProperty("sustainshare.db.admission.timeout-ms", Long.class, 5000L);
+                return new AdmissionControlDataSource(dataSource, permits, maxQueue, timeoutMs);
+            }
+        };
+    }
+}
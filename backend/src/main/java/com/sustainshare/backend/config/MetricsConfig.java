@@ -0,0 +1,132 @@
+package com.sustainshare.backend.config;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Metrics served at /actuator/prometheus. Spring Boot already provides per-endpoint latency
+// (http.server.requests, with histogram buckets enabled in application.properties), Hikari pool gauges
+// (hikaricp.connections.*) and Hibernate session factory statistics. This adds what it cannot see:
+// SQL statements per request, and the admission queue and read replica routing when they are enabled.
+@Configuration
+public class MetricsConfig {
+
+    // Counts statements prepared by Hibernate on the current request thread. JdbcTemplate paths
+    // (bulk posting, export, expiry) bypass Hibernate and are not counted.
+    static final class RequestStatementCounter implements StatementInspector {
+
+        private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            int[] count = COUNT.get();
+            if (count != null) {
+                count[0]++;
+            }
+            return sql;
+        }
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestStatementCounter());
+    }
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> statementCountFilter(MeterRegistry meterRegistry) {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                int[] count = new int[1];
+                RequestStatementCounter.COUNT.set(count);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    RequestStatementCounter.COUNT.remove();
+                    // Same uri tag as http.server.requests: the route template, never the raw path
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    DistributionSummary.builder("sustainshare.http.db.statements")
+                            .tag("method", request.getMethod())
+                            .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                            .register(meterRegistry)
+                            .record(count[0]);
+                }
+            }
+
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return !request.getRequestURI().startsWith("/api/");
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder admissionControlMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> {
+            if (!(dataSources.getIfAvailable() instanceof AdmissionControlDataSource admission)) {
+                return;
+            }
+            Gauge.builder("sustainshare.db.admission.in.use", admission, ds -> stat(ds, "inUse")).register(registry);
+            Gauge.builder("sustainshare.db.admission.queue.depth", admission, ds -> stat(ds, "queueDepth")).register(registry);
+            Gauge.builder("sustainshare.db.admission.permits", admission, ds -> stat(ds, "permits")).register(registry);
+            FunctionCounter.builder("sustainshare.db.admission.admitted", admission, ds -> stat(ds, "admitted")).register(registry);
+            FunctionCounter.builder("sustainshare.db.admission.rejected", admission, ds -> stat(ds, "rejected")).register(registry);
+            FunctionCounter.builder("sustainshare.db.admission.timed.out", admission, ds -> stat(ds, "timedOut")).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder readReplicaMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> {
+            ReadReplicaRoutingDataSource router;
+            try {
+                DataSource dataSource = dataSources.getIfAvailable();
+                if (dataSource == null || !dataSource.isWrapperFor(ReadReplicaRoutingDataSource.class)) {
+                    return;
+                }
+                router = dataSource.unwrap(ReadReplicaRoutingDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            for (String target : new String[] { "primary", "replica", "pinned" }) {
+                FunctionCounter.builder("sustainshare.db.routes", router, ds -> routeStat(ds, target + "Routes"))
+                        .tag("target", target).register(registry);
+            }
+            FunctionCounter.builder("sustainshare.db.replica.fallbacks", router, ds -> routeStat(ds, "replicaFallbacks"))
+                    .register(registry);
+        };
+    }
+
+    private static double routeStat(ReadReplicaRoutingDataSource dataSource, String key) {
+        return ((Number) dataSource.getStats().get(key)).doubleValue();
+    }
+
+    private static double stat(AdmissionControlDataSource dataSource, String key) {
+        return ((Number) dataSource.getStats().get(key)).doubleValue();
+    }
+}
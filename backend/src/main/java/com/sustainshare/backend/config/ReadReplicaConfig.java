@@ -0,0 +1,171 @@
+package com.sustainshare.backend.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.sustainshare.backend.security.AuthenticatedUser;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Read replicas: with sustainshare.db.replicas.enabled=true the application DataSource becomes a
+// ReadReplicaRoutingDataSource over the configured primary and one Hikari pool per replica URL. Writes
+// (addFood, claimFood, schedulePickup and every other read-write transaction) stay on the primary.
+// Replicas lag, so a caller that has just written (any non-GET request) reads from the primary for
+// read-your-writes afterwards; callers are told apart by their token, or by address without one.
+// Routing counts are served at /api/stats/db. The admission queue, when also enabled, wraps the router
+// and so bounds primary and replica connections together.
+// Needs spring.jpa.open-in-view=false: an open-in-view EntityManager keeps the first connection it gets for
+// the whole request, so routing would be decided once per request and a write after a read-only
+// transaction would run on a replica.
+@Configuration
+@ConditionalOnProperty(name = "sustainshare.db.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final int MAX_TRACKED_WRITERS = 10_000;
+
+    public ReadReplicaConfig(Environment env) {
+        if (env.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("sustainshare.db.replicas.enabled requires spring.jpa.open-in-view=false");
+        }
+    }
+
+    @Bean
+    public static BeanPostProcessor readReplicaRoutingPostProcessor(Environment env) {
+        return new RoutingPostProcessor(env);
+    }
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> readYourWritesFilter(Environment env) {
+        Duration window = env.getProperty("sustainshare.db.replicas.read-your-writes", Duration.class, Duration.ofSeconds(5));
+        Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                String caller = callerKey(request);
+                boolean writing = !SAFE_METHODS.contains(request.getMethod());
+                Long until = pinnedUntil.get(caller);
+                boolean recentWriter = until != null && until - System.nanoTime() > 0;
+                if (!writing && !recentWriter) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+                try (ReadReplicaRoutingDataSource.Pin pin = ReadReplicaRoutingDataSource.pinToPrimary()) {
+                    chain.doFilter(request, response);
+                } finally {
+                    if (writing && !window.isZero()) {
+                        if (pinnedUntil.size() >= MAX_TRACKED_WRITERS) {
+                            long now = System.nanoTime();
+                            pinnedUntil.values().removeIf(t -> t - now <= 0);
+                        }
+                        pinnedUntil.put(caller, System.nanoTime() + window.toNanos());
+                    }
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    // Runs after the security chain, so a token's user is already known
+    private static String callerKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.getId();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    // Ordered, so it wraps the pool before the (unordered) admission control post-processor wraps the result
+    private static final class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment env;
+
+        RoutingPostProcessor(Environment env) {
+            this.env = env;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!(bean instanceof DataSource primary) || bean instanceof LazyConnectionDataSourceProxy
+                    || bean instanceof ReadReplicaRoutingDataSource) {
+                return bean;
+            }
+            List<DataSource> replicas = new ArrayList<>();
+            String[] urls = env.getProperty("sustainshare.db.replicas.urls", String[].class, new String[0]);
+            for (String url : Arrays.stream(urls).map(String::trim).filter(u -> !u.isEmpty()).toList()) {
+                replicas.add(replica(url, replicas.size()));
+            }
+            Duration coolDown = env.getProperty("sustainshare.db.replicas.cool-down", Duration.class, Duration.ofSeconds(10));
+            return new ClosingLazyProxy(new ReadReplicaRoutingDataSource(primary, replicas, coolDown));
+        }
+
+        // Same credentials and driver as the primary unless overridden; read-only pools
+        private DataSource replica(String url, int index) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url)
+                    .driverClassName(env.getProperty("spring.datasource.driver-class-name"))
+                    .username(env.getProperty("sustainshare.db.replicas.username", env.getProperty("spring.datasource.username")))
+                    .password(env.getProperty("sustainshare.db.replicas.password", env.getProperty("spring.datasource.password")))
+                    .build();
+            pool.setPoolName("replica-" + index);
+            pool.setReadOnly(true);
+            pool.setMaximumPoolSize(env.getProperty("sustainshare.db.replicas.pool-size", Integer.class,
+                    env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10)));
+            // Do not hold up startup or reads on a replica that is down; they fall back to the primary
+            pool.setInitializationFailTimeout(-1);
+            pool.setConnectionTimeout(env.getProperty("sustainshare.db.replicas.connection-timeout-ms", Long.class, 1000L));
+            return pool;
+        }
+    }
+
+    // The bean replaces the auto-configured pool, so it also takes over closing it
+    private static final class ClosingLazyProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final ReadReplicaRoutingDataSource router;
+
+        ClosingLazyProxy(ReadReplicaRoutingDataSource router) {
+            super(router);
+            this.router = router;
+        }
+
+        @Override
+        public void close() throws Exception {
+            router.close();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.sustainshare.backend.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends read-only transactions (@Transactional(readOnly = true), and Spring Data's own find methods) to
+// the replicas, round robin, and everything else to the primary. The routing decision reads the
+// transaction's read-only flag, which Spring only sets after the transaction has begun, so this must sit
+// behind a LazyConnectionDataSourceProxy that defers getConnection() to the first statement.
+// A thread can be pinned to the primary (read-your-writes). A replica that cannot hand out a connection
+// falls back to the primary instead of failing the read, and is skipped for a cool-down after that.
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long coolDownNanos;
+    private final AtomicLongArray downUntil;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final AtomicLong primaryRoutes = new AtomicLong();
+    private final AtomicLong replicaRoutes = new AtomicLong();
+    private final AtomicLong pinnedRoutes = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration coolDown) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.coolDownNanos = coolDown.toNanos();
+        this.downUntil = new AtomicLongArray(this.replicas.size());
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(i, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    // Until the returned handle is closed, this thread reads from the primary. Nests.
+    public static Pin pinToPrimary() {
+        Boolean previous = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        };
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()) {
+            primaryRoutes.incrementAndGet();
+            return PRIMARY;
+        }
+        if (isPinnedToPrimary()) {
+            pinnedRoutes.incrementAndGet();
+            return PRIMARY;
+        }
+        int start = next.getAndIncrement();
+        long now = System.nanoTime();
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = Math.floorMod(start + i, replicas.size());
+            if (isDown(index, now)) continue;
+            replicaRoutes.incrementAndGet();
+            return index;
+        }
+        fallbacks.incrementAndGet();
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            if (target == primary) {
+                throw e;
+            }
+            markDown(target, e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            return target.getConnection(username, password);
+        } catch (SQLException e) {
+            if (target == primary) {
+                throw e;
+            }
+            markDown(target, e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    private void markDown(DataSource replica, SQLException cause) {
+        fallbacks.incrementAndGet();
+        int index = replicas.indexOf(replica);
+        downUntil.set(index, System.nanoTime() + coolDownNanos);
+        log.warn("Replica {} unavailable, reading from the primary for {} ms: {}", index, coolDownNanos / 1_000_000,
+                cause.getMessage());
+    }
+
+    // 0 means never marked down (nanoTime itself may be negative)
+    private boolean isDown(int index, long now) {
+        long until = downUntil.get(index);
+        return until != 0 && until - now > 0;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("replicas", replicas.size());
+        stats.put("primaryRoutes", primaryRoutes.get());
+        stats.put("replicaRoutes", replicaRoutes.get());
+        stats.put("pinnedRoutes", pinnedRoutes.get());
+        stats.put("replicaFallbacks", fallbacks.get());
+        long now = System.nanoTime();
+        int down = 0;
+        for (int i = 0; i < downUntil.length(); i++) {
+            if (isDown(i, now)) down++;
+        }
+        stats.put("replicasDown", down);
+        return stats;
+    }
+
+    // The pools behind this were built by the application (see ReadReplicaConfig), so they close with it
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Pin extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
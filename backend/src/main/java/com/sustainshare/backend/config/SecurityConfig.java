@@ -1,13 +1,21 @@
 package com.sustainshare.backend.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.sustainshare.backend.security.AccessTokenService;
+import com.sustainshare.backend.security.TokenAuthenticationFilter;
 
 @Configuration
 public class SecurityConfig {
 
+    @Autowired
+    private AccessTokenService accessTokenService;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -20,11 +28,18 @@ public class SecurityConfig {
                 .requestMatchers("/api/food/**").permitAll()
                 .requestMatchers("/api/users/**").permitAll()
                 .requestMatchers("/api/pickups/**").permitAll()
+                .requestMatchers("/api/stream/**").permitAll()
+                .requestMatchers("/api/stats/**").permitAll()
+                .requestMatchers("/api/matching/stats").permitAll()
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated()
             )
             .formLogin()
             .and()
-            .httpBasic();
+            .httpBasic()
+            .and()
+            // Bearer tokens from /api/auth/login are checked in memory, without a users table lookup
+            .addFilterBefore(new TokenAuthenticationFilter(accessTokenService), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
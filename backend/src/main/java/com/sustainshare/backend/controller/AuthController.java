@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.security.AccessTokenService;
 import com.sustainshare.backend.service.UserService;
 
 @CrossOrigin(origins = "http://localhost:3000")
@@ -24,6 +25,9 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AccessTokenService accessTokenService;
+
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@RequestBody User user) {
         try {
@@ -54,8 +58,9 @@ public class AuthController {
             response.put("name", user.getName());
             response.put("email", user.getEmail());
             response.put("role", user.getRole());
-             response.put("token", "dummy-token");
-            // You can add token generation here if needed
+            // Signed, expiring token carrying id and role; send it back as "Authorization: Bearer <token>"
+            response.put("token", accessTokenService.issue(user.getId(), user.getRole()));
+            response.put("expiresIn", accessTokenService.getTtl().toSeconds());
             return ResponseEntity.ok(response);
         } else {
             // Login failed
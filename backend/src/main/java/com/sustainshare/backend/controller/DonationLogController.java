@@ -1,8 +1,16 @@
 package com.sustainshare.backend.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,25 +19,133 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.security.AuthenticatedUser;
+import com.sustainshare.backend.service.ClaimAdmissionService;
+import com.sustainshare.backend.service.ClaimRejectedException;
+import com.sustainshare.backend.service.DonationExportService;
 import com.sustainshare.backend.service.DonationLogService;
+import com.sustainshare.backend.service.DonationRollupService;
+import com.sustainshare.backend.service.LeaderboardService;
 import com.sustainshare.backend.controller.dto.ClaimRequest;
+import com.sustainshare.backend.controller.dto.CursorPage;
+import com.sustainshare.backend.controller.dto.DonationLogView;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
 @RequestMapping("/api/donations")
 public class DonationLogController {
 
+    private static final Object EXPORT_TIMEOUT = new Object();
+
     @Autowired
     private DonationLogService donationLogService;
 
+    @Autowired
+    private DonationExportService donationExportService;
+
+    @Autowired
+    private DonationRollupService donationRollupService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ClaimAdmissionService claimAdmissionService;
+
+    @Value("${sustainshare.auth.allow-unauthenticated-ids:false}")
+    private boolean allowUnauthenticatedIds;
+
+    @Value("${sustainshare.export.timeout-ms:3600000}")
+    private long exportTimeoutMs;
+
+    // Without paging/filter params this is the legacy full list; with any of them it returns a CursorPage
     @GetMapping
-    public List<DonationLog> getAllDonations() {
-        return donationLogService.getAllDonations();
+    public ResponseEntity<?> getAllDonations(@RequestParam(required = false) Long donorId,
+                                             @RequestParam(required = false) Long charityId,
+                                             @RequestParam(required = false) Boolean claimed,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                             @RequestParam(required = false) Long cursor,
+                                             @RequestParam(required = false) Integer limit) {
+        if (donorId == null && charityId == null && claimed == null && from == null && to == null
+                && cursor == null && limit == null) {
+            List<DonationLogView> all = donationLogService.getAllDonationViews();
+            return ResponseEntity.ok(all);
+        }
+        CursorPage<DonationLogView> page = donationLogService.getDonationsPage(donorId, charityId, claimed, from, to, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    // Streams donations with donatedAt in [from, to) as CSV or NDJSON, optionally gzipped; memory use is
+    // independent of the number of rows. Admins only. The stream may run for export.timeout-ms, while every
+    // other async request keeps the default timeout.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDonations(@RequestParam(defaultValue = "csv") String format,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                             @RequestParam(defaultValue = "false") boolean gzip,
+                                             @AuthenticationPrincipal AuthenticatedUser user,
+                                             HttpServletRequest request) {
+        if (user == null || !user.hasRole("Admin")) {
+            return plainError(HttpStatus.FORBIDDEN, "Only admins can export donations");
+        }
+        DonationExportService.Format exportFormat;
+        try {
+            exportFormat = DonationExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return plainError(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            return plainError(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_TIMEOUT, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                if (webRequest instanceof AsyncWebRequest asyncRequest) {
+                    asyncRequest.setTimeout(exportTimeoutMs);
+                }
+            }
+        });
+        String filename = "donations." + format.toLowerCase() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == DonationExportService.Format.CSV
+                        ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                        : MediaType.parseMediaType("application/x-ndjson");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream zipped = new GZIPOutputStream(out, 64 * 1024);
+                donationExportService.export(exportFormat, from, to, zipped);
+                zipped.finish();
+            } else {
+                donationExportService.export(exportFormat, from, to, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    // Streaming endpoints are typed on StreamingResponseBody, so error messages are streamed as plain text
+    private static ResponseEntity<StreamingResponseBody> plainError(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
     }
 
     // New endpoint to get total donations count
@@ -50,6 +166,78 @@ public class DonationLogController {
         return donationLogService.getTotalFoodQuantity();
     }
 
+    // Number of distinct donors that have at least one donation
+    @GetMapping("/donors/count")
+    public long getDistinctDonorCount() {
+        return donationLogService.getDistinctDonorCount();
+    }
+
+    // Chart series from the hourly/daily rollups (hour, day, week or month buckets). Defaults to the last
+    // 48 hours, 30 days, 26 weeks or 12 months up to now. Trails live data by a few seconds.
+    @GetMapping("/stats/timeseries")
+    public ResponseEntity<?> getTimeSeries(@RequestParam(defaultValue = "day") String granularity,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        DonationRollupService.Granularity unit;
+        try {
+            unit = DonationRollupService.Granularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("granularity must be hour, day, week or month");
+        }
+        if (to == null) {
+            to = LocalDateTime.now();
+        }
+        if (from == null) {
+            from = switch (unit) {
+                case HOUR -> to.minusHours(48);
+                case DAY -> to.minusDays(30);
+                case WEEK -> to.minusWeeks(26);
+                case MONTH -> to.minusMonths(12);
+            };
+        }
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().body("from must be before to");
+        }
+        try {
+            return ResponseEntity.ok(donationRollupService.getTimeSeries(unit, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Recomputes the rollups of whole days in [from, to) from the logs, e.g. after bulk edits to old history
+    @PostMapping("/stats/timeseries/rebuild")
+    public ResponseEntity<?> rebuildTimeSeries(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                               @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.hasRole("Admin")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only admins can rebuild rollups");
+        }
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().body("from must be before to");
+        }
+        return ResponseEntity.ok(Map.of("daysRebuilt", donationRollupService.rebuild(from, to)));
+    }
+
+    // Top donors (by donations posted) or charities (by claims) this day, week, month or all time, from memory
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> getLeaderboard(@RequestParam(defaultValue = "donors") String board,
+                                            @RequestParam(defaultValue = "month") String window,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        LeaderboardService.Board which;
+        LeaderboardService.Window period;
+        try {
+            which = LeaderboardService.Board.valueOf(board.toUpperCase());
+            period = LeaderboardService.Window.valueOf(window.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("board must be donors or charities and window day, week, month or all");
+        }
+        if (limit <= 0) {
+            return ResponseEntity.badRequest().body("limit must be positive");
+        }
+        return ResponseEntity.ok(leaderboardService.getTop(which, period, Math.min(limit, CursorPage.MAX_LIMIT)));
+    }
+
     // Add POST endpoint to create a new donation log
     @PostMapping
     public DonationLog createDonationLog(@RequestBody DonationLog donationLog) {
@@ -58,13 +246,38 @@ public class DonationLogController {
 
     // Endpoint to claim a donation by foodItemId
     @PostMapping("/claim/{foodItemId}")
-    public ResponseEntity<?> claimDonation(@PathVariable Long foodItemId, @RequestBody ClaimRequest request) {
-        if (request == null || request.getCharityId() == null) {
+    // With a bearer token the claimant is the token's charity; the body charityId is only needed without one
+    public ResponseEntity<?> claimDonation(@PathVariable Long foodItemId,
+                                           @RequestBody(required = false) ClaimRequest request,
+                                           @AuthenticationPrincipal AuthenticatedUser user) {
+        Long charityId = request != null ? request.getCharityId() : null;
+        if (user != null) {
+            if (!user.hasRole("Charity")) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only charities can claim food");
+            }
+            if (charityId != null && !charityId.equals(user.getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("charityId does not match the signed-in charity");
+            }
+            charityId = user.getId();
+        } else if (!allowUnauthenticatedIds) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("A bearer token is required");
+        }
+        if (charityId == null) {
             return ResponseEntity.badRequest().body("charityId is required");
         }
-        return donationLogService.claimFood(foodItemId, request.getCharityId())
-                .<ResponseEntity<?>>map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body("Already claimed or invalid IDs"));
+        // Admission control runs before the claim takes a connection; see ClaimAdmissionService
+        try (ClaimAdmissionService.Permit permit = claimAdmissionService.admit(charityId, foodItemId)) {
+            return donationLogService.claimFood(foodItemId, charityId)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body("Already claimed or invalid IDs"));
+        } catch (ClaimRejectedException e) {
+            if (e.getReason() == ClaimRejectedException.Reason.TAKEN) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+            }
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        }
     }
 
     // Add PUT endpoint to update an existing donation log
@@ -1,8 +1,18 @@
 package com.sustainshare.backend.controller;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,8 +20,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sustainshare.backend.controller.dto.BatchItemResult;
+import com.sustainshare.backend.controller.dto.CursorPage;
+import com.sustainshare.backend.controller.dto.FoodSearchHit;
+import com.sustainshare.backend.controller.dto.NearbyFood;
 import com.sustainshare.backend.model.FoodItem;
 import com.sustainshare.backend.service.FoodItemService;
 
@@ -20,17 +39,69 @@ import com.sustainshare.backend.service.FoodItemService;
 @RequestMapping("/api/food")
 public class FoodItemController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private FoodItemService foodItemService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${sustainshare.food.batch.max-items:5000}")
+    private int maxBatchItems;
+
     @PostMapping
     public FoodItem addFoodItem(@RequestBody FoodItem item) {
         return foodItemService.addFood(item);
     }
 
+    // Bulk post from a JSON array; results come back per item, in request order
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> addFoodBatch(@RequestBody List<FoodItem> items) {
+        if (items.size() > maxBatchItems) {
+            return ResponseEntity.badRequest().body("At most " + maxBatchItems + " items per batch");
+        }
+        List<BatchItemResult> results = foodItemService.addFoodBatch(items);
+        return ResponseEntity.ok(results);
+    }
+
+    // Same, one JSON object per line; lines are parsed as they arrive instead of binding one large array
+    @PostMapping(value = "/batch", consumes = NDJSON)
+    public ResponseEntity<?> addFoodBatchNdjson(HttpServletRequest request) throws IOException {
+        List<FoodItem> items = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                if (items.size() == maxBatchItems) {
+                    return ResponseEntity.badRequest().body("At most " + maxBatchItems + " items per batch");
+                }
+                try {
+                    items.add(objectMapper.readValue(line, FoodItem.class));
+                } catch (JsonProcessingException e) {
+                    return ResponseEntity.badRequest().body("Line " + lineNo + " is not a valid food item");
+                }
+            }
+        }
+        List<BatchItemResult> results = foodItemService.addFoodBatch(items);
+        return ResponseEntity.ok(results);
+    }
+
+    // Without paging/filter params this is the legacy full list; with any of them it returns a CursorPage
     @GetMapping
-    public List<FoodItem> getAllFoodItems() {
-        return foodItemService.getAllFoodItems();
+    public ResponseEntity<?> getAllFoodItems(@RequestParam(required = false) Long donorId,
+                                             @RequestParam(required = false) Boolean claimed,
+                                             @RequestParam(required = false) Long cursor,
+                                             @RequestParam(required = false) Integer limit) {
+        if (donorId == null && claimed == null && cursor == null && limit == null) {
+            List<FoodItem> all = foodItemService.getAllFoodItems();
+            return ResponseEntity.ok(all);
+        }
+        CursorPage<FoodItem> page = foodItemService.getFoodItemsPage(donorId, claimed, cursor, limit);
+        return ResponseEntity.ok(page);
     }
 
     // Return only unclaimed food items for charities to browse
@@ -39,6 +110,55 @@ public class FoodItemController {
         return foodItemService.getAvailableFoodItems();
     }
 
+    // Available food within radiusKm of (lat, lon), nearest first
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyFood(@RequestParam double lat,
+                                           @RequestParam double lon,
+                                           @RequestParam(defaultValue = "5") double radiusKm,
+                                           @RequestParam(defaultValue = "20") int limit) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            return ResponseEntity.badRequest().body("lat must be in [-90, 90] and lon in [-180, 180]");
+        }
+        if (radiusKm <= 0 || limit <= 0) {
+            return ResponseEntity.badRequest().body("radiusKm and limit must be positive");
+        }
+        List<NearbyFood> nearby = foodItemService.findNearby(lat, lon, radiusKm, Math.min(limit, CursorPage.MAX_LIMIT));
+        return ResponseEntity.ok(nearby);
+    }
+
+    // Items whose name or pickup location match every word of q (prefixes and small typos included), best first
+    @GetMapping("/search")
+    public ResponseEntity<?> searchFood(@RequestParam String q,
+                                        @RequestParam(defaultValue = "true") boolean availableOnly,
+                                        @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || limit <= 0) {
+            return ResponseEntity.badRequest().body("q must not be blank and limit must be positive");
+        }
+        List<FoodSearchHit> hits = foodItemService.searchFood(q, availableOnly, Math.min(limit, CursorPage.MAX_LIMIT));
+        return ResponseEntity.ok(hits);
+    }
+
+    @GetMapping("/search/stats")
+    public Map<String, Object> getSearchIndexStats() {
+        return foodItemService.getSearchIndexStats();
+    }
+
+    // Available food expiring within an ISO-8601 duration (e.g. PT2H), soonest first
+    @GetMapping("/expiring")
+    public ResponseEntity<?> getExpiringFood(@RequestParam(defaultValue = "PT2H") Duration within,
+                                             @RequestParam(defaultValue = "20") int limit) {
+        if (within.isNegative() || limit <= 0) {
+            return ResponseEntity.badRequest().body("within must not be negative and limit must be positive");
+        }
+        List<FoodItem> expiring = foodItemService.getExpiringFood(within, Math.min(limit, CursorPage.MAX_LIMIT));
+        return ResponseEntity.ok(expiring);
+    }
+
+    @GetMapping("/available/stats")
+    public Map<String, Object> getAvailableCacheStats() {
+        return foodItemService.getAvailableCacheStats();
+    }
+
     @GetMapping("/{id}")
     public FoodItem getFoodById(@PathVariable Long id) {
         return foodItemService.getFoodById(id);
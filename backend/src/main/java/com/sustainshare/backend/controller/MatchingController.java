@@ -0,0 +1,115 @@
+package com.sustainshare.backend.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sustainshare.backend.model.CharityPreference;
+import com.sustainshare.backend.security.AuthenticatedUser;
+import com.sustainshare.backend.service.MatchingService;
+import com.sustainshare.backend.service.UserCache;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/matching")
+public class MatchingController {
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private UserCache userCache;
+
+    // A charity's matching preferences; only that charity (or an admin) may read or change them
+    @GetMapping("/preferences/{charityId}")
+    public ResponseEntity<?> getPreference(@PathVariable Long charityId, @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.canActFor(charityId)) {
+            return forbidden();
+        }
+        return matchingService.getPreference(charityId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/preferences/{charityId}")
+    public ResponseEntity<?> savePreference(@PathVariable Long charityId, @RequestBody CharityPreference preference,
+                                            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.canActFor(charityId)) {
+            return forbidden();
+        }
+        boolean isCharity = userCache.findById(charityId)
+                .map(u -> "Charity".equalsIgnoreCase(u.getRole()))
+                .orElse(false);
+        if (!isCharity) {
+            return ResponseEntity.badRequest().body("Preferences can only be set for charities");
+        }
+        String error = validate(preference);
+        if (error != null) {
+            return ResponseEntity.badRequest().body(error);
+        }
+        return ResponseEntity.ok(matchingService.savePreference(charityId, preference));
+    }
+
+    @DeleteMapping("/preferences/{charityId}")
+    public ResponseEntity<?> deletePreference(@PathVariable Long charityId, @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.canActFor(charityId)) {
+            return forbidden();
+        }
+        if (!matchingService.deletePreference(charityId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // Runs one batch immediately instead of waiting for the next tick (admins only)
+    @PostMapping("/run")
+    public ResponseEntity<?> runNow(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.hasRole("Admin")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only admins can trigger matching");
+        }
+        matchingService.runBatch();
+        return ResponseEntity.ok(matchingService.getStats());
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        return matchingService.getStats();
+    }
+
+    private static String validate(CharityPreference p) {
+        if (p.getDailyCapacity() <= 0) {
+            return "dailyCapacity must be positive";
+        }
+        if ((p.getLatitude() == null) != (p.getLongitude() == null)) {
+            return "latitude and longitude must be given together";
+        }
+        if (p.getLatitude() != null && (p.getLatitude() < -90 || p.getLatitude() > 90
+                || p.getLongitude() < -180 || p.getLongitude() > 180)) {
+            return "latitude must be in [-90, 90] and longitude in [-180, 180]";
+        }
+        if (p.getMaxDistanceKm() != null && (p.getMaxDistanceKm() <= 0 || p.getLatitude() == null)) {
+            return "maxDistanceKm must be positive and needs latitude/longitude";
+        }
+        if ((p.getPickupWindowStart() == null) != (p.getPickupWindowEnd() == null)
+                || (p.getPickupWindowStart() != null && p.getPickupWindowStart().equals(p.getPickupWindowEnd()))) {
+            return "pickupWindowStart and pickupWindowEnd must be given together and differ";
+        }
+        return null;
+    }
+
+    private static ResponseEntity<?> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Matching preferences are only visible to their charity");
+    }
+}
@@ -1,23 +1,30 @@
 package com.sustainshare.backend.controller;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.sustainshare.backend.model.DonationLog;
-import com.sustainshare.backend.model.User;
-import com.sustainshare.backend.service.DonationLogService;
-import com.sustainshare.backend.service.FoodItemService;
-import com.sustainshare.backend.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import com.sustainshare.backend.controller.dto.CursorPage;
+import com.sustainshare.backend.model.Notification;
+import com.sustainshare.backend.security.AuthenticatedUser;
+import com.sustainshare.backend.service.NotificationService;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
@@ -25,102 +32,82 @@ import com.sustainshare.backend.service.UserService;
 public class NotificationController {
 
     @Autowired
-    private DonationLogService donationLogService;
+    private NotificationService notificationService;
 
     @Autowired
-    private UserService userService;
+    private ObjectMapper objectMapper;
 
-    @Autowired
-    private FoodItemService foodItemService;
+    private final Timer feedBuildTime;
+    private final DistributionSummary feedItems;
+    private final DistributionSummary feedBytes;
 
-    @GetMapping("/user/{userId}")
-    public List<Map<String, Object>> getNotificationsForUser(@PathVariable Long userId) {
-        List<Map<String, Object>> notifications = new ArrayList<>();
-        User user = userService.getUserById(userId).orElse(null);
+    public NotificationController(MeterRegistry meterRegistry) {
+        this.feedBuildTime = Timer.builder("sustainshare.notifications.feed.build")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.feedItems = DistributionSummary.builder("sustainshare.notifications.feed.items")
+                .register(meterRegistry);
+        this.feedBytes = DistributionSummary.builder("sustainshare.notifications.feed.size")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
-        if (user == null) {
-            return notifications;
+    // Notifications are written when food is posted/claimed or a user registers,
+    // so a page costs one index seek regardless of how much history exists.
+    // The caller must hold a token for userId (or be an admin); no users table lookup is involved.
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<?> getNotificationsForUser(@PathVariable Long userId,
+                                                     @RequestParam(required = false) Long after,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.canActFor(userId)) {
+            return forbidden();
         }
+        // Serialized here rather than by the message converter so the payload size and build time can be recorded
+        long start = System.nanoTime();
+        CursorPage<Notification> feed = notificationService.getFeed(userId, after, limit);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(feed);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize notification feed", e);
+        }
+        feedBuildTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        feedItems.record(feed.getItems().size());
+        feedBytes.record(body.length);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 
-        String role = user.getRole();
-
-        if ("Charity".equals(role)) {
-            // For Charity: Show all food posted by donors (available for claiming)
-            List<DonationLog> donationLogs = donationLogService.getAllDonations();
-            for (DonationLog log : donationLogs) {
-                // Show food that hasn't been claimed yet or show all food donations
-                Map<String, Object> notification = new HashMap<>();
-                notification.put("id", "food_posted_" + log.getId());
-                notification.put("type", "food_posted");
-                notification.put("message", "New food posted: " + log.getFoodItem().getName() + " by " + log.getDonor().getName());
-                notification.put("foodName", log.getFoodItem().getName());
-                notification.put("donorName", log.getDonor().getName());
-                notification.put("timestamp", log.getDonatedAt());
-                notification.put("isRead", false);
-                notifications.add(notification);
-            }
-        } else if ("Donor".equals(role)) {
-            // For Donor: Show when their food is claimed by charities
-            List<DonationLog> donationLogs = donationLogService.getAllDonations();
-            for (DonationLog log : donationLogs) {
-                if (log.getDonor() != null && log.getDonor().getId().equals(userId) && log.getCharity() != null) {
-                    // Only show if this donor's food was claimed by a charity
-                    Map<String, Object> notification = new HashMap<>();
-                    notification.put("id", "food_claimed_" + log.getId());
-                    notification.put("type", "food_claimed");
-                    notification.put("message", "Your food '" + log.getFoodItem().getName() + "' was claimed by " + log.getCharity().getName());
-                    notification.put("foodName", log.getFoodItem().getName());
-                    notification.put("charityName", log.getCharity().getName());
-                    notification.put("timestamp", log.getDonatedAt());
-                    notification.put("isRead", false);
-                    notifications.add(notification);
-                }
-            }
-        } else if ("Admin".equals(role)) {
-            // For Admin: New users, food donations, and food claims
-            List<User> allUsers = userService.getAllUsers();
-            for (User u : allUsers) {
-                if (!u.getId().equals(userId)) { // Don't notify about self
-                    Map<String, Object> notification = new HashMap<>();
-                    notification.put("id", "user_" + u.getId());
-                    notification.put("type", "new_user");
-                    notification.put("message", "New user registered: " + u.getName() + " (" + u.getRole() + ")");
-                    notification.put("userName", u.getName());
-                    notification.put("userRole", u.getRole());
-                    notification.put("timestamp", LocalDateTime.now());
-                    notification.put("isRead", false);
-                    notifications.add(notification);
-                }
-            }
+    @GetMapping("/user/{userId}/unread/count")
+    public ResponseEntity<?> getUnreadCount(@PathVariable Long userId, @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.canActFor(userId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(notificationService.getUnreadCount(userId));
+    }
 
-            List<DonationLog> donationLogs = donationLogService.getAllDonations();
-            for (DonationLog log : donationLogs) {
-                // Notify about food donations
-                Map<String, Object> donationNotification = new HashMap<>();
-                donationNotification.put("id", "donation_" + log.getId());
-                donationNotification.put("type", "food_donated");
-                donationNotification.put("message", "Food donated: " + log.getFoodItem().getName() + " by " + log.getDonor().getName());
-                donationNotification.put("foodName", log.getFoodItem().getName());
-                donationNotification.put("donorName", log.getDonor().getName());
-                donationNotification.put("timestamp", log.getDonatedAt());
-                donationNotification.put("isRead", false);
-                notifications.add(donationNotification);
+    @PutMapping("/user/{userId}/read")
+    public ResponseEntity<?> markAllRead(@PathVariable Long userId, @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.canActFor(userId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(notificationService.markAllRead(userId));
+    }
 
-                // Notify about food claims (if claimed)
-                if (log.getCharity() != null) {
-                    Map<String, Object> claimNotification = new HashMap<>();
-                    claimNotification.put("id", "claim_" + log.getId());
-                    claimNotification.put("type", "food_claimed");
-                    claimNotification.put("message", "Food claimed: " + log.getFoodItem().getName() + " by " + log.getCharity().getName());
-                    claimNotification.put("foodName", log.getFoodItem().getName());
-                    claimNotification.put("charityName", log.getCharity().getName());
-                    claimNotification.put("timestamp", log.getDonatedAt());
-                    claimNotification.put("isRead", false);
-                    notifications.add(claimNotification);
-                }
-            }
+    @PutMapping("/user/{userId}/{notificationId}/read")
+    public ResponseEntity<?> markRead(@PathVariable Long userId, @PathVariable Long notificationId,
+                                      @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.canActFor(userId)) {
+            return forbidden();
+        }
+        if (!notificationService.markRead(userId, notificationId)) {
+            return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.noContent().build();
+    }
 
-        return notifications;
+    private static ResponseEntity<?> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Notifications are only visible to their recipient");
     }
 }
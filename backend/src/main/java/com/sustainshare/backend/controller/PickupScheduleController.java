@@ -1,9 +1,16 @@
 package com.sustainshare.backend.controller;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,10 +18,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.sustainshare.backend.controller.dto.CursorPage;
+import com.sustainshare.backend.controller.dto.PickupScheduleView;
 import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.service.PickupConflictException;
 import com.sustainshare.backend.service.PickupScheduleService;
+import com.sustainshare.backend.service.PickupSlotService;
 
 
 
@@ -26,15 +38,61 @@ public class PickupScheduleController {
     @Autowired
     private PickupScheduleService pickupScheduleService;
 
+    @Autowired
+    private PickupSlotService pickupSlotService;
+
+    // 409 when the pickup overlaps another active pickup for the same charity, location or food item
     @PostMapping
-    public PickupSchedule schedulePickup(@RequestBody PickupSchedule pickup) {
-        PickupSchedule savedPickup = pickupScheduleService.schedulePickup(pickup);
-        return savedPickup;
+    public ResponseEntity<?> schedulePickup(@RequestBody PickupSchedule pickup) {
+        try {
+            PickupSchedule savedPickup = pickupScheduleService.schedulePickup(pickup);
+            return ResponseEntity.ok(savedPickup);
+        } catch (PickupConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    // Next free slots (start and end) for a charity and/or pickup location, from the in-memory slot index
+    @GetMapping("/slots")
+    public ResponseEntity<?> getFreeSlots(@RequestParam(required = false) Long charityId,
+                                          @RequestParam(required = false) Long foodItemId,
+                                          @RequestParam(required = false) String location,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam(defaultValue = "5") int count) {
+        if (charityId == null && foodItemId == null && location == null) {
+            return ResponseEntity.badRequest().body("charityId, foodItemId or location is required");
+        }
+        if (count <= 0) {
+            return ResponseEntity.badRequest().body("count must be positive");
+        }
+        Duration length = pickupSlotService.getSlotLength();
+        List<Map<String, LocalDateTime>> slots = new ArrayList<>();
+        for (LocalDateTime start : pickupScheduleService.findFreeSlots(charityId, foodItemId, location, from,
+                Math.min(count, CursorPage.MAX_LIMIT))) {
+            slots.add(Map.of("start", start, "end", start.plus(length)));
+        }
+        return ResponseEntity.ok(slots);
+    }
+
+    @GetMapping("/slots/stats")
+    public Map<String, Object> getSlotStats() {
+        return pickupSlotService.getStats();
     }
 
+    // Without paging/filter params this is the legacy full list; with any of them it returns a CursorPage
     @GetMapping
-    public List<PickupSchedule> getAllPickups() {
-        return pickupScheduleService.getAllPickups();
+    public ResponseEntity<?> getAllPickups(@RequestParam(required = false) Long charityId,
+                                           @RequestParam(required = false) String status,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                           @RequestParam(required = false) Long cursor,
+                                           @RequestParam(required = false) Integer limit) {
+        if (charityId == null && status == null && from == null && to == null && cursor == null && limit == null) {
+            List<PickupScheduleView> all = pickupScheduleService.getAllPickupViews();
+            return ResponseEntity.ok(all);
+        }
+        CursorPage<PickupScheduleView> page = pickupScheduleService.getPickupsPage(charityId, status, from, to, cursor, limit);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,110 @@
+package com.sustainshare.backend.controller;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sustainshare.backend.config.AdmissionControlDataSource;
+import com.sustainshare.backend.config.ReadReplicaRoutingDataSource;
+import com.sustainshare.backend.service.ClaimAdmissionService;
+import com.sustainshare.backend.service.DashboardStatsService;
+import com.sustainshare.backend.service.DonationRollupService;
+import com.sustainshare.backend.service.LeaderboardService;
+import com.sustainshare.backend.service.SmsDispatchService;
+import com.sustainshare.backend.service.UserCache;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SmsDispatchService smsDispatchService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private DonationRollupService donationRollupService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ClaimAdmissionService claimAdmissionService;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // All dashboard counters in one response, served from memory
+    @GetMapping
+    public Map<String, Object> getStats() {
+        return dashboardStatsService.getStats();
+    }
+
+    // Execution mode and, when enabled, database admission queue depth and wait times and read replica routing
+    @GetMapping("/db")
+    public Map<String, Object> getDbStats() throws SQLException {
+        Map<String, Object> stats = new HashMap<>();
+        if (dataSource instanceof AdmissionControlDataSource admission) {
+            stats.putAll(admission.getStats());
+            stats.put("admissionControl", true);
+        } else {
+            stats.put("admissionControl", false);
+        }
+        if (dataSource.isWrapperFor(ReadReplicaRoutingDataSource.class)) {
+            stats.putAll(dataSource.unwrap(ReadReplicaRoutingDataSource.class).getStats());
+            stats.put("readReplicas", true);
+        } else {
+            stats.put("readReplicas", false);
+        }
+        // Boot only switches Tomcat to virtual threads on Java 21+
+        stats.put("virtualThreads", virtualThreads && Runtime.version().feature() >= 21);
+        return stats;
+    }
+
+    // SMS pipeline: buffered alerts, outbox backlog and delivery outcomes
+    @GetMapping("/sms")
+    public Map<String, Object> getSmsStats() {
+        return smsDispatchService.getStats();
+    }
+
+    // User near-cache: size, hits and misses by key, LRU evictions
+    @GetMapping("/users")
+    public Map<String, Object> getUserCacheStats() {
+        return userCache.getStats();
+    }
+
+    // Donation rollups: watermark, how far it trails now, last reconcile
+    @GetMapping("/rollups")
+    public Map<String, Object> getRollupStats() {
+        return donationRollupService.getStats();
+    }
+
+    // Leaderboards: users with a score per board and window
+    @GetMapping("/leaderboards")
+    public Map<String, Object> getLeaderboardStats() {
+        return leaderboardService.getStats();
+    }
+
+    // Claim admission control: claims in flight and queued, admitted and rejected by reason
+    @GetMapping("/claims")
+    public Map<String, Object> getClaimAdmissionStats() {
+        return claimAdmissionService.getStats();
+    }
+}
@@ -0,0 +1,42 @@
+package com.sustainshare.backend.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.sustainshare.backend.security.AuthenticatedUser;
+import com.sustainshare.backend.service.FoodEventStreamService;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/stream")
+public class StreamController {
+
+    @Autowired
+    private FoodEventStreamService streamService;
+
+    // Server-Sent Events: food_posted, food_posted_batch (one per donor per bulk post), food_claimed, food_expired,
+    // food_deleted (plus "resync" if the client fell too far behind). The subscriber's view comes from its access
+    // token; without one it listens anonymously.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                             @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
+            return streamService.subscribe(null, null, lastEventId);
+        }
+        return streamService.subscribe(user.getId(), user.getRole(), lastEventId);
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Long> getStats() {
+        return streamService.getStats();
+    }
+}
@@ -3,14 +3,18 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.sustainshare.backend.controller.dto.CursorPage;
+import com.sustainshare.backend.controller.dto.UserSummary;
 import com.sustainshare.backend.model.User;
 import com.sustainshare.backend.service.UserService;
 
@@ -28,10 +32,17 @@ public class UserController {
         return userService.registerUser(user);
     }
 
-    // Get all users
+    // Get all users; with role/cursor/limit it returns a CursorPage of UserSummary instead of the full list
     @GetMapping
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String role,
+                                         @RequestParam(required = false) Long cursor,
+                                         @RequestParam(required = false) Integer limit) {
+        if (role == null && cursor == null && limit == null) {
+            List<User> all = userService.getAllUsers();
+            return ResponseEntity.ok(all);
+        }
+        CursorPage<UserSummary> page = userService.getUsersPage(role, cursor, limit);
+        return ResponseEntity.ok(page);
     }
 
     // Get user by ID
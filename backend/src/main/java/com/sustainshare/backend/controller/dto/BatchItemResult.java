@@ -0,0 +1,29 @@
+package com.sustainshare.backend.controller.dto;
+
+// Outcome of one line of POST /api/food/batch, in request order
+public class BatchItemResult {
+    private final int index;
+    private final Long id;
+    private final String status; // "created" or "rejected"
+    private final String error;
+
+    private BatchItemResult(int index, Long id, String status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, id, "created", null);
+    }
+
+    public static BatchItemResult rejected(int index, String error) {
+        return new BatchItemResult(index, null, "rejected", error);
+    }
+
+    public int getIndex() { return index; }
+    public Long getId() { return id; }
+    public String getStatus() { return status; }
+    public String getError() { return error; }
+}
@@ -0,0 +1,35 @@
+package com.sustainshare.backend.controller.dto;
+
+import java.time.LocalDateTime;
+
+// Read-side shape of a DonationLog, built by a single joined query.
+// Field names match the entity's JSON so existing clients keep working.
+public class DonationLogView {
+    private final Long id;
+    private final UserSummary donor;
+    private final UserSummary charity;
+    private final FoodItemSummary foodItem;
+    private final LocalDateTime donatedAt;
+    private final LocalDateTime claimedAt;
+
+    // Argument order matches the selection in DonationLogViewRepositoryImpl
+    public DonationLogView(Long id, LocalDateTime donatedAt, LocalDateTime claimedAt,
+                           Long donorId, String donorName, String donorUsername, String donorRole,
+                           Long charityId, String charityName, String charityUsername, String charityRole,
+                           Long foodItemId, String foodName, Integer quantity, String pickupLocation,
+                           String expiryTime, Long foodDonorId) {
+        this.id = id;
+        this.donatedAt = donatedAt;
+        this.claimedAt = claimedAt;
+        this.donor = UserSummary.of(donorId, donorName, donorUsername, donorRole);
+        this.charity = UserSummary.of(charityId, charityName, charityUsername, charityRole);
+        this.foodItem = FoodItemSummary.of(foodItemId, foodName, quantity, pickupLocation, expiryTime, foodDonorId);
+    }
+
+    public Long getId() { return id; }
+    public UserSummary getDonor() { return donor; }
+    public UserSummary getCharity() { return charity; }
+    public FoodItemSummary getFoodItem() { return foodItem; }
+    public LocalDateTime getDonatedAt() { return donatedAt; }
+    public LocalDateTime getClaimedAt() { return claimedAt; }
+}
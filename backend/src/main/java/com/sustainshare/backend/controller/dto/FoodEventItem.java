@@ -0,0 +1,48 @@
+package com.sustainshare.backend.controller.dto;
+
+import java.time.LocalDateTime;
+
+import com.sustainshare.backend.model.FoodItem;
+
+// A food item as pushed on /api/stream, which anyone may subscribe to: the listing fields without the
+// donor's contact details
+public class FoodEventItem {
+    private final Long id;
+    private final String name;
+    private final int quantity;
+    private final String pickupLocation;
+    private final String expiryTime;
+    private final LocalDateTime expiresAt;
+    private final String category;
+    private final Double latitude;
+    private final Double longitude;
+    private final Long donorId;
+
+    private FoodEventItem(FoodItem f) {
+        this.id = f.getId();
+        this.name = f.getName();
+        this.quantity = f.getQuantity();
+        this.pickupLocation = f.getPickupLocation();
+        this.expiryTime = f.getExpiryTime();
+        this.expiresAt = f.getExpiresAt();
+        this.category = f.getCategory();
+        this.latitude = f.getLatitude();
+        this.longitude = f.getLongitude();
+        this.donorId = f.getDonorId();
+    }
+
+    public static FoodEventItem of(FoodItem f) {
+        return new FoodEventItem(f);
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public int getQuantity() { return quantity; }
+    public String getPickupLocation() { return pickupLocation; }
+    public String getExpiryTime() { return expiryTime; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public String getCategory() { return category; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public Long getDonorId() { return donorId; }
+}
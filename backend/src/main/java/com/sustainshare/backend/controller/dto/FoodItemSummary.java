@@ -0,0 +1,31 @@
+package com.sustainshare.backend.controller.dto;
+
+// FoodItem columns the dashboards use when a food item is embedded in a listing
+public class FoodItemSummary {
+    private final Long id;
+    private final String name;
+    private final int quantity;
+    private final String pickupLocation;
+    private final String expiryTime;
+    private final Long donorId;
+
+    public FoodItemSummary(Long id, String name, int quantity, String pickupLocation, String expiryTime, Long donorId) {
+        this.id = id;
+        this.name = name;
+        this.quantity = quantity;
+        this.pickupLocation = pickupLocation;
+        this.expiryTime = expiryTime;
+        this.donorId = donorId;
+    }
+
+    public static FoodItemSummary of(Long id, String name, Integer quantity, String pickupLocation, String expiryTime, Long donorId) {
+        return id == null ? null : new FoodItemSummary(id, name, quantity != null ? quantity : 0, pickupLocation, expiryTime, donorId);
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public int getQuantity() { return quantity; }
+    public String getPickupLocation() { return pickupLocation; }
+    public String getExpiryTime() { return expiryTime; }
+    public Long getDonorId() { return donorId; }
+}
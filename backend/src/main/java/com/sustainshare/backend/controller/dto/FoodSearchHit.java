@@ -0,0 +1,18 @@
+package com.sustainshare.backend.controller.dto;
+
+// One /api/food/search result: the item's summary columns, whether it can still be claimed, and its relevance
+public class FoodSearchHit {
+    private final FoodItemSummary foodItem;
+    private final boolean available;
+    private final double score;
+
+    public FoodSearchHit(FoodItemSummary foodItem, boolean available, double score) {
+        this.foodItem = foodItem;
+        this.available = available;
+        this.score = score;
+    }
+
+    public FoodItemSummary getFoodItem() { return foodItem; }
+    public boolean isAvailable() { return available; }
+    public double getScore() { return score; }
+}
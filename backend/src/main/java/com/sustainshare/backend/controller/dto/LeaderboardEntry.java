@@ -0,0 +1,24 @@
+package com.sustainshare.backend.controller.dto;
+
+// One /api/donations/leaderboard row: donations posted (donors) or claimed (charities) in the window
+public class LeaderboardEntry {
+    private final int rank;
+    private final long userId;
+    private final String name;
+    private final long count;
+    private final long quantity;
+
+    public LeaderboardEntry(int rank, long userId, String name, long count, long quantity) {
+        this.rank = rank;
+        this.userId = userId;
+        this.name = name;
+        this.count = count;
+        this.quantity = quantity;
+    }
+
+    public int getRank() { return rank; }
+    public long getUserId() { return userId; }
+    public String getName() { return name; }
+    public long getCount() { return count; }
+    public long getQuantity() { return quantity; }
+}
@@ -0,0 +1,17 @@
+package com.sustainshare.backend.controller.dto;
+
+import com.sustainshare.backend.model.FoodItem;
+
+// One /api/food/nearby result: the item and its great-circle distance from the query point
+public class NearbyFood {
+    private final FoodItem foodItem;
+    private final double distanceKm;
+
+    public NearbyFood(FoodItem foodItem, double distanceKm) {
+        this.foodItem = foodItem;
+        this.distanceKm = distanceKm;
+    }
+
+    public FoodItem getFoodItem() { return foodItem; }
+    public double getDistanceKm() { return distanceKm; }
+}
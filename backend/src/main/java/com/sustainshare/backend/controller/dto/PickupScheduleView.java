@@ -0,0 +1,30 @@
+package com.sustainshare.backend.controller.dto;
+
+import java.time.LocalDateTime;
+
+// Read-side shape of a PickupSchedule, built by a single joined query
+public class PickupScheduleView {
+    private final Long id;
+    private final LocalDateTime scheduledTime;
+    private final String status;
+    private final FoodItemSummary foodItem;
+    private final UserSummary charity;
+
+    // Argument order matches the selection in PickupScheduleViewRepositoryImpl
+    public PickupScheduleView(Long id, LocalDateTime scheduledTime, String status,
+                              Long foodItemId, String foodName, Integer quantity, String pickupLocation,
+                              String expiryTime, Long foodDonorId,
+                              Long charityId, String charityName, String charityUsername, String charityRole) {
+        this.id = id;
+        this.scheduledTime = scheduledTime;
+        this.status = status;
+        this.foodItem = FoodItemSummary.of(foodItemId, foodName, quantity, pickupLocation, expiryTime, foodDonorId);
+        this.charity = UserSummary.of(charityId, charityName, charityUsername, charityRole);
+    }
+
+    public Long getId() { return id; }
+    public LocalDateTime getScheduledTime() { return scheduledTime; }
+    public String getStatus() { return status; }
+    public FoodItemSummary getFoodItem() { return foodItem; }
+    public UserSummary getCharity() { return charity; }
+}
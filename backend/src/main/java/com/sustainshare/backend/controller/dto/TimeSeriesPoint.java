@@ -0,0 +1,27 @@
+package com.sustainshare.backend.controller.dto;
+
+import java.time.LocalDateTime;
+
+// One /api/donations/stats/timeseries bucket; the median is null when nothing with a known posting time
+// was claimed in the bucket
+public class TimeSeriesPoint {
+    private final LocalDateTime bucketStart;
+    private final long posted;
+    private final long claimed;
+    private final long quantity;
+    private final Long medianTimeToClaimSeconds;
+
+    public TimeSeriesPoint(LocalDateTime bucketStart, long posted, long claimed, long quantity, Long medianTimeToClaimSeconds) {
+        this.bucketStart = bucketStart;
+        this.posted = posted;
+        this.claimed = claimed;
+        this.quantity = quantity;
+        this.medianTimeToClaimSeconds = medianTimeToClaimSeconds;
+    }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public long getPosted() { return posted; }
+    public long getClaimed() { return claimed; }
+    public long getQuantity() { return quantity; }
+    public Long getMedianTimeToClaimSeconds() { return medianTimeToClaimSeconds; }
+}
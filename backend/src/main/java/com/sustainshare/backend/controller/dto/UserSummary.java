@@ -0,0 +1,26 @@
+package com.sustainshare.backend.controller.dto;
+
+// Public part of a User for embedding in listings (no email, phone or password)
+public class UserSummary {
+    private final Long id;
+    private final String name;
+    private final String username;
+    private final String role;
+
+    public UserSummary(Long id, String name, String username, String role) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+        this.role = role;
+    }
+
+    // Null when the association itself is null (left join found nothing)
+    public static UserSummary of(Long id, String name, String username, String role) {
+        return id == null ? null : new UserSummary(id, name, username, role);
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getUsername() { return username; }
+    public String getRole() { return role; }
+}
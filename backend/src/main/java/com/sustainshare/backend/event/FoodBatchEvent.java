@@ -0,0 +1,22 @@
+package com.sustainshare.backend.event;
+
+import java.util.List;
+
+import com.sustainshare.backend.model.FoodItem;
+
+// One event for a whole bulk post, so listeners rebuild their state once instead of once per item
+public class FoodBatchEvent {
+
+    private final List<FoodItem> posted;
+
+    public FoodBatchEvent(List<FoodItem> posted) {
+        this.posted = List.copyOf(posted);
+    }
+
+    public List<FoodItem> getPosted() { return posted; }
+
+    // Per-item view for listeners that emit or store items individually
+    public List<FoodEvent> asFoodEvents() {
+        return posted.stream().map(FoodEvent::posted).toList();
+    }
+}
@@ -0,0 +1,62 @@
+package com.sustainshare.backend.event;
+
+import java.time.LocalDateTime;
+
+import com.sustainshare.backend.model.FoodItem;
+
+// Published by FoodItemService / DonationLogService; listeners use
+// @TransactionalEventListener so they only see changes that actually committed.
+public class FoodEvent {
+
+    public enum Type {
+        POSTED("food_posted"),
+        CLAIMED("food_claimed"),
+        DELETED("food_deleted"),
+        EXPIRED("food_expired");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+    }
+
+    private final Type type;
+    private final FoodItem foodItem;
+    private final Long charityId;
+    private final LocalDateTime occurredAt;
+
+    private FoodEvent(Type type, FoodItem foodItem, Long charityId) {
+        this.type = type;
+        this.foodItem = foodItem;
+        this.charityId = charityId;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static FoodEvent posted(FoodItem foodItem) {
+        return new FoodEvent(Type.POSTED, foodItem, null);
+    }
+
+    public static FoodEvent claimed(FoodItem foodItem, Long charityId) {
+        return new FoodEvent(Type.CLAIMED, foodItem, charityId);
+    }
+
+    public static FoodEvent deleted(FoodItem foodItem) {
+        return new FoodEvent(Type.DELETED, foodItem, null);
+    }
+
+    public static FoodEvent expired(FoodItem foodItem) {
+        return new FoodEvent(Type.EXPIRED, foodItem, null);
+    }
+
+    public Type getType() { return type; }
+    public FoodItem getFoodItem() { return foodItem; }
+    public Long getFoodItemId() { return foodItem.getId(); }
+    public Long getDonorId() { return foodItem.getDonorId(); }
+    public Long getCharityId() { return charityId; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
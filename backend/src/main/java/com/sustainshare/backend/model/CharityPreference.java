@@ -0,0 +1,75 @@
+package com.sustainshare.backend.model;
+
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// What a charity is willing to receive from the matching engine (MatchingService). One row per charity;
+// charities without one (or with enabled = false) keep claiming by hand.
+@Entity
+@Table(name = "charity_preference", uniqueConstraints = @UniqueConstraint(name = "uk_charity_preference_charity", columnNames = "charity_id"))
+public class CharityPreference {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "charity_id", nullable = false)
+    private Long charityId;
+
+    @Column(nullable = false)
+    private boolean enabled = true;
+
+    // Items per calendar day, counting manual claims as well as matched ones
+    private int dailyCapacity;
+
+    // Comma-separated, case-insensitive; empty means any category (including uncategorised food)
+    private String categories;
+
+    // Base location and radius; with maxDistanceKm set, food without coordinates is never matched
+    private Double latitude;
+    private Double longitude;
+    private Double maxDistanceKm;
+
+    // Daily pickup window (local time); pickups are scheduled at the earliest slot inside it
+    private LocalTime pickupWindowStart;
+    private LocalTime pickupWindowEnd;
+
+    public CharityPreference() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getCharityId() { return charityId; }
+    public void setCharityId(Long charityId) { this.charityId = charityId; }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getDailyCapacity() { return dailyCapacity; }
+    public void setDailyCapacity(int dailyCapacity) { this.dailyCapacity = dailyCapacity; }
+
+    public String getCategories() { return categories; }
+    public void setCategories(String categories) { this.categories = categories; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public Double getMaxDistanceKm() { return maxDistanceKm; }
+    public void setMaxDistanceKm(Double maxDistanceKm) { this.maxDistanceKm = maxDistanceKm; }
+
+    public LocalTime getPickupWindowStart() { return pickupWindowStart; }
+    public void setPickupWindowStart(LocalTime pickupWindowStart) { this.pickupWindowStart = pickupWindowStart; }
+
+    public LocalTime getPickupWindowEnd() { return pickupWindowEnd; }
+    public void setPickupWindowEnd(LocalTime pickupWindowEnd) { this.pickupWindowEnd = pickupWindowEnd; }
+}
@@ -6,10 +6,19 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_donation_log_donor", columnList = "donor_id, id"),
+    @Index(name = "idx_donation_log_charity", columnList = "charity_id, id"),
+    @Index(name = "idx_donation_log_food_item", columnList = "food_item_id"),
+    @Index(name = "idx_donation_log_donated_at", columnList = "donated_at"),
+    @Index(name = "idx_donation_log_claimed_at", columnList = "claimed_at")
+})
 public class DonationLog {
 
     @Id
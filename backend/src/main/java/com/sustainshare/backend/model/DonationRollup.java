@@ -0,0 +1,69 @@
+package com.sustainshare.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// One time bucket of donation activity (an hour or a day). Postings count in the bucket of donatedAt,
+// claims in the bucket of claimedAt. Time-to-claim is kept as a sparse histogram ("bin:count,...", see
+// ClaimDelayHistogram) so buckets can be merged into longer ones and still yield a median.
+@Entity
+@Table(name = "donation_rollup", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_donation_rollup_bucket", columnNames = {"granularity", "bucket_start"})
+})
+public class DonationRollup {
+
+    public static final String HOUR = "HOUR";
+    public static final String DAY = "DAY";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 8)
+    private String granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    private long posted;
+    private long claimed;
+    private long quantity;
+
+    @Column(name = "claim_delays", length = 1200)
+    private String claimDelays;
+
+    public DonationRollup() {}
+
+    public DonationRollup(String granularity, LocalDateTime bucketStart) {
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getGranularity() { return granularity; }
+    public void setGranularity(String granularity) { this.granularity = granularity; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public long getPosted() { return posted; }
+    public void setPosted(long posted) { this.posted = posted; }
+
+    public long getClaimed() { return claimed; }
+    public void setClaimed(long claimed) { this.claimed = claimed; }
+
+    public long getQuantity() { return quantity; }
+    public void setQuantity(long quantity) { this.quantity = quantity; }
+
+    public String getClaimDelays() { return claimDelays; }
+    public void setClaimDelays(String claimDelays) { this.claimDelays = claimDelays; }
+}
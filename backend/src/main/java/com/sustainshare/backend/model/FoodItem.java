@@ -1,11 +1,23 @@
 package com.sustainshare.backend.model;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_food_item_donor", columnList = "donor_id, id"),
+    @Index(name = "idx_food_item_expiry", columnList = "expired, expires_at")
+})
 public class FoodItem {
 
     @Id
@@ -16,8 +28,22 @@ public class FoodItem {
     private int quantity;
     private String pickupLocation;
     private String expiryTime;
+
+    // Typed expiry, derived from expiryTime when that is an ISO date-time (as sent by the datetime-local input)
+    private LocalDateTime expiresAt;
+
+    // Set by FoodExpiryService once expiresAt has passed; expired items are no longer available
+    @Column(nullable = false)
+    private boolean expired;
     private String donorPhone;
 
+    // Optional free-form category (e.g. "produce", "bakery"), used by charity matching preferences
+    private String category;
+
+    // Pickup coordinates (WGS84); optional, items without them are not returned by /api/food/nearby
+    private Double latitude;
+    private Double longitude;
+
     // Optional: link to donorId (foreign key-like)
     private Long donorId;
 
@@ -28,7 +54,7 @@ public class FoodItem {
         this.name = name;
         this.quantity = quantity;
         this.pickupLocation = pickupLocation;
-        this.expiryTime = expiryTime;
+        setExpiryTime(expiryTime);
         this.donorId = donorId;
     }
 
@@ -46,11 +72,44 @@ public class FoodItem {
     public void setPickupLocation(String pickupLocation) { this.pickupLocation = pickupLocation; }
 
     public String getExpiryTime() { return expiryTime; }
-    public void setExpiryTime(String expiryTime) { this.expiryTime = expiryTime; }
+    public void setExpiryTime(String expiryTime) {
+        this.expiryTime = expiryTime;
+        this.expiresAt = parseExpiry(expiryTime);
+    }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public boolean isExpired() { return expired; }
+    public void setExpired(boolean expired) { this.expired = expired; }
 
     public Long getDonorId() { return donorId; }
     public void setDonorId(Long donorId) { this.donorId = donorId; }
 
     public String getDonorPhone() { return donorPhone; }
     public void setDonorPhone(String donorPhone) { this.donorPhone = donorPhone; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    // Accepts "2025-06-01T18:30" style local times and offset/zoned ISO strings; anything else means "no typed expiry".
+    // Offset and zoned times are converted to the same instant in server time, which expires_at is kept in.
+    public static LocalDateTime parseExpiry(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            try {
+                return ZonedDateTime.parse(value.trim()).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package com.sustainshare.backend.model;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// One row per recipient, written once when the underlying event happens.
+// (recipient_id, id) backs the cursor-paginated feed so reads never scan other users' rows.
+@Entity
+@Table(name = "notification", indexes = {
+    @Index(name = "idx_notification_recipient_id", columnList = "recipient_id, id"),
+    @Index(name = "idx_notification_recipient_read", columnList = "recipient_id, is_read")
+})
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    @Column(nullable = false, length = 32)
+    private String type; // e.g., "food_posted", "food_donated", "food_claimed", "new_user"
+
+    private String message;
+    private String foodName;
+    private String donorName;
+    private String charityName;
+    private String userName;
+    private String userRole;
+
+    private LocalDateTime timestamp;
+
+    @Column(name = "is_read", nullable = false)
+    private boolean read;
+
+    // Constructors
+    public Notification() {}
+
+    public Notification(Long recipientId, String type, String message, LocalDateTime timestamp) {
+        this.recipientId = recipientId;
+        this.type = type;
+        this.message = message;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getRecipientId() { return recipientId; }
+    public void setRecipientId(Long recipientId) { this.recipientId = recipientId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getFoodName() { return foodName; }
+    public void setFoodName(String foodName) { this.foodName = foodName; }
+
+    public String getDonorName() { return donorName; }
+    public void setDonorName(String donorName) { this.donorName = donorName; }
+
+    public String getCharityName() { return charityName; }
+    public void setCharityName(String charityName) { this.charityName = charityName; }
+
+    public String getUserName() { return userName; }
+    public void setUserName(String userName) { this.userName = userName; }
+
+    public String getUserRole() { return userRole; }
+    public void setUserRole(String userRole) { this.userRole = userRole; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    // Kept as "isRead" in JSON for the existing frontend contract
+    @JsonProperty("isRead")
+    public boolean isRead() { return read; }
+    public void setRead(boolean read) { this.read = read; }
+}
@@ -6,10 +6,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_pickup_charity", columnList = "charity_id, id"),
+    @Index(name = "idx_pickup_status", columnList = "status, id"),
+    @Index(name = "idx_pickup_scheduled_time", columnList = "scheduled_time")
+})
 public class PickupSchedule {
 
     @Id
@@ -0,0 +1,35 @@
+package com.sustainshare.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// How far a rollup has been folded in: every log event before the watermark is in the buckets, nothing
+// at or after it is. The row is locked while buckets are written, so instances take turns.
+@Entity
+@Table(name = "rollup_checkpoint")
+public class RollupCheckpoint {
+
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime watermark;
+
+    public RollupCheckpoint() {}
+
+    public RollupCheckpoint(String name, LocalDateTime watermark) {
+        this.name = name;
+        this.watermark = watermark;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public LocalDateTime getWatermark() { return watermark; }
+    public void setWatermark(LocalDateTime watermark) { this.watermark = watermark; }
+}
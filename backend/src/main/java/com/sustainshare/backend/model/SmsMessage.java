@@ -0,0 +1,104 @@
+package com.sustainshare.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Outbox row for one text message. Rows survive restarts; (status, next_attempt_at) lets the dispatcher
+// pick up due messages with one index range scan. kind, itemCount and itemNames describe the alert so that
+// several rows for one recipient can be merged into a single message. A FANOUT row stands for a posting
+// alert to every charity and is expanded into PENDING rows by the dispatcher.
+@Entity
+@Table(name = "sms_outbox", indexes = {
+    @Index(name = "idx_sms_outbox_due", columnList = "status, next_attempt_at, id"),
+    @Index(name = "idx_sms_outbox_recipient", columnList = "recipient")
+})
+public class SmsMessage {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+    public static final String FANOUT = "FANOUT";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String recipient;
+
+    @Column(nullable = false, length = 640)
+    private String body;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+    private String lastError;
+
+    @Column(length = 16)
+    private String kind;
+
+    private int itemCount;
+
+    @Column(length = 640)
+    private String itemNames; // the first few names, one per line
+
+    public SmsMessage() {}
+
+    public SmsMessage(String recipient, String body, LocalDateTime createdAt) {
+        this.recipient = recipient;
+        this.body = body;
+        this.status = PENDING;
+        this.createdAt = createdAt;
+        this.nextAttemptAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getRecipient() { return recipient; }
+    public void setRecipient(String recipient) { this.recipient = recipient; }
+
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+
+    public String getItemNames() { return itemNames; }
+    public void setItemNames(String itemNames) { this.itemNames = itemNames; }
+}
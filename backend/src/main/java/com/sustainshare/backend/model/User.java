@@ -2,13 +2,18 @@ package com.sustainshare.backend.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
+import com.sustainshare.backend.service.UserCacheListener;
+
 @Entity
-@Table(name = "users")
+@EntityListeners(UserCacheListener.class)
+@Table(name = "users", indexes = @Index(name = "idx_users_role", columnList = "role, id"))
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
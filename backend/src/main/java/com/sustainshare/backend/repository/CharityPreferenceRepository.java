@@ -0,0 +1,17 @@
+package com.sustainshare.backend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.sustainshare.backend.model.CharityPreference;
+
+@Repository
+public interface CharityPreferenceRepository extends JpaRepository<CharityPreference, Long> {
+
+    Optional<CharityPreference> findByCharityId(Long charityId);
+
+    List<CharityPreference> findByEnabledTrue();
+}
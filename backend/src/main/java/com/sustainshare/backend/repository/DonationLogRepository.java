@@ -1,9 +1,13 @@
 package com.sustainshare.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,18 +17,61 @@ import com.sustainshare.backend.model.DonationLog;
 import jakarta.persistence.LockModeType;
 
 @Repository
-public interface DonationLogRepository extends JpaRepository<DonationLog, Long> {
+public interface DonationLogRepository extends JpaRepository<DonationLog, Long>, JpaSpecificationExecutor<DonationLog>,
+        DonationLogViewRepository {
     // Add filter by donor or charity if needed
 
     @Query("SELECT COUNT(DISTINCT d.donor.id) FROM DonationLog d")
     long countDistinctDonors();
 
-    @Query("SELECT COUNT(d) FROM DonationLog d WHERE d.claimedAt IS NOT NULL")
+    @Query("SELECT COUNT(d) FROM DonationLog d WHERE d.charity IS NOT NULL AND d.claimedAt IS NOT NULL")
     long countClaimedDonations();
 
     @Query("SELECT COALESCE(SUM(d.foodItem.quantity), 0) FROM DonationLog d")
     long sumFoodQuantity();
 
+    // Per-donor log counts, used to rebuild the distinct-donor counter
+    @Query("SELECT d.donor.id, COUNT(d) FROM DonationLog d WHERE d.donor IS NOT NULL GROUP BY d.donor.id")
+    java.util.List<Object[]> countByDonor();
+
+    // Claims per charity since a point in time (the matching engine's daily capacity)
+    @Query("SELECT d.charity.id, COUNT(d) FROM DonationLog d WHERE d.claimedAt >= :since AND d.charity IS NOT NULL GROUP BY d.charity.id")
+    java.util.List<Object[]> countClaimsByCharitySince(@Param("since") LocalDateTime since);
+
+    // Leaderboard rebuilds: (userId, logs, quantity) per donor and per claiming charity. A log created by
+    // the claim itself has no donatedAt and counts for its donor at claimedAt.
+    @Query("SELECT d.donor.id, COUNT(d), COALESCE(SUM(f.quantity), 0) FROM DonationLog d LEFT JOIN d.foodItem f "
+            + "WHERE d.donor IS NOT NULL GROUP BY d.donor.id")
+    java.util.List<Object[]> sumByDonor();
+
+    @Query("SELECT d.donor.id, COUNT(d), COALESCE(SUM(f.quantity), 0) FROM DonationLog d LEFT JOIN d.foodItem f "
+            + "WHERE d.donor IS NOT NULL AND COALESCE(d.donatedAt, d.claimedAt) >= :since GROUP BY d.donor.id")
+    java.util.List<Object[]> sumByDonorSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT d.charity.id, COUNT(d), COALESCE(SUM(f.quantity), 0) FROM DonationLog d LEFT JOIN d.foodItem f "
+            + "WHERE d.charity IS NOT NULL AND d.claimedAt IS NOT NULL GROUP BY d.charity.id")
+    java.util.List<Object[]> sumClaimsByCharity();
+
+    @Query("SELECT d.charity.id, COUNT(d), COALESCE(SUM(f.quantity), 0) FROM DonationLog d LEFT JOIN d.foodItem f "
+            + "WHERE d.charity IS NOT NULL AND d.claimedAt >= :since GROUP BY d.charity.id")
+    java.util.List<Object[]> sumClaimsByCharitySince(@Param("since") LocalDateTime since);
+
+    // Rollup input: postings with donatedAt in [from, to) as (donatedAt, quantity), and claims with
+    // claimedAt in [from, to) as (donatedAt, claimedAt); range scans on the donated_at / claimed_at indexes
+    @Query("SELECT d.donatedAt, COALESCE(f.quantity, 0) FROM DonationLog d LEFT JOIN d.foodItem f "
+            + "WHERE d.donatedAt >= :from AND d.donatedAt < :to")
+    java.util.List<Object[]> findPostingsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT d.donatedAt, d.claimedAt FROM DonationLog d WHERE d.claimedAt >= :from AND d.claimedAt < :to")
+    java.util.List<Object[]> findClaimsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Earliest posting / claim at or after a point in time, so the rollup backfill can skip empty history
+    @Query("SELECT MIN(d.donatedAt) FROM DonationLog d WHERE d.donatedAt >= :from")
+    LocalDateTime findFirstDonatedAtFrom(@Param("from") LocalDateTime from);
+
+    @Query("SELECT MIN(d.claimedAt) FROM DonationLog d WHERE d.claimedAt >= :from")
+    LocalDateTime findFirstClaimedAtFrom(@Param("from") LocalDateTime from);
+
     // Fetch by food item id
     Optional<DonationLog> findByFoodItem_Id(Long foodItemId);
 
@@ -33,6 +80,29 @@ public interface DonationLogRepository extends JpaRepository<DonationLog, Long>
     @Query("SELECT d FROM DonationLog d WHERE d.foodItem.id = :foodItemId")
     Optional<DonationLog> findByFoodItemIdForUpdate(@Param("foodItemId") Long foodItemId);
 
+    // Lock-free claim: a single conditional write, only the first charity can flip claimedAt from NULL.
+    // Returns 0 if the item is already claimed or expired, has no log yet, or the charity does not exist.
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE DonationLog d SET d.charity.id = :charityId, d.claimedAt = :claimedAt "
+            + "WHERE d.foodItem.id = :foodItemId AND (d.claimedAt IS NULL OR d.charity IS NULL) "
+            + "AND EXISTS (SELECT u.id FROM User u WHERE u.id = :charityId) "
+            + "AND NOT EXISTS (SELECT f.id FROM FoodItem f WHERE f.id = :foodItemId AND f.expired = true)")
+    int claimIfUnclaimed(@Param("foodItemId") Long foodItemId, @Param("charityId") Long charityId,
+                         @Param("claimedAt") LocalDateTime claimedAt);
+
+    // The log a conditional claim just won, loaded with its associations in one statement. Pass a one-row
+    // page: an item may carry more than one log, and the UPDATE has then claimed all of its open ones
+    @Query("SELECT d FROM DonationLog d JOIN FETCH d.foodItem JOIN FETCH d.charity LEFT JOIN FETCH d.donor "
+            + "WHERE d.foodItem.id = :foodItemId AND d.charity.id = :charityId ORDER BY d.claimedAt DESC, d.id")
+    java.util.List<DonationLog> findClaimedBy(@Param("foodItemId") Long foodItemId, @Param("charityId") Long charityId,
+                                              Pageable page);
+
+    // Whether each log of the item is claimed; tells a lost conditional claim from an invalid one, and
+    // is empty when the item has no log yet
+    @Query("SELECT CASE WHEN d.claimedAt IS NOT NULL AND d.charity IS NOT NULL THEN true ELSE false END "
+            + "FROM DonationLog d WHERE d.foodItem.id = :foodItemId")
+    java.util.List<Boolean> findClaimStatesByFoodItemId(@Param("foodItemId") Long foodItemId);
+
     // Find all donation logs for a food item
     java.util.List<DonationLog> findAllByFoodItem_Id(Long foodItemId);
 
@@ -0,0 +1,15 @@
+package com.sustainshare.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.sustainshare.backend.controller.dto.DonationLogView;
+import com.sustainshare.backend.model.DonationLog;
+
+// Projection queries for DonationLog listings: one joined SELECT per page instead of 1 + 3N entity loads
+public interface DonationLogViewRepository {
+
+    // Newest first; limit <= 0 means no limit
+    List<DonationLogView> findViews(Specification<DonationLog> spec, int limit);
+}
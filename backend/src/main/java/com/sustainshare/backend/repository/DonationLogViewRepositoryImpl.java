@@ -0,0 +1,54 @@
+package com.sustainshare.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.sustainshare.backend.controller.dto.DonationLogView;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class DonationLogViewRepositoryImpl implements DonationLogViewRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<DonationLogView> findViews(Specification<DonationLog> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DonationLogView> query = cb.createQuery(DonationLogView.class);
+        Root<DonationLog> d = query.from(DonationLog.class);
+        Join<DonationLog, User> donor = d.join("donor", JoinType.LEFT);
+        Join<DonationLog, User> charity = d.join("charity", JoinType.LEFT);
+        Join<DonationLog, FoodItem> food = d.join("foodItem", JoinType.LEFT);
+
+        query.select(cb.construct(DonationLogView.class,
+                d.get("id"), d.get("donatedAt"), d.get("claimedAt"),
+                donor.get("id"), donor.get("name"), donor.get("username"), donor.get("role"),
+                charity.get("id"), charity.get("name"), charity.get("username"), charity.get("role"),
+                food.get("id"), food.get("name"), food.get("quantity"), food.get("pickupLocation"),
+                food.get("expiryTime"), food.get("donorId")));
+        Predicate where = spec != null ? spec.toPredicate(d, query, cb) : null;
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(cb.desc(d.get("id")));
+
+        TypedQuery<DonationLogView> typed = entityManager.createQuery(query);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.sustainshare.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sustainshare.backend.model.DonationRollup;
+
+@Repository
+public interface DonationRollupRepository extends JpaRepository<DonationRollup, Long> {
+
+    // Buckets in [from, to), oldest first (range scan on uk_donation_rollup_bucket)
+    @Query("SELECT r FROM DonationRollup r WHERE r.granularity = :granularity "
+            + "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart")
+    List<DonationRollup> findRange(@Param("granularity") String granularity,
+                                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    List<DonationRollup> findByGranularityAndBucketStartIn(String granularity, Collection<LocalDateTime> bucketStarts);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM DonationRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
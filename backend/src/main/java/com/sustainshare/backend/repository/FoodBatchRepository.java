@@ -0,0 +1,203 @@
+package com.sustainshare.backend.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+
+// JDBC batch writes for bulk posting and matching. Hibernate cannot batch IDENTITY inserts, so these go
+// through JdbcTemplate, which joins the surrounding JPA transaction. With rewriteBatchedStatements=true on
+// the MySQL URL each chunk becomes one multi-row INSERT; generated keys are read back in order.
+@Repository
+public class FoodBatchRepository {
+
+    private static final String INSERT_FOOD = "INSERT INTO food_item "
+            + "(name, quantity, pickup_location, expiry_time, expires_at, expired, donor_phone, latitude, longitude, donor_id, category) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LOG = "INSERT INTO donation_log (donor_id, food_item_id, donated_at) VALUES (?, ?, ?)";
+
+    // Same guard as DonationLogRepository.claimIfUnclaimed: only an unclaimed, unexpired item can flip
+    private static final String CLAIM_IF_UNCLAIMED = "UPDATE donation_log SET charity_id = ?, claimed_at = ? "
+            + "WHERE food_item_id = ? AND (claimed_at IS NULL OR charity_id IS NULL) "
+            + "AND EXISTS (SELECT 1 FROM users u WHERE u.id = ?) "
+            + "AND NOT EXISTS (SELECT 1 FROM food_item f WHERE f.id = ? AND f.expired = TRUE)";
+
+    // For items posted one at a time, which have no log yet: a claimed log, donor taken from the item if that
+    // user exists
+    private static final String INSERT_CLAIMED_LOG = "INSERT INTO donation_log (donor_id, charity_id, food_item_id, claimed_at) "
+            + "SELECT (SELECT u.id FROM users u WHERE u.id = f.donor_id), ?, f.id, ? FROM food_item f "
+            + "WHERE f.id = ? AND f.expired = FALSE AND EXISTS (SELECT 1 FROM users u WHERE u.id = ?)";
+
+    private static final String INSERT_PICKUP = "INSERT INTO pickup_schedule (scheduled_time, status, food_item_id, charity_id) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${sustainshare.food.batch.jdbc-batch-size:500}")
+    private int chunkSize;
+
+    // Inserts the items and assigns their generated ids
+    public void insertFoodItems(List<FoodItem> items) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_FOOD, Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < items.size(); start += chunkSize) {
+                    List<FoodItem> chunk = items.subList(start, Math.min(items.size(), start + chunkSize));
+                    for (FoodItem f : chunk) {
+                        ps.setString(1, f.getName());
+                        ps.setInt(2, f.getQuantity());
+                        ps.setString(3, f.getPickupLocation());
+                        ps.setString(4, f.getExpiryTime());
+                        ps.setTimestamp(5, f.getExpiresAt() != null ? Timestamp.valueOf(f.getExpiresAt()) : null);
+                        ps.setBoolean(6, f.isExpired());
+                        ps.setString(7, f.getDonorPhone());
+                        setDouble(ps, 8, f.getLatitude());
+                        setDouble(ps, 9, f.getLongitude());
+                        setLong(ps, 10, f.getDonorId());
+                        ps.setString(11, f.getCategory());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (FoodItem f : chunk) {
+                            if (!keys.next()) {
+                                throw new IllegalStateException("Driver returned fewer generated keys than inserted rows");
+                            }
+                            f.setId(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    // One unclaimed donation log per item, donor taken from FoodItem.donorId
+    public void insertDonationLogs(List<FoodItem> items, LocalDateTime donatedAt) {
+        Timestamp at = Timestamp.valueOf(donatedAt);
+        jdbcTemplate.batchUpdate(INSERT_LOG, items, chunkSize, (ps, f) -> {
+            setLong(ps, 1, f.getDonorId());
+            ps.setLong(2, f.getId());
+            ps.setTimestamp(3, at);
+        });
+    }
+
+    // Conditional claim of each (foodItemId, charityId) pair, stamped with claimedAt. Returns the food item
+    // ids this call won. Winners are read back by their stamp rather than trusted from batch update counts,
+    // which drivers may report as SUCCESS_NO_INFO for rewritten batches.
+    public Set<Long> claimIfUnclaimed(Map<Long, Long> charityByFoodItem, LocalDateTime claimedAt) {
+        Timestamp at = Timestamp.valueOf(claimedAt);
+        List<Map.Entry<Long, Long>> pairs = new ArrayList<>(charityByFoodItem.entrySet());
+        jdbcTemplate.batchUpdate(CLAIM_IF_UNCLAIMED, pairs, chunkSize, (ps, e) -> {
+            ps.setLong(1, e.getValue());
+            ps.setTimestamp(2, at);
+            ps.setLong(3, e.getKey());
+            ps.setLong(4, e.getValue());
+            ps.setLong(5, e.getKey());
+        });
+        return claimedBy(charityByFoodItem, new ArrayList<>(charityByFoodItem.keySet()), at);
+    }
+
+    // Claims items that have no donation log by inserting a claimed one; returns the food item ids won. The
+    // food rows are locked first, as on the locking claim path, so this and a manual claim of the same item
+    // cannot both create a log.
+    public Set<Long> claimWithoutLog(Map<Long, Long> charityByFoodItem, LocalDateTime claimedAt) {
+        Set<Long> withoutLog = new HashSet<>();
+        List<Long> ids = new ArrayList<>(charityByFoodItem.keySet());
+        for (int start = 0; start < ids.size(); start += chunkSize) {
+            List<Long> chunk = ids.subList(start, Math.min(ids.size(), start + chunkSize));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            Object[] args = chunk.toArray();
+            withoutLog.addAll(jdbcTemplate.queryForList("SELECT id FROM food_item WHERE id IN (" + placeholders + ") FOR UPDATE",
+                    Long.class, args));
+            withoutLog.removeAll(jdbcTemplate.queryForList("SELECT food_item_id FROM donation_log WHERE food_item_id IN ("
+                    + placeholders + ")", Long.class, args));
+        }
+        if (withoutLog.isEmpty()) return withoutLog;
+        Timestamp at = Timestamp.valueOf(claimedAt);
+        List<Long> candidates = new ArrayList<>(withoutLog);
+        jdbcTemplate.batchUpdate(INSERT_CLAIMED_LOG, candidates, chunkSize, (ps, foodItemId) -> {
+            Long charityId = charityByFoodItem.get(foodItemId);
+            ps.setLong(1, charityId);
+            ps.setTimestamp(2, at);
+            ps.setLong(3, foodItemId);
+            ps.setLong(4, charityId);
+        });
+        return claimedBy(charityByFoodItem, candidates, at);
+    }
+
+    // The food item ids among foodItemIds whose log now carries this claim stamp and the intended charity
+    private Set<Long> claimedBy(Map<Long, Long> charityByFoodItem, List<Long> foodItemIds, Timestamp at) {
+        Set<Long> won = new HashSet<>();
+        for (int start = 0; start < foodItemIds.size(); start += chunkSize) {
+            List<Long> chunk = foodItemIds.subList(start, Math.min(foodItemIds.size(), start + chunkSize));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(at);
+            args.addAll(chunk);
+            jdbcTemplate.query("SELECT food_item_id, charity_id FROM donation_log WHERE claimed_at = ? AND food_item_id IN ("
+                    + placeholders + ")", rs -> {
+                        long foodItemId = rs.getLong(1);
+                        if (Long.valueOf(rs.getLong(2)).equals(charityByFoodItem.get(foodItemId))) {
+                            won.add(foodItemId);
+                        }
+                    }, args.toArray());
+        }
+        return won;
+    }
+
+    // Inserts the pickups and assigns their generated ids
+    public void insertPickupSchedules(List<PickupSchedule> pickups) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_PICKUP, Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < pickups.size(); start += chunkSize) {
+                    List<PickupSchedule> chunk = pickups.subList(start, Math.min(pickups.size(), start + chunkSize));
+                    for (PickupSchedule p : chunk) {
+                        ps.setTimestamp(1, Timestamp.valueOf(p.getScheduledTime()));
+                        ps.setString(2, p.getStatus());
+                        ps.setLong(3, p.getFoodItem().getId());
+                        ps.setLong(4, p.getCharity().getId());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (PickupSchedule p : chunk) {
+                            if (!keys.next()) {
+                                throw new IllegalStateException("Driver returned fewer generated keys than inserted rows");
+                            }
+                            p.setId(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws java.sql.SQLException {
+        if (value == null) ps.setNull(index, Types.DOUBLE);
+        else ps.setDouble(index, value);
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws java.sql.SQLException {
+        if (value == null) ps.setNull(index, Types.BIGINT);
+        else ps.setLong(index, value);
+    }
+}
@@ -1,9 +1,14 @@
 package com.sustainshare.backend.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,14 +18,49 @@ import com.sustainshare.backend.model.FoodItem;
 import jakarta.persistence.LockModeType;
 
 @Repository
-public interface FoodItemRepository extends JpaRepository<FoodItem, Long> {
+public interface FoodItemRepository extends JpaRepository<FoodItem, Long>, JpaSpecificationExecutor<FoodItem> {
     // Custom queries (optional) can go here
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT f FROM FoodItem f WHERE f.id = :id")
     Optional<FoodItem> findByIdForUpdate(@Param("id") Long id);
 
-    // Available = no DonationLog with both charity set and claimedAt set (use NOT EXISTS to avoid NULL issues)
-    @Query("SELECT f FROM FoodItem f WHERE NOT EXISTS (SELECT d FROM DonationLog d WHERE d.foodItem = f AND d.charity IS NOT NULL AND d.claimedAt IS NOT NULL)")
+    // Available = not expired and no DonationLog with both charity set and claimedAt set (use NOT EXISTS to avoid NULL issues)
+    @Query("SELECT f FROM FoodItem f WHERE f.expired = false AND NOT EXISTS (SELECT d FROM DonationLog d WHERE d.foodItem = f AND d.charity IS NOT NULL AND d.claimedAt IS NOT NULL)")
     java.util.List<FoodItem> findAllAvailable();
+
+    // Newest available items first (same definition as findAllAvailable), for a cache that holds only the head
+    @Query("SELECT f FROM FoodItem f WHERE f.expired = false AND NOT EXISTS (SELECT d FROM DonationLog d WHERE d.foodItem = f AND d.charity IS NOT NULL AND d.claimedAt IS NOT NULL) ORDER BY f.id DESC")
+    List<FoodItem> findNewestAvailable(Pageable page);
+
+    // Available items older than id, oldest first: the part of the listing a capped cache leaves to the database
+    @Query("SELECT f FROM FoodItem f WHERE f.id < :id AND f.expired = false AND NOT EXISTS (SELECT d FROM DonationLog d WHERE d.foodItem = f AND d.charity IS NOT NULL AND d.claimedAt IS NOT NULL) ORDER BY f.id")
+    List<FoodItem> findAvailableBefore(@Param("id") Long id);
+
+    // Search index rows: summary columns plus availability (same definition as findAllAvailable)
+    @Query("SELECT f.id, f.name, f.quantity, f.pickupLocation, f.expiryTime, f.donorId, "
+            + "CASE WHEN f.expired = false AND NOT EXISTS (SELECT d FROM DonationLog d WHERE d.foodItem = f AND d.charity IS NOT NULL AND d.claimedAt IS NOT NULL) THEN true ELSE false END "
+            + "FROM FoodItem f")
+    List<Object[]> findSearchRows();
+
+    // Available items with a typed expiry, loaded once at startup by FoodExpiryService
+    @Query("SELECT f FROM FoodItem f WHERE f.expiresAt IS NOT NULL AND f.expired = false AND NOT EXISTS (SELECT d FROM DonationLog d WHERE d.foodItem = f AND d.charity IS NOT NULL AND d.claimedAt IS NOT NULL)")
+    List<FoodItem> findAvailableWithExpiry();
+
+    // The unexpired rows among ids, locked until the retiring transaction ends
+    @Query(value = "SELECT id FROM food_item WHERE id IN (:ids) AND expired = FALSE FOR UPDATE", nativeQuery = true)
+    List<Long> lockUnexpired(@Param("ids") Collection<Long> ids);
+
+    // Batched retirement of available rows (same claim definition as findAllAvailable); expired and claimed
+    // rows are left alone so the count reflects real transitions
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE FoodItem f SET f.expired = true WHERE f.id IN :ids AND f.expired = false "
+            + "AND NOT EXISTS (SELECT d FROM DonationLog d WHERE d.foodItem = f AND d.charity IS NOT NULL AND d.claimedAt IS NOT NULL)")
+    int markExpired(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT f.id FROM FoodItem f WHERE f.id IN :ids AND f.expired = true")
+    List<Long> findExpiredIds(@Param("ids") Collection<Long> ids);
+
+    // Legacy rows whose string expiryTime has not been parsed into expiresAt yet, walked by id
+    List<FoodItem> findTop500ByExpiresAtIsNullAndExpiryTimeIsNotNullAndIdGreaterThanOrderByIdAsc(Long id);
 }
@@ -0,0 +1,87 @@
+package com.sustainshare.backend.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.User;
+
+import jakarta.persistence.criteria.Subquery;
+
+// Filters for the keyset-paginated list endpoints. A null argument means "no filter",
+// and every predicate lines up with an index declared on the entity.
+public final class ListingSpecifications {
+
+    private ListingSpecifications() {}
+
+    // Seek predicate: rows strictly older than the cursor (pages are ordered by id DESC)
+    public static <T> Specification<T> idBefore(Long cursor) {
+        return (root, query, cb) -> cursor == null ? null : cb.lessThan(root.get("id"), cursor);
+    }
+
+    public static Specification<FoodItem> foodDonor(Long donorId) {
+        return (root, query, cb) -> donorId == null ? null : cb.equal(root.get("donorId"), donorId);
+    }
+
+    // Same definition of "claimed" as FoodItemRepository.findAllAvailable
+    public static Specification<FoodItem> foodClaimed(Boolean claimed) {
+        return (root, query, cb) -> {
+            if (claimed == null) return null;
+            Subquery<Long> sub = query.subquery(Long.class);
+            var d = sub.from(DonationLog.class);
+            sub.select(d.get("id")).where(
+                    cb.equal(d.get("foodItem"), root),
+                    cb.isNotNull(d.get("charity")),
+                    cb.isNotNull(d.get("claimedAt")));
+            return claimed ? cb.exists(sub) : cb.not(cb.exists(sub));
+        };
+    }
+
+    public static Specification<DonationLog> donationDonor(Long donorId) {
+        return (root, query, cb) -> donorId == null ? null : cb.equal(root.get("donor").get("id"), donorId);
+    }
+
+    public static Specification<DonationLog> donationCharity(Long charityId) {
+        return (root, query, cb) -> charityId == null ? null : cb.equal(root.get("charity").get("id"), charityId);
+    }
+
+    public static Specification<DonationLog> donationClaimed(Boolean claimed) {
+        return (root, query, cb) -> {
+            if (claimed == null) return null;
+            return claimed ? cb.isNotNull(root.get("claimedAt")) : cb.isNull(root.get("claimedAt"));
+        };
+    }
+
+    public static Specification<DonationLog> donatedBetween(LocalDateTime from, LocalDateTime to) {
+        return between("donatedAt", from, to);
+    }
+
+    public static Specification<User> userRole(String role) {
+        return (root, query, cb) -> role == null ? null : cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<PickupSchedule> pickupCharity(Long charityId) {
+        return (root, query, cb) -> charityId == null ? null : cb.equal(root.get("charity").get("id"), charityId);
+    }
+
+    public static Specification<PickupSchedule> pickupStatus(String status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<PickupSchedule> scheduledBetween(LocalDateTime from, LocalDateTime to) {
+        return between("scheduledTime", from, to);
+    }
+
+    // Inclusive "from", exclusive "to"
+    private static <T> Specification<T> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from == null && to == null) return null;
+            if (to == null) return cb.greaterThanOrEqualTo(root.get(attribute), from);
+            if (from == null) return cb.lessThan(root.get(attribute), to);
+            return cb.and(cb.greaterThanOrEqualTo(root.get(attribute), from), cb.lessThan(root.get(attribute), to));
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.sustainshare.backend.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.sustainshare.backend.model.Notification;
+
+// Notification fan-out (one row per recipient) as JDBC batches in the caller's transaction. saveAll on the
+// IDENTITY-keyed entity would be one INSERT round trip per recipient; nobody reads the generated ids back.
+@Repository
+public class NotificationBatchRepository {
+
+    private static final String INSERT = "INSERT INTO notification "
+            + "(recipient_id, type, message, food_name, donor_name, charity_name, user_name, user_role, timestamp, is_read) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${sustainshare.food.batch.jdbc-batch-size:500}")
+    private int chunkSize;
+
+    public void insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT, notifications, chunkSize, (ps, n) -> {
+            ps.setLong(1, n.getRecipientId());
+            ps.setString(2, n.getType());
+            ps.setString(3, n.getMessage());
+            ps.setString(4, n.getFoodName());
+            ps.setString(5, n.getDonorName());
+            ps.setString(6, n.getCharityName());
+            ps.setString(7, n.getUserName());
+            ps.setString(8, n.getUserRole());
+            ps.setTimestamp(9, n.getTimestamp() != null ? Timestamp.valueOf(n.getTimestamp()) : null);
+            ps.setBoolean(10, n.isRead());
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.sustainshare.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sustainshare.backend.model.Notification;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // First page of a user's feed, newest first
+    List<Notification> findByRecipientIdOrderByIdDesc(Long recipientId, Pageable pageable);
+
+    // Following pages: everything older than the cursor (seek on the (recipient_id, id) index)
+    List<Notification> findByRecipientIdAndIdLessThanOrderByIdDesc(Long recipientId, Long id, Pageable pageable);
+
+    long countByRecipientIdAndReadFalse(Long recipientId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.recipientId = :recipientId")
+    int markRead(@Param("recipientId") Long recipientId, @Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.recipientId = :recipientId AND n.read = false")
+    int markAllRead(@Param("recipientId") Long recipientId);
+}
@@ -1,9 +1,20 @@
 package com.sustainshare.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.sustainshare.backend.model.PickupSchedule;
 
-public interface PickupScheduleRepository extends JpaRepository<PickupSchedule, Long> {
-    // Add custom query methods if needed
+public interface PickupScheduleRepository extends JpaRepository<PickupSchedule, Long>, JpaSpecificationExecutor<PickupSchedule>,
+        PickupScheduleViewRepository {
+
+    // Slot index rows (id, scheduledTime, status, charityId, foodItemId, pickupLocation), range scan on scheduled_time
+    @Query("SELECT p.id, p.scheduledTime, p.status, p.charity.id, f.id, f.pickupLocation FROM PickupSchedule p "
+            + "LEFT JOIN p.foodItem f WHERE p.scheduledTime >= :since")
+    List<Object[]> findSlotsSince(@Param("since") LocalDateTime since);
 }
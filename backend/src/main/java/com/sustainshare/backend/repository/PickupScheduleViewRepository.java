@@ -0,0 +1,15 @@
+package com.sustainshare.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.sustainshare.backend.controller.dto.PickupScheduleView;
+import com.sustainshare.backend.model.PickupSchedule;
+
+// Projection queries for PickupSchedule listings: one joined SELECT per page
+public interface PickupScheduleViewRepository {
+
+    // Newest first; limit <= 0 means no limit
+    List<PickupScheduleView> findViews(Specification<PickupSchedule> spec, int limit);
+}
@@ -0,0 +1,52 @@
+package com.sustainshare.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.sustainshare.backend.controller.dto.PickupScheduleView;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class PickupScheduleViewRepositoryImpl implements PickupScheduleViewRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PickupScheduleView> findViews(Specification<PickupSchedule> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PickupScheduleView> query = cb.createQuery(PickupScheduleView.class);
+        Root<PickupSchedule> p = query.from(PickupSchedule.class);
+        Join<PickupSchedule, FoodItem> food = p.join("foodItem", JoinType.LEFT);
+        Join<PickupSchedule, User> charity = p.join("charity", JoinType.LEFT);
+
+        query.select(cb.construct(PickupScheduleView.class,
+                p.get("id"), p.get("scheduledTime"), p.get("status"),
+                food.get("id"), food.get("name"), food.get("quantity"), food.get("pickupLocation"),
+                food.get("expiryTime"), food.get("donorId"),
+                charity.get("id"), charity.get("name"), charity.get("username"), charity.get("role")));
+        Predicate where = spec != null ? spec.toPredicate(p, query, cb) : null;
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(cb.desc(p.get("id")));
+
+        TypedQuery<PickupScheduleView> typed = entityManager.createQuery(query);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+}
@@ -0,0 +1,22 @@
+package com.sustainshare.backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sustainshare.backend.model.RollupCheckpoint;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface RollupCheckpointRepository extends JpaRepository<RollupCheckpoint, String> {
+
+    // Serializes rollup writers across instances
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM RollupCheckpoint c WHERE c.name = :name")
+    Optional<RollupCheckpoint> findForUpdate(@Param("name") String name);
+}
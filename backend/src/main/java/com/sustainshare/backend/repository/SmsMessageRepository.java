@@ -0,0 +1,28 @@
+package com.sustainshare.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sustainshare.backend.model.SmsMessage;
+
+@Repository
+public interface SmsMessageRepository extends JpaRepository<SmsMessage, Long> {
+
+    // Due messages, oldest first (range scan on idx_sms_outbox_due)
+    List<SmsMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(String status, LocalDateTime now, Pageable pageable);
+
+    List<SmsMessage> findByStatusOrderByIdAsc(String status, Pageable pageable);
+
+    long countByStatus(String status);
+
+    @Modifying
+    @Query("UPDATE SmsMessage m SET m.status = 'SENT', m.sentAt = :sentAt, m.attempts = m.attempts + 1 WHERE m.id IN :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+}
@@ -1,14 +1,26 @@
 package com.sustainshare.backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.sustainshare.backend.model.User;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     //boolean existsByPhone(Long phone);
     Optional<User> findByEmail(String email);
+
+    // Only the ids, used for notification fan-out
+    @Query("SELECT u.id FROM User u WHERE u.role = :role")
+    List<Long> findIdsByRole(@Param("role") String role);
+
+    // Phone numbers for SMS fan-out
+    @Query("SELECT u.phone FROM User u WHERE u.role = :role AND u.phone IS NOT NULL AND u.phone <> ''")
+    List<String> findPhonesByRole(@Param("role") String role);
 }
@@ -0,0 +1,103 @@
+package com.sustainshare.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Issues and verifies stateless access tokens: base64url("userId.role.expiresEpochSecond") + "." +
+// base64url(HMAC-SHA256 of that payload). Verification is pure CPU, so authorizing a request never
+// touches the users table. Without a configured secret a random one is generated per process, which
+// means tokens do not survive a restart and are not accepted by other instances.
+@Service
+public class AccessTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs;
+
+    @Autowired
+    public AccessTokenService(@Value("${sustainshare.auth.token-secret:}") String secret,
+                              @Value("${sustainshare.auth.token-ttl:PT12H}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    AccessTokenService(String secret, Duration ttl, Clock clock) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length < 32) {
+                throw new IllegalArgumentException("sustainshare.auth.token-secret must be at least 32 bytes");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        // Mac.getInstance is comparatively slow and Mac is not thread-safe, so keep one per thread
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String issue(Long userId, String role) {
+        long expires = clock.instant().plus(ttl).getEpochSecond();
+        String payload = ENCODER.encodeToString((userId + "." + role + "." + expires).getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    // Empty for malformed, tampered or expired tokens
+    public Optional<AuthenticatedUser> verify(String token) {
+        if (token == null) return Optional.empty();
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) return Optional.empty();
+        String payload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) return Optional.empty();
+
+            String claims = new String(DECODER.decode(payload), StandardCharsets.UTF_8);
+            int first = claims.indexOf('.');
+            int last = claims.lastIndexOf('.');
+            if (first <= 0 || last <= first) return Optional.empty();
+            if (Long.parseLong(claims.substring(last + 1)) <= clock.instant().getEpochSecond()) return Optional.empty();
+            return Optional.of(new AuthenticatedUser(Long.parseLong(claims.substring(0, first)), claims.substring(first + 1, last)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty(); // bad base64 or number
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
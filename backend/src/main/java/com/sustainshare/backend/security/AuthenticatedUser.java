@@ -0,0 +1,25 @@
+package com.sustainshare.backend.security;
+
+// Principal rebuilt from a verified access token; no database lookup behind it
+public class AuthenticatedUser {
+
+    private final Long id;
+    private final String role;
+
+    public AuthenticatedUser(Long id, String role) {
+        this.id = id;
+        this.role = role;
+    }
+
+    public Long getId() { return id; }
+    public String getRole() { return role; }
+
+    public boolean hasRole(String expected) {
+        return expected.equalsIgnoreCase(role);
+    }
+
+    // Admins may act on any user's resources, everyone else only on their own
+    public boolean canActFor(Long userId) {
+        return id.equals(userId) || hasRole("Admin");
+    }
+}
@@ -0,0 +1,194 @@
+package com.sustainshare.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sustainshare.backend.event.FoodBatchEvent;
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.repository.FoodItemRepository;
+
+// In-memory copy of the available-food listing, kept current from committed FoodEvents.
+// Readers get an immutable snapshot, so a listing is a volatile read; writers rebuild the
+// snapshot under the lock. At most max-entries items are held: the newest ones, since new posts
+// always land at the top. Older available items are read from the database below the cached
+// range and put in front of the snapshot, so the listing stays complete. Modes:
+//   LOCAL              - single instance, events are the only source of change
+//   BOUNDED_STALENESS  - multi-instance, also reloads every refresh-ms to pick up other nodes' writes
+//   OFF                - always query the database
+@Component
+public class AvailableFoodCache {
+
+    public enum Mode { LOCAL, BOUNDED_STALENESS, OFF }
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Value("${sustainshare.cache.available.mode:LOCAL}")
+    private Mode mode;
+
+    // Newest items kept in memory; the rest of the listing comes from the database
+    @Value("${sustainshare.cache.available.max-entries:50000}")
+    private int maxEntries;
+
+    private final TreeMap<Long, FoodItem> items = new TreeMap<>();
+    private Long cachedFrom; // null while every available item is held; else ids below it are not
+    private volatile Snapshot snapshot;
+    private volatile long loadedAt;
+    private List<FoodEvent> pendingDuringLoad; // non-null while a reload query is in flight
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong tailQueries = new AtomicLong();
+
+    // The cached items and the id they start at, published together so a reader never mixes two states
+    private static final class Snapshot {
+        private final List<FoodItem> items;
+        private final Long cachedFrom;
+
+        private Snapshot(List<FoodItem> items, Long cachedFrom) {
+            this.items = items;
+            this.cachedFrom = cachedFrom;
+        }
+    }
+
+    public List<FoodItem> getAvailable() {
+        if (mode == Mode.OFF) {
+            misses.incrementAndGet();
+            return foodItemRepository.findAllAvailable();
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            hits.incrementAndGet();
+            return listing(current);
+        }
+        misses.incrementAndGet();
+        reload();
+        current = snapshot;
+        return current != null ? listing(current) : foodItemRepository.findAllAvailable();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodEvent(FoodEvent event) {
+        applyCommitted(List.of(event));
+    }
+
+    // A bulk post rebuilds the snapshot once rather than once per item
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodBatch(FoodBatchEvent event) {
+        applyCommitted(event.asFoodEvents());
+    }
+
+    @Scheduled(fixedDelayString = "${sustainshare.cache.available.refresh-ms:30000}")
+    public void scheduledRefresh() {
+        if (mode == Mode.BOUNDED_STALENESS) {
+            reload();
+        }
+    }
+
+    // Run the NOT EXISTS query once for the newest max-entries items, then replay events that committed while it ran
+    public void reload() {
+        synchronized (this) {
+            if (pendingDuringLoad != null) return; // another thread is already loading
+            pendingDuringLoad = new ArrayList<>();
+        }
+        List<FoodItem> fresh = null;
+        try {
+            fresh = foodItemRepository.findNewestAvailable(PageRequest.of(0, maxEntries + 1));
+        } finally {
+            synchronized (this) {
+                if (fresh != null) {
+                    items.clear();
+                    List<FoodItem> kept = fresh.subList(0, Math.min(fresh.size(), maxEntries));
+                    for (FoodItem f : kept) {
+                        items.put(f.getId(), f);
+                    }
+                    // One row past the cap means older items exist; they and everything below stay in the database
+                    cachedFrom = fresh.size() > maxEntries ? fresh.get(maxEntries).getId() + 1 : null;
+                    for (FoodEvent e : pendingDuringLoad) {
+                        apply(e);
+                    }
+                    loadedAt = System.currentTimeMillis();
+                    reloads.incrementAndGet();
+                    publishSnapshot();
+                }
+                pendingDuringLoad = null;
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        Snapshot current = snapshot;
+        stats.put("mode", mode);
+        stats.put("size", current != null ? current.items.size() : 0);
+        stats.put("maxEntries", maxEntries);
+        stats.put("truncated", current != null && current.cachedFrom != null);
+        stats.put("cachedFromId", current != null ? current.cachedFrom : null);
+        stats.put("tailQueries", tailQueries.get());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("reloads", reloads.get());
+        stats.put("updates", updates.get());
+        stats.put("stalenessMs", loadedAt == 0 ? null : System.currentTimeMillis() - loadedAt);
+        return stats;
+    }
+
+    private void applyCommitted(List<FoodEvent> events) {
+        if (mode == Mode.OFF) return;
+        synchronized (this) {
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.addAll(events);
+            }
+            if (snapshot == null) {
+                return; // nothing loaded; the next load picks up committed state
+            }
+            events.forEach(this::apply);
+            publishSnapshot();
+        }
+        updates.addAndGet(events.size());
+    }
+
+    private void apply(FoodEvent event) {
+        if (event.getType() != FoodEvent.Type.POSTED) {
+            items.remove(event.getFoodItemId());
+        } else if (cachedFrom == null || event.getFoodItemId() >= cachedFrom) {
+            // An older item coming back (e.g. a claim undone) is below the cached range and read from the database
+            items.put(event.getFoodItemId(), event.getFoodItem());
+            while (items.size() > maxEntries) {
+                cachedFrom = items.pollFirstEntry().getKey() + 1;
+            }
+        }
+    }
+
+    private void publishSnapshot() {
+        snapshot = new Snapshot(List.copyOf(items.values()), cachedFrom);
+    }
+
+    // Snapshot alone when it holds everything; else the older items from the database, then the snapshot
+    private List<FoodItem> listing(Snapshot current) {
+        if (current.cachedFrom == null) {
+            return current.items;
+        }
+        tailQueries.incrementAndGet();
+        List<FoodItem> older = foodItemRepository.findAvailableBefore(current.cachedFrom);
+        List<FoodItem> all = new ArrayList<>(older.size() + current.items.size());
+        all.addAll(older);
+        all.addAll(current.items);
+        return all;
+    }
+}
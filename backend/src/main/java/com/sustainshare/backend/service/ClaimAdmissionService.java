@@ -0,0 +1,317 @@
+package com.sustainshare.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sustainshare.backend.event.FoodEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Admission control for POST /api/donations/claim/{foodItemId}, checked before a claim touches the
+// database, so a claim storm on one large posting cannot take every pooled connection:
+//  - items known to be claimed, deleted or expired are answered at once (from committed FoodEvents);
+//  - each charity has a token bucket (rate per second, burst); a claim turned away by the checks after it
+//    (item busy, queue full or timed out) gets its token back, so only admitted claims spend the rate;
+//  - at most max-per-item claims for one item are in flight; the rest would only queue on its row lock;
+//  - at most max-concurrent claims run at all. Others wait in a bounded queue that is served round robin
+//    across charities, so one charity's burst cannot starve the others, for up to queue-timeout-ms.
+//    A queued claim holds its request thread while it waits, so the queue is kept to a fraction of the
+//    servlet worker threads; otherwise a storm would starve every other endpoint of threads instead.
+// Rejections carry a Retry-After; outcomes are counted in sustainshare.claims.admission{outcome}.
+@Service
+public class ClaimAdmissionService {
+
+    private final boolean enabled;
+    private final double ratePerSecond;
+    private final double burst;
+    private final int maxPerItem;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long queueTimeoutMs;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> inFlightByItem = new ConcurrentHashMap<>();
+    private final Set<Long> taken;
+
+    // Guarded by "queue"
+    private final Object queue = new Object();
+    private int inFlight;
+    private int queued;
+    private final Map<Long, ArrayDeque<Waiter>> waitingByCharity = new HashMap<>();
+    private final ArrayDeque<Long> rotation = new ArrayDeque<>();
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final Map<ClaimRejectedException.Reason, AtomicLong> rejected = new ConcurrentHashMap<>();
+
+    public ClaimAdmissionService(MeterRegistry meterRegistry,
+                                 @Value("${sustainshare.claims.admission.enabled:true}") boolean enabled,
+                                 @Value("${sustainshare.claims.admission.rate-per-second:10}") double ratePerSecond,
+                                 @Value("${sustainshare.claims.admission.burst:20}") double burst,
+                                 @Value("${sustainshare.claims.admission.max-per-item:4}") int maxPerItem,
+                                 @Value("${sustainshare.claims.admission.max-concurrent:0}") int maxConcurrent,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                 @Value("${sustainshare.claims.admission.max-queue:0}") int maxQueue,
+                                 @Value("${server.tomcat.threads.max:200}") int workerThreads,
+                                 @Value("${sustainshare.claims.admission.queue-timeout-ms:2000}") long queueTimeoutMs,
+                                 @Value("${sustainshare.claims.admission.taken-cache-size:100000}") int takenCacheSize) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = Math.max(1, burst);
+        this.maxPerItem = maxPerItem;
+        // By default claims may use half the pool; the other half stays free for everything else
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Math.max(1, poolSize / 2);
+        // By default a quarter of the worker threads may wait on the queue, and never more than half
+        int queueCap = Math.max(1, workerThreads / 2);
+        this.maxQueue = maxQueue > 0 ? Math.min(maxQueue, queueCap) : Math.max(1, workerThreads / 4);
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.taken = Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > takenCacheSize;
+            }
+        });
+        Gauge.builder("sustainshare.claims.admission.in_flight", this, s -> s.getInFlight()).register(meterRegistry);
+        Gauge.builder("sustainshare.claims.admission.queued", this, s -> s.getQueued()).register(meterRegistry);
+    }
+
+    // Admits a claim or throws ClaimRejectedException; close the permit when the claim is done
+    public Permit admit(Long charityId, Long foodItemId) {
+        if (!enabled) return () -> { };
+        if (isKnownTaken(foodItemId)) {
+            throw reject(ClaimRejectedException.Reason.TAKEN, "Already claimed or no longer available", 0);
+        }
+        long waitNanos = takeToken(charityId);
+        if (waitNanos > 0) {
+            throw reject(ClaimRejectedException.Reason.RATE_LIMITED, "Too many claims from this charity", seconds(waitNanos));
+        }
+        if (!enterItem(foodItemId)) {
+            refundToken(charityId);
+            throw reject(ClaimRejectedException.Reason.ITEM_BUSY, "Too many claims in progress for this item", 1);
+        }
+        try {
+            acquire(charityId);
+        } catch (RuntimeException e) {
+            leaveItem(foodItemId);
+            refundToken(charityId);
+            throw e;
+        }
+        admitted.incrementAndGet();
+        meterRegistry.counter("sustainshare.claims.admission", "outcome", "admitted").increment();
+        return () -> {
+            release();
+            leaveItem(foodItemId);
+        };
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodEvent(FoodEvent event) {
+        if (event.getType() == FoodEvent.Type.POSTED) return;
+        synchronized (taken) {
+            taken.add(event.getFoodItemId());
+        }
+    }
+
+    // A bucket that has refilled to burst holds no state worth keeping; the next claim starts a new one
+    @Scheduled(fixedDelayString = "${sustainshare.claims.admission.prune-ms:60000}")
+    public void pruneIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(b -> b.isFull(now));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("inFlight", getInFlight());
+        stats.put("queued", getQueued());
+        stats.put("maxQueue", maxQueue);
+        stats.put("trackedCharities", buckets.size());
+        stats.put("admitted", admitted.get());
+        for (ClaimRejectedException.Reason reason : ClaimRejectedException.Reason.values()) {
+            AtomicLong count = rejected.get(reason);
+            stats.put(reason.getOutcome(), count == null ? 0L : count.get());
+        }
+        return stats;
+    }
+
+    private boolean isKnownTaken(Long foodItemId) {
+        synchronized (taken) {
+            return taken.contains(foodItemId);
+        }
+    }
+
+    // 0 if a token was taken, else nanoseconds until the next one
+    private long takeToken(Long charityId) {
+        if (ratePerSecond <= 0) return 0;
+        TokenBucket bucket = buckets.computeIfAbsent(charityId, k -> new TokenBucket(burst));
+        return bucket.take(System.nanoTime());
+    }
+
+    private void refundToken(Long charityId) {
+        TokenBucket bucket = buckets.get(charityId);
+        if (bucket != null) {
+            bucket.refund();
+        }
+    }
+
+    private boolean enterItem(Long foodItemId) {
+        if (maxPerItem <= 0) return true;
+        boolean[] entered = new boolean[1];
+        inFlightByItem.compute(foodItemId, (k, n) -> {
+            int current = n == null ? 0 : n;
+            if (current >= maxPerItem) return n;
+            entered[0] = true;
+            return current + 1;
+        });
+        return entered[0];
+    }
+
+    private void leaveItem(Long foodItemId) {
+        if (maxPerItem <= 0) return;
+        inFlightByItem.computeIfPresent(foodItemId, (k, n) -> n > 1 ? n - 1 : null);
+    }
+
+    private void acquire(Long charityId) {
+        Waiter waiter;
+        synchronized (queue) {
+            if (inFlight < maxConcurrent && queued == 0) {
+                inFlight++;
+                return;
+            }
+            if (queued >= maxQueue) {
+                throw reject(ClaimRejectedException.Reason.QUEUE_FULL, "Claim queue is full", 1);
+            }
+            waiter = new Waiter();
+            waitingByCharity.computeIfAbsent(charityId, k -> {
+                rotation.addLast(k);
+                return new ArrayDeque<>();
+            }).addLast(waiter);
+            queued++;
+        }
+        boolean interrupted = false;
+        try {
+            waiter.latch.await(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        synchronized (queue) {
+            // A release may hand the slot over just as the wait ends
+            if (waiter.granted) {
+                if (interrupted) Thread.currentThread().interrupt();
+                return;
+            }
+            ArrayDeque<Waiter> waiting = waitingByCharity.get(charityId);
+            waiting.remove(waiter);
+            queued--;
+            if (waiting.isEmpty()) {
+                waitingByCharity.remove(charityId);
+                rotation.remove(charityId);
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        throw reject(ClaimRejectedException.Reason.TIMED_OUT, "No claim slot within " + queueTimeoutMs + " ms", 1);
+    }
+
+    // Hands the slot to the oldest waiter of the next charity in turn, or frees it
+    private void release() {
+        synchronized (queue) {
+            Long charityId = rotation.pollFirst();
+            if (charityId == null) {
+                inFlight--;
+                return;
+            }
+            ArrayDeque<Waiter> waiting = waitingByCharity.get(charityId);
+            Waiter next = waiting.pollFirst();
+            queued--;
+            if (waiting.isEmpty()) {
+                waitingByCharity.remove(charityId);
+            } else {
+                rotation.addLast(charityId);
+            }
+            next.granted = true;
+            next.latch.countDown();
+        }
+    }
+
+    private int getInFlight() {
+        synchronized (queue) {
+            return inFlight;
+        }
+    }
+
+    private int getQueued() {
+        synchronized (queue) {
+            return queued;
+        }
+    }
+
+    private ClaimRejectedException reject(ClaimRejectedException.Reason reason, String message, long retryAfterSeconds) {
+        rejected.computeIfAbsent(reason, r -> new AtomicLong()).incrementAndGet();
+        meterRegistry.counter("sustainshare.claims.admission", "outcome", reason.getOutcome()).increment();
+        return new ClaimRejectedException(reason, message, retryAfterSeconds);
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(1, (nanos + 999_999_999) / 1_000_000_000);
+    }
+
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Waiter {
+        final CountDownLatch latch = new CountDownLatch(1);
+        boolean granted; // guarded by the queue lock
+    }
+
+    private final class TokenBucket {
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(double tokens) {
+            this.tokens = tokens;
+        }
+
+        synchronized long take(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / ratePerSecond * 1e9);
+        }
+
+        synchronized void refund() {
+            tokens = Math.min(burst, tokens + 1);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= burst;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerSecond / 1e9);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.sustainshare.backend.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Log-scale histogram of time-to-claim in seconds: four bins per doubling, so a bin spans about 19% and
+// the median read back is within about 10% of the exact one, whatever the range (seconds to weeks).
+// Histograms merge by adding counts, which exact medians cannot do. Stored sparsely as "bin:count,...".
+public final class ClaimDelayHistogram {
+
+    private static final int BINS_PER_DOUBLING = 4;
+
+    private final TreeMap<Integer, Long> counts = new TreeMap<>();
+    private long total;
+
+    public static ClaimDelayHistogram parse(String encoded) {
+        ClaimDelayHistogram h = new ClaimDelayHistogram();
+        if (encoded == null || encoded.isEmpty()) return h;
+        for (String pair : encoded.split(",")) {
+            int colon = pair.indexOf(':');
+            h.add(Integer.parseInt(pair.substring(0, colon)), Long.parseLong(pair.substring(colon + 1)));
+        }
+        return h;
+    }
+
+    public void addSeconds(long seconds) {
+        add(bin(seconds), 1);
+    }
+
+    public void addAll(ClaimDelayHistogram other) {
+        other.counts.forEach(this::add);
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    // Lower median (rank ceil(n/2)), interpolated geometrically inside its bin; null when empty
+    public Long median() {
+        if (total == 0) return null;
+        long rank = (total + 1) / 2;
+        long seen = 0;
+        for (Map.Entry<Integer, Long> e : counts.entrySet()) {
+            if (seen + e.getValue() >= rank) {
+                double within = (rank - seen - 0.5) / e.getValue();
+                return Math.round(Math.pow(2, (e.getKey() + within) / BINS_PER_DOUBLING));
+            }
+            seen += e.getValue();
+        }
+        return null;
+    }
+
+    public String encode() {
+        if (total == 0) return null;
+        StringBuilder sb = new StringBuilder();
+        counts.forEach((bin, count) -> {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(bin).append(':').append(count);
+        });
+        return sb.toString();
+    }
+
+    private void add(int bin, long count) {
+        counts.merge(bin, count, Long::sum);
+        total += count;
+    }
+
+    // Bin 0 holds claims within the first second
+    static int bin(long seconds) {
+        if (seconds <= 1) return 0;
+        return (int) Math.floor(BINS_PER_DOUBLING * Math.log(seconds) / Math.log(2));
+    }
+}
@@ -0,0 +1,37 @@
+package com.sustainshare.backend.service;
+
+// A claim turned away by ClaimAdmissionService before it reached the database
+public class ClaimRejectedException extends RuntimeException {
+
+    public enum Reason {
+        TAKEN("taken"),
+        RATE_LIMITED("rate_limited"),
+        ITEM_BUSY("item_busy"),
+        QUEUE_FULL("queue_full"),
+        TIMED_OUT("timed_out");
+
+        private final String outcome;
+
+        Reason(String outcome) {
+            this.outcome = outcome;
+        }
+
+        public String getOutcome() {
+            return outcome;
+        }
+    }
+
+    private final Reason reason;
+    private final long retryAfterSeconds;
+
+    public ClaimRejectedException(Reason reason, String message, long retryAfterSeconds) {
+        super(message);
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Reason getReason() { return reason; }
+
+    // 0 when retrying cannot help (the item is already taken)
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
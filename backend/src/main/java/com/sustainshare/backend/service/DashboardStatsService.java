@@ -0,0 +1,236 @@
+package com.sustainshare.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+// Dashboard counters kept in memory and adjusted as donations, claims, users and pickups change.
+// Deltas are applied only after the surrounding transaction commits. The counters are rebuilt from
+// the database at startup and reconciled periodically, which also heals any drift from edits made
+// outside the service layer; deltas that commit while a reconcile reads the counts are replayed over them.
+@Service
+public class DashboardStatsService {
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PickupScheduleRepository pickupScheduleRepository;
+
+    // All counters are guarded by "this"
+    private long donations;
+    private long claimedDonations;
+    private long foodQuantity;
+    private long users;
+    private long pickups;
+    private final Map<Long, Long> logsPerDonor = new HashMap<>();
+    private LocalDateTime reconciledAt;
+    private List<Runnable> pendingDuringLoad; // non-null while a reconcile query is in flight
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${sustainshare.stats.reconcile-ms:600000}",
+               initialDelayString = "${sustainshare.stats.reconcile-ms:600000}")
+    public void reconcile() {
+        synchronized (this) {
+            if (pendingDuringLoad != null) return; // another thread is already loading
+            pendingDuringLoad = new ArrayList<>();
+        }
+        try {
+            load();
+        } finally {
+            synchronized (this) {
+                pendingDuringLoad = null;
+            }
+        }
+    }
+
+    private void load() {
+        long donationCount = donationLogRepository.count();
+        long claimedCount = donationLogRepository.countClaimedDonations();
+        long quantity = donationLogRepository.sumFoodQuantity();
+        long userCount = userRepository.count();
+        long pickupCount = pickupScheduleRepository.count();
+        Map<Long, Long> perDonor = new HashMap<>();
+        for (Object[] row : donationLogRepository.countByDonor()) {
+            perDonor.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        synchronized (this) {
+            donations = donationCount;
+            claimedDonations = claimedCount;
+            foodQuantity = quantity;
+            users = userCount;
+            pickups = pickupCount;
+            logsPerDonor.clear();
+            logsPerDonor.putAll(perDonor);
+            reconciledAt = LocalDateTime.now();
+            // Deltas that committed while the counts were read may be missing from them
+            pendingDuringLoad.forEach(Runnable::run);
+        }
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalDonations", donations);
+        stats.put("claimedDonations", claimedDonations);
+        stats.put("totalFoodQuantity", foodQuantity);
+        stats.put("distinctDonors", (long) logsPerDonor.size());
+        stats.put("totalUsers", users);
+        stats.put("totalPickups", pickups);
+        stats.put("reconciledAt", reconciledAt);
+        return stats;
+    }
+
+    public synchronized long getDonationCount() { return donations; }
+    public synchronized long getClaimedCount() { return claimedDonations; }
+    public synchronized long getFoodQuantity() { return foodQuantity; }
+    public synchronized long getDistinctDonorCount() { return logsPerDonor.size(); }
+    public synchronized long getUserCount() { return users; }
+    public synchronized long getPickupCount() { return pickups; }
+
+    public void donationCreated(DonationLog log) {
+        Long donorId = donorId(log);
+        int quantity = quantity(log);
+        boolean claimed = isClaimed(log);
+        afterCommit(() -> apply(() -> {
+            donations++;
+            foodQuantity += quantity;
+            if (claimed) claimedDonations++;
+            if (donorId != null) logsPerDonor.merge(donorId, 1L, Long::sum);
+        }));
+    }
+
+    // Unclaimed logs inserted by a bulk post, one per item
+    public void donationsPosted(List<FoodItem> items) {
+        int quantity = 0;
+        Map<Long, Long> perDonor = new HashMap<>();
+        for (FoodItem f : items) {
+            quantity += f.getQuantity();
+            if (f.getDonorId() != null) perDonor.merge(f.getDonorId(), 1L, Long::sum);
+        }
+        int total = quantity;
+        afterCommit(() -> apply(() -> {
+            donations += items.size();
+            foodQuantity += total;
+            perDonor.forEach((donorId, n) -> logsPerDonor.merge(donorId, n, Long::sum));
+        }));
+    }
+
+    public void donationDeleted(DonationLog log) {
+        Long donorId = donorId(log);
+        int quantity = quantity(log);
+        boolean claimed = isClaimed(log);
+        afterCommit(() -> apply(() -> {
+            donations--;
+            foodQuantity -= quantity;
+            if (claimed) claimedDonations--;
+            if (donorId != null) logsPerDonor.computeIfPresent(donorId, (k, n) -> n > 1 ? n - 1 : null);
+        }));
+    }
+
+    // Call with the claimed state before and after an update to the same log
+    public void donationClaimChanged(boolean wasClaimed, boolean isClaimed) {
+        if (wasClaimed == isClaimed) return;
+        afterCommit(() -> apply(() -> {
+            claimedDonations += isClaimed ? 1 : -1;
+        }));
+    }
+
+    // Generic edit (PUT /api/donations/{id}): donor, food item and claim state may all change
+    public void donationUpdated(Long oldDonorId, int oldQuantity, boolean wasClaimed, DonationLog updated) {
+        Long newDonorId = donorId(updated);
+        int newQuantity = quantity(updated);
+        boolean claimed = isClaimed(updated);
+        afterCommit(() -> apply(() -> {
+            foodQuantity += newQuantity - oldQuantity;
+            if (wasClaimed != claimed) claimedDonations += claimed ? 1 : -1;
+            if (oldDonorId != null && !oldDonorId.equals(newDonorId)) {
+                logsPerDonor.computeIfPresent(oldDonorId, (k, n) -> n > 1 ? n - 1 : null);
+            }
+            if (newDonorId != null && !newDonorId.equals(oldDonorId)) {
+                logsPerDonor.merge(newDonorId, 1L, Long::sum);
+            }
+        }));
+    }
+
+    public void userRegistered() {
+        afterCommit(() -> apply(() -> {
+            users++;
+        }));
+    }
+
+    public void pickupScheduled() {
+        afterCommit(() -> apply(() -> {
+            pickups++;
+        }));
+    }
+
+    // Bulk claims with one pickup each (matching engine)
+    public void donationsClaimedWithPickups(int count) {
+        if (count == 0) return;
+        afterCommit(() -> apply(() -> {
+            claimedDonations += count;
+            pickups += count;
+        }));
+    }
+
+    public void pickupDeleted() {
+        afterCommit(() -> apply(() -> {
+            pickups--;
+        }));
+    }
+
+    // Applies a committed delta, and keeps it for replay over a reconcile that is reading the counts
+    private synchronized void apply(Runnable delta) {
+        delta.run();
+        if (pendingDuringLoad != null) pendingDuringLoad.add(delta);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Long donorId(DonationLog log) {
+        return log.getDonor() != null ? log.getDonor().getId() : null;
+    }
+
+    private static int quantity(DonationLog log) {
+        return log.getFoodItem() != null ? log.getFoodItem().getQuantity() : 0;
+    }
+
+    // Same definition as the available listing: a charity and a claim time
+    private static boolean isClaimed(DonationLog log) {
+        return log.getCharity() != null && log.getClaimedAt() != null;
+    }
+}
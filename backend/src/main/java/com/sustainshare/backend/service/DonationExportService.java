@@ -0,0 +1,206 @@
+package com.sustainshare.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Streams donation history straight from a forward-only JDBC cursor to the response. No entities and no
+// row list: each row is written as it is read, so heap use does not depend on how many rows match.
+// MySQL Connector/J buffers whole results unless a statement asks for row-by-row streaming with a fetch
+// size of Integer.MIN_VALUE, so only this statement streams; other drivers get fetch-size rows per trip.
+@Service
+public class DonationExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String[] COLUMNS = {
+            "id", "donatedAt", "claimedAt", "donorId", "donorName", "charityId", "charityName",
+            "foodItemId", "foodName", "quantity", "pickupLocation"
+    };
+
+    private static final String SELECT = "SELECT d.id, d.donated_at, d.claimed_at, d.donor_id, du.name, "
+            + "d.charity_id, cu.name, d.food_item_id, f.name, f.quantity, f.pickup_location "
+            + "FROM donation_log d "
+            + "LEFT JOIN users du ON du.id = d.donor_id "
+            + "LEFT JOIN users cu ON cu.id = d.charity_id "
+            + "LEFT JOIN food_item f ON f.id = d.food_item_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${sustainshare.export.fetch-size:1000}")
+    private int fetchSize;
+
+    // Writes every donation with donated_at in [from, to) (either bound optional), oldest first
+    public void export(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>();
+        String glue = " WHERE ";
+        if (from != null) {
+            sql.append(glue).append("d.donated_at >= ?");
+            args.add(Timestamp.valueOf(from));
+            glue = " AND ";
+        }
+        if (to != null) {
+            sql.append(glue).append("d.donated_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY d.id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        rowWriter.start();
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                boolean mysql = "MySQL".equalsIgnoreCase(con.getMetaData().getDatabaseProductName());
+                ps.setFetchSize(mysql ? Integer.MIN_VALUE : fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            }, rs -> {
+                try {
+                    rowWriter.row(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // client went away; JdbcTemplate closes the cursor
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rowWriter.finish();
+        writer.flush();
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+        void row(ResultSet rs) throws SQLException, IOException;
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= COLUMNS.length; i++) {
+                if (i > 1) writer.write(',');
+                Object value = value(rs, i);
+                if (value != null) writeField(value.toString());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        // RFC 4180: quote fields containing separators, quotes or line breaks
+        private void writeField(String s) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < s.length() && !quote; i++) {
+                char c = s.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(s);
+                return;
+            }
+            writer.write('"');
+            writer.write(s.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator json;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.json = objectMapper.getFactory().createGenerator(writer);
+            // flush() below only hands the row to the buffered writer; the response is not flushed per row
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            for (int i = 1; i <= COLUMNS.length; i++) {
+                Object value = value(rs, i);
+                json.writeFieldName(COLUMNS[i - 1]);
+                if (value == null) {
+                    json.writeNull();
+                } else if (value instanceof Number n) {
+                    json.writeNumber(n.longValue());
+                } else {
+                    json.writeString(value.toString());
+                }
+            }
+            json.writeEndObject();
+            json.flush();
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.close();
+        }
+    }
+
+    // Timestamps as ISO-8601 local date-times, matching the JSON API; ids and quantity as longs
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        switch (column) {
+            case 2, 3 -> {
+                Timestamp ts = rs.getTimestamp(column);
+                return ts != null ? ts.toLocalDateTime() : null;
+            }
+            case 1, 4, 6, 8, 10 -> {
+                long v = rs.getLong(column);
+                return rs.wasNull() ? null : v;
+            }
+            default -> {
+                return rs.getString(column);
+            }
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package com.sustainshare.backend.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import com.sustainshare.backend.controller.dto.CursorPage;
+import com.sustainshare.backend.controller.dto.DonationLogView;
+import com.sustainshare.backend.event.FoodEvent;
 import com.sustainshare.backend.model.DonationLog;
 import com.sustainshare.backend.model.FoodItem;
-import com.sustainshare.backend.model.User;
 import com.sustainshare.backend.repository.DonationLogRepository;
 import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.ListingSpecifications;
 import com.sustainshare.backend.repository.UserRepository;
 
 @Service
@@ -26,23 +40,69 @@ public class DonationLogService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    // CONDITIONAL: single atomic UPDATE decides the winner; LOCKING: SELECT ... FOR UPDATE then save
+    public enum ClaimMode { CONDITIONAL, LOCKING }
+
+    @Value("${sustainshare.claim.mode:LOCKING}")
+    private ClaimMode claimMode;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    public DonationLogService(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
     // Save new donation entry
+    @Transactional
     public DonationLog createDonationLog(DonationLog log) {
-        return donationLogRepository.save(log);
+        DonationLog saved = donationLogRepository.save(log);
+        dashboardStatsService.donationCreated(saved);
+        leaderboardService.donationCreated(saved);
+        publishIfClaimed(false, saved);
+        return saved;
     }
 
     // Update donation entry
+    @Transactional
     public DonationLog updateDonationLog(Long id, DonationLog log) {
         Optional<DonationLog> existingLog = donationLogRepository.findById(id);
         if (existingLog.isPresent()) {
             DonationLog updatedLog = existingLog.get();
+            Long oldDonorId = updatedLog.getDonor() != null ? updatedLog.getDonor().getId() : null;
+            int oldQuantity = updatedLog.getFoodItem() != null ? updatedLog.getFoodItem().getQuantity() : 0;
+            boolean wasTaken = isClaimed(updatedLog);
+            DonationLog before = new DonationLog(updatedLog.getDonor(), updatedLog.getCharity(), updatedLog.getFoodItem(),
+                    updatedLog.getDonatedAt());
+            before.setClaimedAt(updatedLog.getClaimedAt());
             if (log.getDonor() != null) updatedLog.setDonor(log.getDonor());
             if (log.getCharity() != null) updatedLog.setCharity(log.getCharity());
             if (log.getFoodItem() != null) updatedLog.setFoodItem(log.getFoodItem());
             if (log.getDonatedAt() != null) updatedLog.setDonatedAt(log.getDonatedAt());
             if (log.getClaimedAt() != null) updatedLog.setClaimedAt(log.getClaimedAt());
             // Removed pickupLocation update as DonationLog model does not have this field
-            return donationLogRepository.save(updatedLog);
+            DonationLog saved = donationLogRepository.save(updatedLog);
+            dashboardStatsService.donationUpdated(oldDonorId, oldQuantity, wasTaken, saved);
+            leaderboardService.donationUpdated(before, saved);
+            publishIfClaimed(wasTaken, saved);
+            return saved;
         }
         return null;
     }
@@ -52,61 +112,195 @@ public class DonationLogService {
         return donationLogRepository.findAll();
     }
 
+    // Same rows as getAllDonations, as flat views from one joined query
+    @Transactional(readOnly = true)
+    public List<DonationLogView> getAllDonationViews() {
+        return donationLogRepository.findViews(null, 0);
+    }
+
+    // Keyset page, newest first, with optional donor/charity/claimed/date filters
+    @Transactional(readOnly = true)
+    public CursorPage<DonationLogView> getDonationsPage(Long donorId, Long charityId, Boolean claimed,
+                                                    LocalDateTime from, LocalDateTime to,
+                                                    Long cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        Specification<DonationLog> spec = Specification.allOf(
+                ListingSpecifications.idBefore(cursor),
+                ListingSpecifications.donationDonor(donorId),
+                ListingSpecifications.donationCharity(charityId),
+                ListingSpecifications.donationClaimed(claimed),
+                ListingSpecifications.donatedBetween(from, to));
+        List<DonationLogView> rows = donationLogRepository.findViews(spec, size + 1);
+        return CursorPage.of(rows, size, DonationLogView::getId);
+    }
+
     // Get by ID
     public Optional<DonationLog> getDonationById(Long id) {
         return donationLogRepository.findById(id);
     }
 
     // Delete
+    @Transactional
     public void deleteDonation(Long id) {
-        donationLogRepository.deleteById(id);
+        donationLogRepository.findById(id).ifPresent(log -> {
+            donationLogRepository.delete(log);
+            dashboardStatsService.donationDeleted(log);
+            leaderboardService.donationDeleted(log);
+        });
     }
 
-    // New method to get total donations count
+    // Counters below are maintained by DashboardStatsService, no table scan per call
     public long getTotalDonationsCount() {
-        return donationLogRepository.count();
+        return dashboardStatsService.getDonationCount();
     }
 
-    // New method to get claimed food count (donations with non-null claimedAt)
+    // Claimed food count (donations with non-null claimedAt)
     public long getClaimedFoodCount() {
-        return donationLogRepository.countClaimedDonations();
+        return dashboardStatsService.getClaimedCount();
     }
 
-    // New method to get total food quantity posted by donors
+    // Total food quantity posted by donors
     public long getTotalFoodQuantity() {
-        return donationLogRepository.sumFoodQuantity();
+        return dashboardStatsService.getFoodQuantity();
+    }
+
+    public long getDistinctDonorCount() {
+        return dashboardStatsService.getDistinctDonorCount();
     }
 
     // Claim a food item by a charity, ensuring only one can claim
-    @Transactional
     public Optional<DonationLog> claimFood(Long foodItemId, Long charityId) {
+        return claimFood(foodItemId, charityId, claimMode);
+    }
+
+    public Optional<DonationLog> claimFood(Long foodItemId, Long charityId, ClaimMode mode) {
+        if (mode == ClaimMode.LOCKING) {
+            return transactionTemplate.execute(status -> afterClaim(claimWithLock(foodItemId, charityId, mode), charityId));
+        }
+        // The conditional UPDATE, the counters and the CLAIMED event share one transaction, so a claim is
+        // never visible without its side effects. Losers get 0 rows back and, on the same connection, one
+        // index probe tells "already claimed" apart from "no log yet" and from an unknown charity or an
+        // expired item.
+        return transactionTemplate.execute(status -> {
+            long start = System.nanoTime();
+            LocalDateTime claimedAt = LocalDateTime.now();
+            int updated = donationLogRepository.claimIfUnclaimed(foodItemId, charityId, claimedAt);
+            recordLockWait(ClaimMode.CONDITIONAL, start);
+            if (updated == 0) {
+                List<Boolean> claimed = donationLogRepository.findClaimStatesByFoodItemId(foodItemId);
+                if (claimed.isEmpty()) {
+                    // Item was posted without a donation log: creating one needs the locking path
+                    return afterClaim(claimWithLock(foodItemId, charityId, mode), charityId);
+                }
+                if (claimed.contains(Boolean.TRUE)) {
+                    recordOutcome(mode, "lost");
+                    return Optional.<DonationLog>empty();
+                }
+                return invalid(mode);
+            }
+            recordOutcome(mode, "won");
+            dashboardStatsService.donationClaimChanged(false, true);
+            Optional<DonationLog> won = donationLogRepository.findClaimedBy(foodItemId, charityId, PageRequest.of(0, 1))
+                    .stream().findFirst();
+            won.ifPresent(log -> leaderboardService.donationClaimed(charityId, quantityOf(log), claimedAt));
+            return afterClaim(won, charityId);
+        });
+    }
+
+    private Optional<DonationLog> afterClaim(Optional<DonationLog> claimed, Long charityId) {
+        claimed.ifPresent(saved -> {
+            notificationService.notifyFoodClaimed(saved);
+            eventPublisher.publishEvent(FoodEvent.claimed(saved.getFoodItem(), charityId));
+        });
+        return claimed;
+    }
+
+    // A log written through POST/PUT that claims its item leaves the listings like a claim through claimFood
+    private void publishIfClaimed(boolean wasClaimed, DonationLog saved) {
+        if (wasClaimed || !isClaimed(saved) || saved.getFoodItem() == null) return;
+        foodItemRepository.findById(saved.getFoodItem().getId())
+                .ifPresent(food -> eventPublisher.publishEvent(FoodEvent.claimed(food, saved.getCharity().getId())));
+    }
+
+    // Same definition as FoodItemRepository.findAllAvailable: a charity and a claim time
+    private static boolean isClaimed(DonationLog log) {
+        return log.getClaimedAt() != null && log.getCharity() != null;
+    }
+
+    // Outcomes are counted under the mode the claim was requested with, also when CONDITIONAL falls back here
+    private Optional<DonationLog> claimWithLock(Long foodItemId, Long charityId, ClaimMode mode) {
         // Lock the donation log row for this food item to prevent concurrent claims
+        long start = System.nanoTime();
         Optional<DonationLog> locked = donationLogRepository.findByFoodItemIdForUpdate(foodItemId);
+        recordLockWait(ClaimMode.LOCKING, start);
         DonationLog log;
+        boolean created = false;
         if (locked.isPresent()) {
             log = locked.get();
         } else {
             // If no log exists yet, create one with donor inferred from FoodItem.donorId (if present)
             Optional<FoodItem> foodOpt = foodItemRepository.findByIdForUpdate(foodItemId);
-            if (foodOpt.isEmpty()) return Optional.empty();
+            if (foodOpt.isEmpty()) return invalid(mode);
             FoodItem food = foodOpt.get();
-            log = new DonationLog();
-            if (food.getDonorId() != null) {
-                userRepository.findById(food.getDonorId()).ifPresent(log::setDonor);
+            // Another claimant may have created the log while we waited for the food item lock
+            locked = donationLogRepository.findByFoodItemIdForUpdate(foodItemId);
+            if (locked.isPresent()) {
+                log = locked.get();
+            } else {
+                created = true;
+                log = new DonationLog();
+                // Existence comes from the user cache; the association only needs a reference, not a SELECT
+                if (food.getDonorId() != null && userCache.findById(food.getDonorId()).isPresent()) {
+                    log.setDonor(userRepository.getReferenceById(food.getDonorId()));
+                }
+                log.setFoodItem(food);
             }
-            log.setFoodItem(food);
         }
 
-        // If already claimed, do not allow another claim
+        // If already claimed (or expired), do not allow another claim
         if (log.getClaimedAt() != null && log.getCharity() != null) {
+            recordOutcome(mode, "lost");
             return Optional.empty();
         }
+        if (log.getFoodItem() != null && log.getFoodItem().isExpired()) {
+            return invalid(mode);
+        }
 
-        Optional<User> charityOpt = userRepository.findById(charityId);
-        if (charityOpt.isEmpty()) return Optional.empty();
-        log.setCharity(charityOpt.get());
+        if (userCache.findById(charityId).isEmpty()) return invalid(mode);
+        log.setCharity(userRepository.getReferenceById(charityId));
         log.setClaimedAt(java.time.LocalDateTime.now());
         DonationLog saved = donationLogRepository.save(log);
+        if (created) {
+            dashboardStatsService.donationCreated(saved);
+            leaderboardService.donationCreated(saved);
+        } else {
+            dashboardStatsService.donationClaimChanged(false, true);
+            leaderboardService.donationClaimed(charityId, quantityOf(saved), saved.getClaimedAt());
+        }
+        recordOutcome(mode, "won");
         return Optional.of(saved);
     }
+
+    private static int quantityOf(DonationLog log) {
+        return log.getFoodItem() != null ? log.getFoodItem().getQuantity() : 0;
+    }
+
+    private Optional<DonationLog> invalid(ClaimMode mode) {
+        recordOutcome(mode, "invalid");
+        return Optional.empty();
+    }
+
+    // sustainshare.claims{outcome=won|lost|invalid, mode}: lost = someone else got there first
+    private void recordOutcome(ClaimMode mode, String outcome) {
+        meterRegistry.counter("sustainshare.claims", "outcome", outcome, "mode", mode.name()).increment();
+    }
+
+    // Time spent in the statement that takes the row lock (SELECT ... FOR UPDATE or the conditional UPDATE)
+    private void recordLockWait(ClaimMode mode, long startNanos) {
+        Timer.builder("sustainshare.claims.lock.wait")
+                .tag("mode", mode.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
 }
@@ -0,0 +1,334 @@
+package com.sustainshare.backend.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.controller.dto.TimeSeriesPoint;
+import com.sustainshare.backend.model.DonationRollup;
+import com.sustainshare.backend.model.RollupCheckpoint;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.DonationRollupRepository;
+import com.sustainshare.backend.repository.RollupCheckpointRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Hourly and daily rollups of donation_log for the admin charts (sustainshare.rollups.enabled):
+// postings, claims, quantity and time-to-claim per bucket, so a year of history is a few hundred rows.
+//  - A background thread folds new log events into the buckets every tick-ms: everything between the
+//    checkpoint's watermark and now - settle, at most backfill-chunk at a time, one transaction per chunk.
+//    On a fresh database the watermark starts at the oldest log, so the same loop is the backfill; spans
+//    with no logs are skipped in one step.
+//  - Logs whose timestamps land behind the watermark (edits, deletes, back-dated rows, transactions that
+//    committed later than settle) are healed by recomputing the last reconcile-window of days every
+//    reconcile-ms; older history can be recomputed with rebuild().
+// Every write holds the checkpoint row lock, so several instances can run this side by side.
+@Service
+public class DonationRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DonationRollupService.class);
+
+    public enum Granularity { HOUR, DAY, WEEK, MONTH }
+
+    private static final String CHECKPOINT = "donations";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int MAX_CHUNKS_PER_TICK = 200;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private DonationRollupRepository donationRollupRepository;
+
+    @Autowired
+    private RollupCheckpointRepository rollupCheckpointRepository;
+
+    @Value("${sustainshare.rollups.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sustainshare.rollups.tick-ms:5000}")
+    private long tickMs;
+
+    @Value("${sustainshare.rollups.settle:PT10S}")
+    private Duration settle;
+
+    @Value("${sustainshare.rollups.backfill-chunk:P1D}")
+    private Duration backfillChunk;
+
+    @Value("${sustainshare.rollups.reconcile-ms:3600000}")
+    private long reconcileMs;
+
+    @Value("${sustainshare.rollups.reconcile-window:P2D}")
+    private Duration reconcileWindow;
+
+    @Value("${sustainshare.rollups.max-points:5000}")
+    private int maxPoints;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "donation-rollups");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile LocalDateTime watermark;
+    private volatile LocalDateTime reconciledAt;
+    private final AtomicLong chunksApplied = new AtomicLong();
+
+    public DonationRollupService(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("sustainshare.rollups.lag.seconds", this, DonationRollupService::lagSeconds).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        worker.scheduleWithFixedDelay(() -> runQuietly(this::catchUp), 0, tickMs, TimeUnit.MILLISECONDS);
+        worker.scheduleWithFixedDelay(() -> runQuietly(this::reconcile), reconcileMs, reconcileMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // Moves the watermark towards now - settle, at most MAX_CHUNKS_PER_TICK chunks; true once caught up
+    public boolean catchUp() {
+        ensureCheckpoint();
+        for (int i = 0; i < MAX_CHUNKS_PER_TICK; i++) {
+            if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> advance()))) return true;
+        }
+        return false;
+    }
+
+    public int reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        int days = rebuild(now.minus(reconcileWindow), now);
+        reconciledAt = now;
+        return days;
+    }
+
+    // Recomputes the buckets of whole days from..to (rounded out to day boundaries) from the logs, one
+    // day per transaction; stops at the watermark, which the regular sweep owns. Returns the days rebuilt.
+    public int rebuild(LocalDateTime from, LocalDateTime to) {
+        ensureCheckpoint();
+        int days = 0;
+        for (LocalDateTime day = from.truncatedTo(ChronoUnit.DAYS); day.isBefore(to); day = day.plusDays(1)) {
+            LocalDateTime start = day;
+            if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> rebuildDay(start)))) break;
+            days++;
+        }
+        return days;
+    }
+
+    // Buckets overlapping [from, to); week and month points are summed from day rows. Gaps are zero-filled.
+    @Transactional(readOnly = true)
+    public List<TimeSeriesPoint> getTimeSeries(Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        Map<LocalDateTime, Bucket> points = new LinkedHashMap<>();
+        for (LocalDateTime t = align(granularity, from); t.isBefore(to); t = next(granularity, t)) {
+            if (points.size() >= maxPoints) {
+                throw new IllegalArgumentException("Range covers more than " + maxPoints + " buckets; use a coarser granularity");
+            }
+            points.put(t, new Bucket());
+        }
+        if (points.isEmpty()) return List.of();
+        String source = granularity == Granularity.HOUR ? DonationRollup.HOUR : DonationRollup.DAY;
+        for (DonationRollup row : donationRollupRepository.findRange(source, points.keySet().iterator().next(), to)) {
+            Bucket bucket = points.get(align(granularity, row.getBucketStart()));
+            if (bucket == null) continue;
+            bucket.posted += row.getPosted();
+            bucket.claimed += row.getClaimed();
+            bucket.quantity += row.getQuantity();
+            bucket.delays.addAll(ClaimDelayHistogram.parse(row.getClaimDelays()));
+        }
+        List<TimeSeriesPoint> series = new ArrayList<>(points.size());
+        points.forEach((start, b) -> series.add(new TimeSeriesPoint(start, b.posted, b.claimed, b.quantity, b.delays.median())));
+        return series;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("watermark", watermark);
+        stats.put("lagSeconds", watermark == null ? null : (long) lagSeconds());
+        stats.put("chunksApplied", chunksApplied.get());
+        stats.put("reconciledAt", reconciledAt);
+        return stats;
+    }
+
+    // One chunk; true if there is more to fold in after it
+    private Boolean advance() {
+        RollupCheckpoint checkpoint = rollupCheckpointRepository.findForUpdate(CHECKPOINT).orElseThrow();
+        LocalDateTime from = checkpoint.getWatermark();
+        LocalDateTime limit = LocalDateTime.now().minus(settle);
+        watermark = from;
+        if (!from.isBefore(limit)) return false;
+
+        LocalDateTime to = min(from.plus(backfillChunk), limit);
+        List<Object[]> postings = donationLogRepository.findPostingsBetween(from, to);
+        List<Object[]> claims = donationLogRepository.findClaimsBetween(from, to);
+        if (postings.isEmpty() && claims.isEmpty()) {
+            // Nothing here; jump straight to the next log event (or as far as allowed)
+            LocalDateTime next = firstEventFrom(to);
+            to = next == null ? limit : min(next, limit);
+        } else {
+            apply(postings, claims);
+            chunksApplied.incrementAndGet();
+        }
+        checkpoint.setWatermark(to);
+        watermark = to;
+        return to.isBefore(limit);
+    }
+
+    private Boolean rebuildDay(LocalDateTime start) {
+        RollupCheckpoint checkpoint = rollupCheckpointRepository.findForUpdate(CHECKPOINT).orElseThrow();
+        LocalDateTime until = checkpoint.getWatermark();
+        if (!start.isBefore(until)) return false;
+        LocalDateTime end = start.plusDays(1);
+        LocalDateTime upTo = min(end, until);
+        donationRollupRepository.deleteRange(start, end);
+        apply(donationLogRepository.findPostingsBetween(start, upTo), donationLogRepository.findClaimsBetween(start, upTo));
+        return true;
+    }
+
+    // Adds the postings (donatedAt, quantity) and claims (donatedAt, claimedAt) to their hour and day rows
+    private void apply(List<Object[]> postings, List<Object[]> claims) {
+        Map<String, Map<LocalDateTime, Bucket>> deltas = new HashMap<>();
+        for (Object[] row : postings) {
+            LocalDateTime donatedAt = (LocalDateTime) row[0];
+            long quantity = ((Number) row[1]).longValue();
+            for (Bucket b : bucketsFor(deltas, donatedAt)) {
+                b.posted++;
+                b.quantity += quantity;
+            }
+        }
+        for (Object[] row : claims) {
+            LocalDateTime donatedAt = (LocalDateTime) row[0];
+            LocalDateTime claimedAt = (LocalDateTime) row[1];
+            // Logs created by the claim itself have no posting time, so they count as claims without a delay
+            boolean timed = donatedAt != null && !claimedAt.isBefore(donatedAt);
+            for (Bucket b : bucketsFor(deltas, claimedAt)) {
+                b.claimed++;
+                if (timed) b.delays.addSeconds(Duration.between(donatedAt, claimedAt).getSeconds());
+            }
+        }
+        deltas.forEach(this::merge);
+    }
+
+    private void merge(String granularity, Map<LocalDateTime, Bucket> deltas) {
+        Map<LocalDateTime, DonationRollup> rows = new HashMap<>();
+        for (DonationRollup row : donationRollupRepository.findByGranularityAndBucketStartIn(granularity, deltas.keySet())) {
+            rows.put(row.getBucketStart(), row);
+        }
+        List<DonationRollup> changed = new ArrayList<>(deltas.size());
+        deltas.forEach((start, delta) -> {
+            DonationRollup row = rows.computeIfAbsent(start, s -> new DonationRollup(granularity, s));
+            row.setPosted(row.getPosted() + delta.posted);
+            row.setClaimed(row.getClaimed() + delta.claimed);
+            row.setQuantity(row.getQuantity() + delta.quantity);
+            if (!delta.delays.isEmpty()) {
+                ClaimDelayHistogram delays = ClaimDelayHistogram.parse(row.getClaimDelays());
+                delays.addAll(delta.delays);
+                row.setClaimDelays(delays.encode());
+            }
+            changed.add(row);
+        });
+        donationRollupRepository.saveAll(changed);
+    }
+
+    private static List<Bucket> bucketsFor(Map<String, Map<LocalDateTime, Bucket>> deltas, LocalDateTime at) {
+        return List.of(
+                deltas.computeIfAbsent(DonationRollup.HOUR, g -> new HashMap<>())
+                        .computeIfAbsent(at.truncatedTo(ChronoUnit.HOURS), s -> new Bucket()),
+                deltas.computeIfAbsent(DonationRollup.DAY, g -> new HashMap<>())
+                        .computeIfAbsent(at.truncatedTo(ChronoUnit.DAYS), s -> new Bucket()));
+    }
+
+    // The first sweep starts at the oldest log, so history is backfilled by the same loop
+    private void ensureCheckpoint() {
+        if (rollupCheckpointRepository.existsById(CHECKPOINT)) return;
+        LocalDateTime first = firstEventFrom(EPOCH);
+        LocalDateTime start = first != null ? first.truncatedTo(ChronoUnit.HOURS) : LocalDateTime.now().minus(settle);
+        try {
+            transactionTemplate.executeWithoutResult(status -> rollupCheckpointRepository.save(new RollupCheckpoint(CHECKPOINT, start)));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first
+        }
+    }
+
+    private LocalDateTime firstEventFrom(LocalDateTime from) {
+        LocalDateTime donated = donationLogRepository.findFirstDonatedAtFrom(from);
+        LocalDateTime claimed = donationLogRepository.findFirstClaimedAtFrom(from);
+        if (donated == null) return claimed;
+        return claimed == null ? donated : min(donated, claimed);
+    }
+
+    private double lagSeconds() {
+        LocalDateTime w = watermark;
+        return w == null ? Double.NaN : Duration.between(w, LocalDateTime.now()).getSeconds();
+    }
+
+    private static LocalDateTime align(Granularity granularity, LocalDateTime t) {
+        switch (granularity) {
+            case HOUR: return t.truncatedTo(ChronoUnit.HOURS);
+            case DAY: return t.truncatedTo(ChronoUnit.DAYS);
+            case WEEK: return t.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            default: return t.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        }
+    }
+
+    private static LocalDateTime next(Granularity granularity, LocalDateTime t) {
+        switch (granularity) {
+            case HOUR: return t.plusHours(1);
+            case DAY: return t.plusDays(1);
+            case WEEK: return t.plusWeeks(1);
+            default: return t.plusMonths(1);
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static void runQuietly(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            // Database hiccup: the watermark did not move, so the next run picks up where this one stopped
+            log.warn("Donation rollup run failed", e);
+        }
+    }
+
+    private static final class Bucket {
+        long posted;
+        long claimed;
+        long quantity;
+        final ClaimDelayHistogram delays = new ClaimDelayHistogram();
+    }
+}
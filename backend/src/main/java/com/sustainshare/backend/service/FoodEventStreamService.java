@@ -0,0 +1,312 @@
+package com.sustainshare.backend.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sustainshare.backend.controller.dto.FoodEventItem;
+import com.sustainshare.backend.event.FoodBatchEvent;
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.FoodItem;
+
+import jakarta.annotation.PreDestroy;
+
+// Pushes committed food events to SSE subscribers.
+// Connections are async servlet requests, so idle subscribers hold no thread; a small
+// sender pool drains each subscriber's bounded buffer only while there is something to write.
+@Service
+public class FoodEventStreamService {
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMs;
+    private final ExecutorService senders;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Recent events kept for Last-Event-ID resume; guarded by "this"
+    private final Deque<StreamEvent> replay = new ArrayDeque<>();
+    private long lastSequence = 0;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+
+    public FoodEventStreamService(ObjectMapper objectMapper,
+                                  @Value("${sustainshare.stream.buffer-size:256}") int bufferSize,
+                                  @Value("${sustainshare.stream.replay-size:1024}") int replaySize,
+                                  @Value("${sustainshare.stream.timeout-ms:1800000}") long timeoutMs,
+                                  @Value("${sustainshare.stream.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "sse-sender-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Register a subscriber and replay anything it missed since lastEventId. Ids are "<epoch>-<sequence>";
+    // the epoch changes on every start, so an id from before a restart (or one this instance never issued)
+    // gets a resync rather than a replay of unrelated events.
+    public SseEmitter subscribe(Long userId, String role, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, userId, role, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(subscriber, parseSequence(lastEventId));
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    // Queues the missed events, or a lone resync if they are no longer all in the replay window or would
+    // not fit in the subscriber's buffer
+    private void replay(Subscriber subscriber, long after) {
+        StreamEvent oldest = replay.peekFirst();
+        long oldestKept = oldest != null ? oldest.sequence : lastSequence + 1;
+        if (after < 0 || after > lastSequence || after < oldestKept - 1) {
+            subscriber.queue.offer(StreamEvent.RESYNC);
+            return;
+        }
+        List<StreamEvent> missed = new ArrayList<>();
+        for (StreamEvent e : replay) {
+            if (e.sequence > after && subscriber.accepts(e)) {
+                missed.add(e);
+            }
+        }
+        if (missed.size() > subscriber.queue.remainingCapacity()) {
+            subscriber.queue.offer(StreamEvent.RESYNC);
+            return;
+        }
+        subscriber.queue.addAll(missed);
+    }
+
+    // The sequence part of an id this instance issued, or -1
+    private long parseSequence(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !epoch.equals(eventId.substring(0, dash))) return -1;
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodEvent(FoodEvent event) {
+        publish(event.getType().getEventName(), event.getDonorId(), toJson(event));
+    }
+
+    // A bulk post goes out as one food_posted_batch frame per donor rather than one frame per item,
+    // so a large batch cannot overflow subscriber buffers
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodBatch(FoodBatchEvent event) {
+        Map<Long, List<FoodItem>> byDonor = new LinkedHashMap<>();
+        for (FoodItem food : event.getPosted()) {
+            byDonor.computeIfAbsent(food.getDonorId(), k -> new ArrayList<>()).add(food);
+        }
+        byDonor.forEach((donorId, items) -> publish("food_posted_batch", donorId, toJson(donorId, items)));
+    }
+
+    // Comment lines keep idle connections open through proxies and surface dead ones
+    @Scheduled(fixedDelayString = "${sustainshare.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber s : subscribers) {
+            if (s.queue.offer(StreamEvent.HEARTBEAT)) {
+                schedule(s);
+            }
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("subscribers", (long) subscribers.size());
+        stats.put("published", published.get());
+        stats.put("resyncs", resyncs.get());
+        stats.put("lastEventId", lastSequence());
+        return stats;
+    }
+
+    private synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber s : subscribers) {
+            close(s);
+        }
+        senders.shutdownNow();
+    }
+
+    private void publish(String name, Long donorId, String json) {
+        synchronized (this) {
+            StreamEvent streamEvent = new StreamEvent(++lastSequence, name, donorId, json);
+            replay.addLast(streamEvent);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            for (Subscriber s : subscribers) {
+                if (!s.accepts(streamEvent)) continue;
+                if (!s.queue.offer(streamEvent)) {
+                    // Slow consumer: rather than buffer without bound, replace its backlog with a resync
+                    // so it refetches the listing; the connection stays open
+                    resyncs.incrementAndGet();
+                    s.queue.clear();
+                    s.queue.offer(StreamEvent.RESYNC);
+                }
+                schedule(s);
+            }
+        }
+        published.incrementAndGet();
+    }
+
+    private void schedule(Subscriber s) {
+        if (s.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(s));
+        }
+    }
+
+    private void drain(Subscriber s) {
+        try {
+            StreamEvent e;
+            while ((e = s.queue.poll()) != null) {
+                if (e == StreamEvent.HEARTBEAT) {
+                    s.emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    SseEmitter.SseEventBuilder builder = SseEmitter.event().name(e.name).data(e.json, MediaType.APPLICATION_JSON);
+                    if (e.sequence > 0) {
+                        builder.id(epoch + "-" + e.sequence);
+                    }
+                    s.emitter.send(builder);
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away
+            subscribers.remove(s);
+            s.queue.clear();
+        } finally {
+            s.sending.set(false);
+            if (!s.queue.isEmpty() && subscribers.contains(s)) {
+                schedule(s);
+            }
+        }
+    }
+
+    private void close(Subscriber s) {
+        subscribers.remove(s);
+        s.queue.clear();
+        try {
+            s.emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // Already completed
+        }
+    }
+
+    private String toJson(FoodEvent event) {
+        FoodItem food = event.getFoodItem();
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("foodItemId", food.getId());
+        payload.put("donorId", food.getDonorId());
+        payload.put("charityId", event.getCharityId());
+        payload.put("occurredAt", event.getOccurredAt());
+        if (event.getType() != FoodEvent.Type.DELETED) {
+            payload.put("foodItem", FoodEventItem.of(food));
+        }
+        return write(payload);
+    }
+
+    private String toJson(Long donorId, List<FoodItem> items) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("donorId", donorId);
+        payload.put("occurredAt", LocalDateTime.now());
+        payload.put("foodItems", items.stream().map(FoodEventItem::of).toList());
+        return write(payload);
+    }
+
+    private String write(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize food event", e);
+        }
+    }
+
+    private static final class StreamEvent {
+        static final StreamEvent HEARTBEAT = new StreamEvent(0, "heartbeat", null, null);
+        static final StreamEvent RESYNC = new StreamEvent(0, "resync", null, "{}");
+
+        final long sequence;
+        final String name;
+        final Long donorId;
+        final String json; // serialized once and shared by every subscriber
+
+        StreamEvent(long sequence, String name, Long donorId, String json) {
+            this.sequence = sequence;
+            this.name = name;
+            this.donorId = donorId;
+            this.json = json;
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Long userId;
+        final String role;
+        final BlockingQueue<StreamEvent> queue;
+        final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Long userId, String role, int bufferSize) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.role = role;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        // Charities, admins and anonymous listeners see every listing change; donors only hear about their own
+        // postings. Removals go to everyone, so no listing keeps an item that is gone.
+        boolean accepts(StreamEvent e) {
+            if (!"Donor".equals(role) || isRemoval(e)) return true;
+            return userId != null && userId.equals(e.donorId);
+        }
+
+        private static boolean isRemoval(StreamEvent e) {
+            return "food_claimed".equals(e.name) || "food_expired".equals(e.name) || "food_deleted".equals(e.name);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.sustainshare.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.event.FoodBatchEvent;
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.repository.FoodItemRepository;
+
+// Expiration engine for available food. Pending expirations live in a skip list ordered by
+// (expiresAt, id): each tick pops only the entries that are due, so the cost per tick is the number
+// of items expiring plus O(log n), and the same ordered index answers "expiring within X".
+// Nothing here scans the food_item table after the startup load.
+@Service
+public class FoodExpiryService {
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${sustainshare.expiry.batch-size:500}")
+    private int batchSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentSkipListMap<ExpiryKey, FoodItem> pending = new ConcurrentSkipListMap<>();
+    private final Map<Long, ExpiryKey> keysById = new ConcurrentHashMap<>();
+
+    public FoodExpiryService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        backfillTypedExpiry();
+        for (FoodItem f : foodItemRepository.findAvailableWithExpiry()) {
+            schedule(f);
+        }
+        expireDue();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodEvent(FoodEvent event) {
+        if (event.getType() == FoodEvent.Type.POSTED) {
+            schedule(event.getFoodItem());
+        } else {
+            cancel(event.getFoodItemId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodBatch(FoodBatchEvent event) {
+        event.getPosted().forEach(this::schedule);
+    }
+
+    @Scheduled(fixedDelayString = "${sustainshare.expiry.tick-ms:1000}")
+    public void expireDue() {
+        ExpiryKey now = new ExpiryKey(LocalDateTime.now(), Long.MAX_VALUE);
+        while (true) {
+            List<FoodItem> due = new ArrayList<>();
+            for (Map.Entry<ExpiryKey, FoodItem> e : pending.headMap(now, true).entrySet()) {
+                due.add(e.getValue());
+                if (due.size() >= batchSize) break;
+            }
+            if (due.isEmpty()) return;
+            retire(due);
+            if (due.size() < batchSize) return;
+        }
+    }
+
+    // Available items expiring between now and now + within, soonest first
+    public List<FoodItem> getExpiringWithin(Duration within, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        NavigableMap<ExpiryKey, FoodItem> window = pending.subMap(
+                new ExpiryKey(now, Long.MIN_VALUE), true,
+                new ExpiryKey(now.plus(within), Long.MAX_VALUE), true);
+        List<FoodItem> result = new ArrayList<>();
+        for (FoodItem f : window.values()) {
+            if (result.size() >= limit) break;
+            result.add(f);
+        }
+        return result;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    // One UPDATE ... WHERE id IN (...) per batch; listeners (cache, geo index, SSE) hear about it after commit.
+    // Only rows the UPDATE actually flipped are announced: an item claimed since it was scheduled stays claimed.
+    // The rows are locked first, so no other instance flips them in between. Events carry copies, since the
+    // scheduled instances are shared with the listing cache.
+    private void retire(List<FoodItem> due) {
+        List<Long> ids = new ArrayList<>(due.size());
+        for (FoodItem f : due) {
+            ids.add(f.getId());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> unexpired = foodItemRepository.lockUnexpired(ids);
+            if (unexpired.isEmpty()) return;
+            int flipped = foodItemRepository.markExpired(unexpired);
+            Set<Long> expired = new HashSet<>(flipped == unexpired.size() ? unexpired : foodItemRepository.findExpiredIds(unexpired));
+            for (FoodItem f : due) {
+                if (expired.contains(f.getId())) {
+                    eventPublisher.publishEvent(FoodEvent.expired(expiredCopy(f)));
+                }
+            }
+        });
+        for (FoodItem f : due) {
+            cancel(f.getId()); // also covers the listener running before this point
+        }
+    }
+
+    private static FoodItem expiredCopy(FoodItem f) {
+        FoodItem copy = new FoodItem(f.getName(), f.getQuantity(), f.getPickupLocation(), f.getExpiryTime(), f.getDonorId());
+        copy.setId(f.getId());
+        copy.setExpiresAt(f.getExpiresAt());
+        copy.setDonorPhone(f.getDonorPhone());
+        copy.setCategory(f.getCategory());
+        copy.setLatitude(f.getLatitude());
+        copy.setLongitude(f.getLongitude());
+        copy.setExpired(true);
+        return copy;
+    }
+
+    private void schedule(FoodItem f) {
+        if (f.getExpiresAt() == null || f.isExpired()) return;
+        ExpiryKey key = new ExpiryKey(f.getExpiresAt(), f.getId());
+        ExpiryKey previous = keysById.put(f.getId(), key);
+        if (previous != null) {
+            pending.remove(previous);
+        }
+        pending.put(key, f);
+    }
+
+    private void cancel(Long foodItemId) {
+        ExpiryKey key = keysById.remove(foodItemId);
+        if (key != null) {
+            pending.remove(key);
+        }
+    }
+
+    // Rows written before expiresAt existed only have the string form; parse them once, in batches
+    private void backfillTypedExpiry() {
+        long lastId = 0;
+        while (true) {
+            List<FoodItem> batch = foodItemRepository.findTop500ByExpiresAtIsNullAndExpiryTimeIsNotNullAndIdGreaterThanOrderByIdAsc(lastId);
+            if (batch.isEmpty()) return;
+            List<FoodItem> parsed = new ArrayList<>();
+            for (FoodItem f : batch) {
+                LocalDateTime expiresAt = FoodItem.parseExpiry(f.getExpiryTime());
+                if (expiresAt != null) {
+                    f.setExpiresAt(expiresAt);
+                    parsed.add(f);
+                }
+                lastId = f.getId();
+            }
+            if (!parsed.isEmpty()) {
+                foodItemRepository.saveAll(parsed);
+            }
+        }
+    }
+
+    private static final class ExpiryKey implements Comparable<ExpiryKey> {
+        final LocalDateTime expiresAt;
+        final long id;
+
+        ExpiryKey(LocalDateTime expiresAt, long id) {
+            this.expiresAt = expiresAt;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(ExpiryKey other) {
+            int c = expiresAt.compareTo(other.expiresAt);
+            return c != 0 ? c : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ExpiryKey k && k.id == id && k.expiresAt.equals(expiresAt);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id) * 31 + expiresAt.hashCode();
+        }
+    }
+}
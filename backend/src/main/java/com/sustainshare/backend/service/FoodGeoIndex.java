@@ -0,0 +1,210 @@
+package com.sustainshare.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sustainshare.backend.controller.dto.NearbyFood;
+import com.sustainshare.backend.event.FoodBatchEvent;
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.repository.FoodItemRepository;
+
+// Uniform lat/lon grid over available food items that have coordinates.
+// A radius query only visits the cells overlapping the search circle's bounding box,
+// so its cost follows the number of items near the caller, not the total number of listings.
+@Component
+public class FoodGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    private final double cellDegrees;
+    private final double maxRadiusKm;
+    private final int lonCells;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Set<Long>> cells = new HashMap<>();
+    private final Map<Long, FoodItem> items = new HashMap<>();
+    private List<FoodEvent> pendingDuringLoad; // non-null while a rebuild query is in flight, guarded by the lock
+
+    public FoodGeoIndex(@Value("${sustainshare.geo.cell-degrees:0.05}") double cellDegrees,
+                        @Value("${sustainshare.geo.max-radius-km:100}") double maxRadiusKm) {
+        this.cellDegrees = cellDegrees;
+        this.maxRadiusKm = maxRadiusKm;
+        this.lonCells = (int) Math.ceil(360.0 / cellDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    // Load current available items, then swap them in and replay events that committed while the query ran,
+    // as in FoodSearchIndex.rebuild. Searches keep using the old grid until the swap. The periodic run picks
+    // up changes that published no event here: other instances' writes, rows edited outside the application.
+    @Scheduled(fixedDelayString = "${sustainshare.geo.reconcile-ms:600000}",
+               initialDelayString = "${sustainshare.geo.reconcile-ms:600000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringLoad != null) return; // another thread is already loading
+            pendingDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<FoodItem> fresh = null;
+        try {
+            fresh = foodItemRepository.findAllAvailable();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (fresh != null) {
+                    cells.clear();
+                    items.clear();
+                    for (FoodItem f : fresh) {
+                        add(f);
+                    }
+                    for (FoodEvent e : pendingDuringLoad) {
+                        apply(e);
+                    }
+                }
+                pendingDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodEvent(FoodEvent event) {
+        applyCommitted(List.of(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodBatch(FoodBatchEvent event) {
+        applyCommitted(event.asFoodEvents());
+    }
+
+    public List<NearbyFood> findNearby(double lat, double lon, double radiusKm, int limit) {
+        double radius = Math.min(radiusKm, maxRadiusKm);
+        double latDelta = radius / KM_PER_DEGREE_LAT;
+        double cosLat = Math.max(Math.cos(Math.toRadians(Math.min(89.0, Math.abs(lat) + latDelta))), 1e-6);
+        double lonDelta = Math.min(180.0, radius / (KM_PER_DEGREE_LAT * cosLat));
+
+        int minLat = latIndex(Math.max(-90.0, lat - latDelta));
+        int maxLat = latIndex(Math.min(90.0, lat + latDelta));
+        int minLon = (int) Math.floor((lon - lonDelta) / cellDegrees);
+        int maxLon = (int) Math.floor((lon + lonDelta) / cellDegrees);
+        if (maxLon - minLon >= lonCells) {
+            maxLon = minLon + lonCells - 1; // circle spans every longitude (near a pole)
+        }
+
+        List<NearbyFood> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int la = minLat; la <= maxLat; la++) {
+                for (int lo = minLon; lo <= maxLon; lo++) {
+                    Set<Long> ids = cells.get(cellKey(la, lo));
+                    if (ids == null) continue;
+                    for (Long id : ids) {
+                        FoodItem f = items.get(id);
+                        double d = distanceKm(lat, lon, f.getLatitude(), f.getLongitude());
+                        if (d <= radius) {
+                            matches.add(new NearbyFood(f, d));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingDouble(NearbyFood::getDistanceKm));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyCommitted(List<FoodEvent> events) {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.addAll(events);
+            }
+            events.forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(FoodEvent event) {
+        remove(event.getFoodItemId());
+        if (event.getType() == FoodEvent.Type.POSTED) {
+            add(event.getFoodItem());
+        }
+    }
+
+    private void add(FoodItem f) {
+        if (f.getLatitude() == null || f.getLongitude() == null) return;
+        items.put(f.getId(), f);
+        cells.computeIfAbsent(cellKey(latIndex(f.getLatitude()), lonIndex(f.getLongitude())), k -> new HashSet<>())
+                .add(f.getId());
+    }
+
+    private void remove(Long id) {
+        FoodItem f = items.remove(id);
+        if (f == null) return;
+        long key = cellKey(latIndex(f.getLatitude()), lonIndex(f.getLongitude()));
+        Set<Long> ids = cells.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) cells.remove(key);
+        }
+    }
+
+    private int latIndex(double lat) {
+        return (int) Math.floor(lat / cellDegrees);
+    }
+
+    private int lonIndex(double lon) {
+        return (int) Math.floor(lon / cellDegrees);
+    }
+
+    // Longitude index wraps at the antimeridian
+    private long cellKey(int latIdx, int lonIdx) {
+        int wrapped = Math.floorMod(lonIdx + lonCells / 2, lonCells) - lonCells / 2;
+        return ((long) latIdx << 32) | (wrapped & 0xffffffffL);
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
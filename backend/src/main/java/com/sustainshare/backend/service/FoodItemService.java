@@ -1,14 +1,34 @@
 package com.sustainshare.backend.service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.sustainshare.backend.controller.dto.BatchItemResult;
+import com.sustainshare.backend.controller.dto.CursorPage;
+import com.sustainshare.backend.controller.dto.FoodSearchHit;
+import com.sustainshare.backend.controller.dto.NearbyFood;
+import com.sustainshare.backend.event.FoodBatchEvent;
+import com.sustainshare.backend.event.FoodEvent;
 import com.sustainshare.backend.model.DonationLog;
 import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
 import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodBatchRepository;
 import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.ListingSpecifications;
+import com.sustainshare.backend.repository.UserRepository;
 
 @Service
 public class FoodItemService {
@@ -19,29 +39,170 @@ public class FoodItemService {
     @Autowired
     private DonationLogRepository donationLogRepository;
 
+    @Autowired
+    private FoodBatchRepository foodBatchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AvailableFoodCache availableFoodCache;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private FoodGeoIndex foodGeoIndex;
+
+    @Autowired
+    private FoodExpiryService foodExpiryService;
+
+    @Autowired
+    private FoodSearchIndex foodSearchIndex;
+
+    @Transactional
     public FoodItem addFood(FoodItem item) {
-        return foodItemRepository.save(item);
+        FoodItem saved = foodItemRepository.save(item);
+        notificationService.notifyFoodPosted(saved);
+        eventPublisher.publishEvent(FoodEvent.posted(saved));
+        return saved;
+    }
+
+    // Bulk post: valid items and their donation logs go in as JDBC batches in one transaction, followed by
+    // one notification batch and one FoodBatchEvent. Invalid items are reported and skipped.
+    @Transactional
+    public List<BatchItemResult> addFoodBatch(List<FoodItem> items) {
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        List<FoodItem> accepted = new ArrayList<>(items.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(items.size());
+        Set<Long> knownDonors = knownDonors(items);
+        for (int i = 0; i < items.size(); i++) {
+            FoodItem item = items.get(i);
+            String error = validate(item);
+            if (error == null && item.getDonorId() != null && !knownDonors.contains(item.getDonorId())) {
+                error = "donorId does not refer to a user";
+            }
+            if (error != null) {
+                results.add(BatchItemResult.rejected(i, error));
+                continue;
+            }
+            item.setId(null);
+            item.setExpired(false);
+            accepted.add(item);
+            acceptedIndexes.add(i);
+            results.add(null);
+        }
+        if (!accepted.isEmpty()) {
+            foodBatchRepository.insertFoodItems(accepted);
+            LocalDateTime donatedAt = LocalDateTime.now();
+            foodBatchRepository.insertDonationLogs(accepted, donatedAt);
+            dashboardStatsService.donationsPosted(accepted);
+            leaderboardService.donationsPosted(accepted, donatedAt);
+            notificationService.notifyFoodPostedBatch(accepted);
+            eventPublisher.publishEvent(new FoodBatchEvent(accepted));
+        }
+        for (int k = 0; k < accepted.size(); k++) {
+            int index = acceptedIndexes.get(k);
+            results.set(index, BatchItemResult.created(index, accepted.get(k).getId()));
+        }
+        return results;
+    }
+
+    // The batch's donor ids that exist, in one query; an unknown one would fail the whole log insert on its foreign key
+    private Set<Long> knownDonors(List<FoodItem> items) {
+        Set<Long> donorIds = new HashSet<>();
+        for (FoodItem item : items) {
+            if (item != null && item.getDonorId() != null) donorIds.add(item.getDonorId());
+        }
+        Set<Long> known = new HashSet<>();
+        if (donorIds.isEmpty()) return known;
+        for (User user : userRepository.findAllById(donorIds)) {
+            known.add(user.getId());
+        }
+        return known;
+    }
+
+    private static String validate(FoodItem item) {
+        if (item == null) return "item is null";
+        if (item.getName() == null || item.getName().isBlank()) return "name is required";
+        if (item.getQuantity() <= 0) return "quantity must be positive";
+        if (item.getExpiryTime() != null && item.getExpiresAt() == null) return "expiryTime is not a valid date-time";
+        if ((item.getLatitude() == null) != (item.getLongitude() == null)) return "latitude and longitude go together";
+        return null;
     }
 
     public List<FoodItem> getAllFoodItems() {
         return foodItemRepository.findAll();
     }
 
+    // Keyset page, newest first; claimed uses the same definition as the available listing
+    @Transactional(readOnly = true)
+    public CursorPage<FoodItem> getFoodItemsPage(Long donorId, Boolean claimed, Long cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        Specification<FoodItem> spec = Specification.allOf(
+                ListingSpecifications.idBefore(cursor),
+                ListingSpecifications.foodDonor(donorId),
+                ListingSpecifications.foodClaimed(claimed));
+        List<FoodItem> rows = foodItemRepository.findBy(spec,
+                q -> q.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(size + 1).all());
+        return CursorPage.of(rows, size, FoodItem::getId);
+    }
+
+    // Served from AvailableFoodCache; a claim or delete removes the item as soon as it commits
     public List<FoodItem> getAvailableFoodItems() {
-        return foodItemRepository.findAllAvailable();
+        return availableFoodCache.getAvailable();
+    }
+
+    public Map<String, Object> getAvailableCacheStats() {
+        return availableFoodCache.getStats();
+    }
+
+    // Closest available items with coordinates, nearest first
+    public List<NearbyFood> findNearby(double lat, double lon, double radiusKm, int limit) {
+        return foodGeoIndex.findNearby(lat, lon, radiusKm, limit);
+    }
+
+    // Full-text match on name and pickup location, best first
+    public List<FoodSearchHit> searchFood(String query, boolean availableOnly, int limit) {
+        return foodSearchIndex.search(query, availableOnly, limit);
+    }
+
+    public Map<String, Object> getSearchIndexStats() {
+        return foodSearchIndex.getStats();
+    }
+
+    // Available items expiring within the given window, soonest first
+    public List<FoodItem> getExpiringFood(Duration within, int limit) {
+        return foodExpiryService.getExpiringWithin(within, limit);
     }
 
     public FoodItem getFoodById(Long id) {
         return foodItemRepository.findById(id).orElse(null);
     }
 
+    @Transactional
     public void deleteFoodItem(Long id) {
+        FoodItem existing = foodItemRepository.findById(id).orElse(null);
         // First delete all related donation logs
         List<DonationLog> relatedLogs = donationLogRepository.findAllByFoodItem_Id(id);
         if (!relatedLogs.isEmpty()) {
             donationLogRepository.deleteAll(relatedLogs);
+            relatedLogs.forEach(dashboardStatsService::donationDeleted);
+            relatedLogs.forEach(leaderboardService::donationDeleted);
         }
         // Then delete the food item
         foodItemRepository.deleteById(id);
+        if (existing != null) {
+            eventPublisher.publishEvent(FoodEvent.deleted(existing));
+        }
     }
 }
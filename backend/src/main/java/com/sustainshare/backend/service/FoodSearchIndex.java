@@ -0,0 +1,496 @@
+package com.sustainshare.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sustainshare.backend.controller.dto.FoodItemSummary;
+import com.sustainshare.backend.controller.dto.FoodSearchHit;
+import com.sustainshare.backend.event.FoodBatchEvent;
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.repository.FoodItemRepository;
+
+// Inverted index over food item names and pickup locations, for /api/food/search. Terms are lowercased,
+// accent-stripped letter/digit runs, kept in a sorted map so a prefix is one subMap() range. Each term's
+// postings are a sorted long[] of (id << 2 | field mask), so listings cost a few bytes per term instead of
+// a boxed map entry. Every query token must match (exactly, as a prefix, or within one edit, two for
+// long tokens, of a term with the same first letter). Scoring is idf-weighted, name over location,
+// exact over prefix over typo. The rarest token drives candidate generation and the other tokens' postings
+// are probed for each candidate, so a query never merges or copies the large postings lists.
+// Claims and expiry only flip an availability flag; deletes drop the postings.
+@Component
+public class FoodSearchIndex {
+
+    private static final int NAME = 1;
+    private static final int LOCATION = 2;
+    private static final int MAX_QUERY_TOKENS = 8;
+    private static final Pattern SPLIT = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // Lowest score first, then oldest, so the heap head is the weakest hit kept so far
+    private static final Comparator<Scored> WEAKEST_FIRST = Comparator
+            .comparingDouble((Scored s) -> s.score)
+            .thenComparingLong(s -> s.doc.summary.getId());
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    private final int minPrefix;
+    private final int maxExpansions;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private List<FoodEvent> pendingDuringLoad; // non-null while a rebuild query is in flight, guarded by the lock
+
+    public FoodSearchIndex(@Value("${sustainshare.search.min-prefix:2}") int minPrefix,
+                           @Value("${sustainshare.search.max-expansions:50}") int maxExpansions) {
+        this.minPrefix = minPrefix;
+        this.maxExpansions = maxExpansions;
+    }
+
+    // One projection query over all items, fed in id order so postings are built by appending. Events that
+    // commit while the query runs are held and replayed over its result, as in AvailableFoodCache.reload.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringLoad != null) return; // another thread is already loading
+            pendingDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Object[]> rows = null;
+        try {
+            rows = new ArrayList<>(foodItemRepository.findSearchRows());
+            rows.sort(Comparator.comparing(row -> (Long) row[0]));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rows != null) {
+                    terms.clear();
+                    docs.clear();
+                    for (Object[] row : rows) {
+                        FoodItemSummary summary = FoodItemSummary.of((Long) row[0], (String) row[1], (Integer) row[2],
+                                (String) row[3], (String) row[4], (Long) row[5]);
+                        add(new Doc(summary, Boolean.TRUE.equals(row[6])));
+                    }
+                    for (FoodEvent e : pendingDuringLoad) {
+                        apply(e);
+                    }
+                }
+                pendingDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodEvent(FoodEvent event) {
+        applyCommitted(List.of(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodBatch(FoodBatchEvent event) {
+        applyCommitted(event.asFoodEvents());
+    }
+
+    private void applyCommitted(List<FoodEvent> events) {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.addAll(events);
+                return;
+            }
+            for (FoodEvent e : events) {
+                apply(e);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void apply(FoodEvent event) {
+        switch (event.getType()) {
+            case POSTED -> {
+                remove(event.getFoodItemId());
+                add(docOf(event.getFoodItem()));
+            }
+            case CLAIMED, EXPIRED -> {
+                Doc doc = docs.get(event.getFoodItemId());
+                if (doc != null) doc.available = false;
+            }
+            case DELETED -> remove(event.getFoodItemId());
+        }
+    }
+
+    // Best matches first (score, then newest); empty when any token matches nothing. The driving token's
+    // postings are walked newest first and the walk stops once "limit" hits reach the best score any
+    // item could get, so a common word costs about "limit" postings rather than all of them.
+    public List<FoodSearchHit> search(String query, boolean availableOnly, int limit) {
+        List<String> tokens = new ArrayList<>(tokenize(query));
+        if (tokens.isEmpty() || limit <= 0) return List.of();
+        if (tokens.size() > MAX_QUERY_TOKENS) tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, WEAKEST_FIRST);
+        lock.readLock().lock();
+        try {
+            List<Map<String, Double>> expansions = new ArrayList<>(tokens.size());
+            int driver = 0;
+            long driverPostings = Long.MAX_VALUE;
+            double bound = 0;
+            for (String token : tokens) {
+                Map<String, Double> expansion = expand(token);
+                if (expansion.isEmpty()) return List.of();
+                long postings = 0;
+                double best = 0;
+                for (Map.Entry<String, Double> e : expansion.entrySet()) {
+                    Postings p = terms.get(e.getKey());
+                    postings += p.size;
+                    best = Math.max(best, e.getValue() * fieldWeight(p.inName > 0 ? NAME : LOCATION));
+                }
+                if (postings < driverPostings) {
+                    driver = expansions.size();
+                    driverPostings = postings;
+                }
+                bound += best;
+                expansions.add(expansion);
+            }
+
+            PriorityQueue<Cursor> cursors = new PriorityQueue<>((a, b) -> Long.compare(b.id(), a.id()));
+            for (Map.Entry<String, Double> e : expansions.get(driver).entrySet()) {
+                cursors.add(new Cursor(terms.get(e.getKey()), e.getValue()));
+            }
+            List<Probe[]> others = new ArrayList<>(expansions.size() - 1);
+            for (int k = 0; k < expansions.size(); k++) {
+                if (k == driver) continue;
+                List<Probe> probes = new ArrayList<>();
+                expansions.get(k).forEach((term, weight) -> probes.add(new Probe(terms.get(term), weight)));
+                others.add(probes.toArray(new Probe[0]));
+            }
+            while (!cursors.isEmpty()) {
+                if (top.size() == limit && top.peek().score >= bound - 1e-9) break;
+                Cursor cursor = cursors.poll();
+                long id = cursor.id();
+                double score = cursor.score();
+                advance(cursor, cursors);
+                while (!cursors.isEmpty() && cursors.peek().id() == id) {
+                    Cursor same = cursors.poll();
+                    score = Math.max(score, same.score());
+                    advance(same, cursors);
+                }
+                for (int k = 0; k < others.size() && score > 0; k++) {
+                    double match = 0;
+                    for (Probe probe : others.get(k)) match = Math.max(match, probe.seek(id));
+                    score = match > 0 ? score + match : 0;
+                }
+                if (score <= 0) continue;
+                Doc doc = docs.get(id);
+                if (availableOnly && !doc.available) continue;
+                top.add(new Scored(doc, score));
+                if (top.size() > limit) top.poll();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Scored> ranked = new ArrayList<>(top);
+        ranked.sort(WEAKEST_FIRST.reversed());
+        List<FoodSearchHit> hits = new ArrayList<>(ranked.size());
+        for (Scored s : ranked) {
+            hits.add(new FoodSearchHit(s.doc.summary, s.doc.available, Math.round(s.score * 1000) / 1000.0));
+        }
+        return hits;
+    }
+
+    private static void advance(Cursor cursor, PriorityQueue<Cursor> cursors) {
+        if (--cursor.pos >= 0) cursors.add(cursor);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("items", docs.size());
+            stats.put("terms", terms.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stats;
+    }
+
+    // term -> match weight x idf, for the exact term, its completions and its near misses
+    private Map<String, Double> expand(String token) {
+        Map<String, Double> expansion = new LinkedHashMap<>();
+        Postings exact = terms.get(token);
+        if (exact != null) {
+            expansion.put(token, idf(exact));
+        }
+        if (token.length() >= minPrefix) {
+            int added = 0;
+            for (Map.Entry<String, Postings> e : terms.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                if (added++ == maxExpansions) break;
+                // The more of the term was typed, the closer the match
+                double typed = (double) token.length() / e.getKey().length();
+                expansion.put(e.getKey(), (0.5 + 0.4 * typed) * idf(e.getValue()));
+            }
+        }
+        int maxEdits = token.length() >= 8 ? 2 : token.length() >= 4 ? 1 : 0;
+        if (exact == null && maxEdits > 0) {
+            String first = token.substring(0, 1);
+            for (Map.Entry<String, Postings> e : terms.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String term = e.getKey();
+                if (Math.abs(term.length() - token.length()) > maxEdits || expansion.containsKey(term)) continue;
+                int edits = editDistance(token, term, maxEdits);
+                if (edits <= maxEdits) {
+                    expansion.put(term, (edits == 1 ? 0.6 : 0.3) * idf(e.getValue()));
+                }
+            }
+        }
+        return expansion;
+    }
+
+    private double idf(Postings postings) {
+        return Math.log(1.0 + (double) docs.size() / postings.size);
+    }
+
+    private static double fieldWeight(int mask) {
+        return (mask & NAME) != 0 ? 2.0 : 1.0;
+    }
+
+    private static Doc docOf(FoodItem f) {
+        FoodItemSummary summary = FoodItemSummary.of(f.getId(), f.getName(), f.getQuantity(), f.getPickupLocation(),
+                f.getExpiryTime(), f.getDonorId());
+        return new Doc(summary, !f.isExpired());
+    }
+
+    private void add(Doc doc) {
+        if (doc.summary == null) return;
+        Map<String, Integer> fields = new LinkedHashMap<>();
+        for (String t : tokenize(doc.summary.getName())) fields.merge(t, NAME, (a, b) -> a | b);
+        for (String t : tokenize(doc.summary.getPickupLocation())) fields.merge(t, LOCATION, (a, b) -> a | b);
+        doc.terms = fields.keySet().toArray(new String[0]);
+        doc.masks = new int[doc.terms.length];
+        for (int i = 0; i < doc.terms.length; i++) {
+            doc.masks[i] = fields.get(doc.terms[i]);
+            terms.computeIfAbsent(doc.terms[i], k -> new Postings()).add(doc.summary.getId(), doc.masks[i]);
+        }
+        docs.put(doc.summary.getId(), doc);
+    }
+
+    private void remove(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) return;
+        for (String term : doc.terms) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) return tokens;
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        for (String t : SPLIT.split(folded)) {
+            if (!t.isEmpty()) tokens.add(t);
+        }
+        return tokens;
+    }
+
+    // Optimal string alignment distance (adjacent swaps count once), giving up past max
+    static int editDistance(String a, String b, int max) {
+        int[] twoBack = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, twoBack[j - 2] + 1);
+                }
+                current[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) return max + 1;
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static final class Doc {
+        final FoodItemSummary summary;
+        boolean available;
+        String[] terms = new String[0];
+        int[] masks = new int[0];
+
+        Doc(FoodItemSummary summary, boolean available) {
+            this.summary = summary;
+            this.available = available;
+        }
+    }
+
+    private static final class Scored {
+        final Doc doc;
+        final double score;
+
+        Scored(Doc doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    // Walks one postings list from its newest entry down
+    private static final class Cursor {
+        final Postings postings;
+        final double weight;
+        int pos;
+
+        Cursor(Postings postings, double weight) {
+            this.postings = postings;
+            this.weight = weight;
+            this.pos = postings.size - 1;
+        }
+
+        long id() {
+            return postings.entries[pos] >>> 2;
+        }
+
+        double score() {
+            return weight * fieldWeight((int) (postings.entries[pos] & 3));
+        }
+    }
+
+    // Membership test of the driver's ids, newest first, in another token's postings: each probe only
+    // moves down its list, galloping, so checking n candidates against m postings is O(n log(m / n))
+    private static final class Probe {
+        final Postings postings;
+        final double weight;
+        int hi;
+
+        Probe(Postings postings, double weight) {
+            this.postings = postings;
+            this.weight = weight;
+            this.hi = postings.size - 1;
+        }
+
+        // Score this term gives the id, 0 if the id is not in it. Ids must come in descending order.
+        double seek(long id) {
+            long[] entries = postings.entries;
+            if (hi < 0) return 0;
+            if ((entries[hi] >>> 2) > id) {
+                int upper = hi;
+                int step = 1;
+                int lo = hi - 1;
+                while (lo >= 0 && (entries[lo] >>> 2) > id) {
+                    upper = lo;
+                    step <<= 1;
+                    lo = upper - step;
+                }
+                // Largest index in [max(lo, 0), upper) whose id is <= the one sought, or -1
+                int a = Math.max(lo, 0);
+                int b = upper - 1;
+                hi = -1;
+                while (a <= b) {
+                    int mid = (a + b) >>> 1;
+                    if ((entries[mid] >>> 2) <= id) {
+                        hi = mid;
+                        a = mid + 1;
+                    } else {
+                        b = mid - 1;
+                    }
+                }
+                if (hi < 0) return 0;
+            }
+            return (entries[hi] >>> 2) == id ? weight * fieldWeight((int) (entries[hi] & 3)) : 0;
+        }
+    }
+
+    // Sorted by id; items arrive in id order, so add() is normally an append. inName counts entries
+    // with the name bit, which caps the score a term can give.
+    private static final class Postings {
+        long[] entries = new long[2];
+        int size;
+        int inName;
+
+        void add(long id, int mask) {
+            long entry = id << 2 | mask;
+            if ((mask & NAME) != 0) inName++;
+            if (size == 0 || (entries[size - 1] >>> 2) < id) {
+                grow();
+                entries[size++] = entry;
+                return;
+            }
+            int pos = find(id);
+            if (pos >= 0) {
+                if ((entries[pos] & NAME) != 0) inName--;
+                entries[pos] = entry;
+                return;
+            }
+            pos = -pos - 1;
+            grow();
+            System.arraycopy(entries, pos, entries, pos + 1, size - pos);
+            entries[pos] = entry;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = find(id);
+            if (pos < 0) return false;
+            if ((entries[pos] & NAME) != 0) inName--;
+            System.arraycopy(entries, pos + 1, entries, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private void grow() {
+            if (size == entries.length) {
+                long[] larger = new long[entries.length * 2];
+                System.arraycopy(entries, 0, larger, 0, size);
+                entries = larger;
+            }
+        }
+
+        private int find(long id) {
+            int lo = 0;
+            int hi = size - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                long midId = entries[mid] >>> 2;
+                if (midId < id) lo = mid + 1;
+                else if (midId > id) hi = mid - 1;
+                else return mid;
+            }
+            return -(lo + 1);
+        }
+    }
+}
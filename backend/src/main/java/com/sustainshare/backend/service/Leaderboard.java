@@ -0,0 +1,84 @@
+package com.sustainshare.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Scores per user kept in rank order: a hash map finds a user's entry, a sorted set orders all entries by
+// count, then quantity, then user id. An update is a remove and re-insert, O(log n); reading the top k
+// walks the head of the set, O(k), however many users have a score. Thread-safe.
+public final class Leaderboard {
+
+    private static final Comparator<Entry> RANK = Comparator.comparingLong((Entry e) -> e.count).reversed()
+            .thenComparing(Comparator.comparingLong((Entry e) -> e.quantity).reversed())
+            .thenComparingLong(e -> e.userId);
+
+    private final Map<Long, Entry> byUser = new HashMap<>();
+    private final TreeSet<Entry> ranked = new TreeSet<>(RANK);
+
+    // Negative deltas undo earlier ones; a user whose count drops to zero leaves the board
+    public synchronized void add(Long userId, long count, long quantity) {
+        Entry previous = byUser.remove(userId);
+        long newCount = count;
+        long newQuantity = quantity;
+        if (previous != null) {
+            ranked.remove(previous);
+            newCount += previous.count;
+            newQuantity += previous.quantity;
+        }
+        if (newCount <= 0) return;
+        Entry entry = new Entry(userId, newCount, newQuantity);
+        byUser.put(userId, entry);
+        ranked.add(entry);
+    }
+
+    public synchronized List<Entry> top(int k) {
+        List<Entry> top = new ArrayList<>(Math.min(k, ranked.size()));
+        Iterator<Entry> it = ranked.iterator();
+        while (top.size() < k && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    public synchronized int size() {
+        return byUser.size();
+    }
+
+    public synchronized void clear() {
+        byUser.clear();
+        ranked.clear();
+    }
+
+    // Replaces every score, e.g. from a rebuild; rows are (userId, count, quantity)
+    public synchronized void reset(List<Object[]> rows) {
+        clear();
+        for (Object[] row : rows) {
+            Entry entry = new Entry((Long) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).longValue());
+            if (entry.count <= 0) continue;
+            byUser.put(entry.userId, entry);
+            ranked.add(entry);
+        }
+    }
+
+    // Immutable, so entries can be handed out while the board keeps changing
+    public static final class Entry {
+        private final long userId;
+        private final long count;
+        private final long quantity;
+
+        Entry(long userId, long count, long quantity) {
+            this.userId = userId;
+            this.count = count;
+            this.quantity = quantity;
+        }
+
+        public long getUserId() { return userId; }
+        public long getCount() { return count; }
+        public long getQuantity() { return quantity; }
+    }
+}
@@ -0,0 +1,260 @@
+package com.sustainshare.backend.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sustainshare.backend.controller.dto.LeaderboardEntry;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.repository.DonationLogRepository;
+
+// Top donors (donation logs posted) and top charities (claims) for the current day, week (from Monday),
+// month and all time, kept in memory and adjusted after each donation, claim or edit commits, like the
+// dashboard counters. A day/week/month board starts empty when its period rolls over. Reads never touch
+// donation_log: the top k come off a sorted Leaderboard and names from the user cache. Rebuilt from the
+// logs at startup; the full reconcile (eight GROUP BY queries) only repeats every reconcile-ms, a day by
+// default, as a safety net for changes made outside the application. Adjustments that commit while it
+// runs are replayed over its result.
+@Service
+public class LeaderboardService {
+
+    public enum Board { DONORS, CHARITIES }
+
+    public enum Window { DAY, WEEK, MONTH, ALL }
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    private final Map<Board, Map<Window, Slot>> slots = new EnumMap<>(Board.class);
+    private List<Runnable> pendingDuringLoad; // non-null while a reconcile query is in flight, guarded by this
+
+    public LeaderboardService() {
+        for (Board board : Board.values()) {
+            Map<Window, Slot> byWindow = new EnumMap<>(Window.class);
+            for (Window window : Window.values()) {
+                byWindow.put(window, new Slot());
+            }
+            slots.put(board, byWindow);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${sustainshare.leaderboard.reconcile-ms:86400000}",
+               initialDelayString = "${sustainshare.leaderboard.reconcile-ms:86400000}")
+    public void reconcile() {
+        synchronized (this) {
+            if (pendingDuringLoad != null) return; // another thread is already loading
+            pendingDuringLoad = new ArrayList<>();
+        }
+        List<Runnable> resets = new ArrayList<>();
+        boolean loaded = false;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (Window window : Window.values()) {
+                LocalDateTime since = periodStart(window, now);
+                List<Object[]> donors = since == null ? donationLogRepository.sumByDonor() : donationLogRepository.sumByDonorSince(since);
+                List<Object[]> charities = since == null ? donationLogRepository.sumClaimsByCharity()
+                        : donationLogRepository.sumClaimsByCharitySince(since);
+                Slot donorSlot = slot(Board.DONORS, window);
+                Slot charitySlot = slot(Board.CHARITIES, window);
+                resets.add(() -> donorSlot.reset(since, donors));
+                resets.add(() -> charitySlot.reset(since, charities));
+            }
+            loaded = true;
+        } finally {
+            synchronized (this) {
+                if (loaded) {
+                    resets.forEach(Runnable::run);
+                    pendingDuringLoad.forEach(Runnable::run);
+                }
+                pendingDuringLoad = null;
+            }
+        }
+    }
+
+    public List<LeaderboardEntry> getTop(Board board, Window window, int k) {
+        List<Leaderboard.Entry> top = slot(board, window).top(periodStart(window, LocalDateTime.now()), k);
+        List<LeaderboardEntry> entries = new ArrayList<>(top.size());
+        for (Leaderboard.Entry e : top) {
+            entries.add(new LeaderboardEntry(entries.size() + 1, e.getUserId(),
+                    userCache.findName(e.getUserId()).orElse(null), e.getCount(), e.getQuantity()));
+        }
+        return entries;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        slots.forEach((board, byWindow) -> byWindow.forEach((window, slot) ->
+                stats.put(board.name().toLowerCase() + "." + window.name().toLowerCase(), slot.size())));
+        return stats;
+    }
+
+    public void donationCreated(DonationLog log) {
+        Change change = new Change(log, 1);
+        afterCommit(() -> apply(change));
+    }
+
+    // An edit through PUT: the old state is taken back out and the new one counted
+    public void donationUpdated(DonationLog before, DonationLog after) {
+        Change removed = new Change(before, -1);
+        Change added = new Change(after, 1);
+        afterCommit(() -> {
+            apply(removed);
+            apply(added);
+        });
+    }
+
+    public void donationDeleted(DonationLog log) {
+        Change change = new Change(log, -1);
+        afterCommit(() -> apply(change));
+    }
+
+    // Logs inserted by a bulk post, all stamped with the same donatedAt
+    public void donationsPosted(List<FoodItem> items, LocalDateTime donatedAt) {
+        Map<Long, long[]> perDonor = new HashMap<>();
+        for (FoodItem f : items) {
+            if (f.getDonorId() == null) continue;
+            long[] sums = perDonor.computeIfAbsent(f.getDonorId(), k -> new long[2]);
+            sums[0]++;
+            sums[1] += f.getQuantity();
+        }
+        afterCommit(() -> perDonor.forEach((donorId, sums) -> record(Board.DONORS, donorId, donatedAt, sums[0], sums[1])));
+    }
+
+    // A claim on an existing log (the donor was counted when the log was created)
+    public void donationClaimed(Long charityId, int quantity, LocalDateTime claimedAt) {
+        if (charityId == null) return;
+        afterCommit(() -> record(Board.CHARITIES, charityId, claimedAt, 1, quantity));
+    }
+
+    private void apply(Change change) {
+        if (change.donorId != null) {
+            record(Board.DONORS, change.donorId, change.donatedAt, change.sign, change.sign * change.quantity);
+        }
+        if (change.charityId != null && change.claimedAt != null) {
+            record(Board.CHARITIES, change.charityId, change.claimedAt, change.sign, change.sign * change.quantity);
+        }
+    }
+
+    // An event without a time only counts all-time; one from an earlier period is not in any current board
+    private void record(Board board, Long userId, LocalDateTime at, long count, long quantity) {
+        synchronized (this) {
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.add(() -> apply(board, userId, at, count, quantity));
+                return;
+            }
+            apply(board, userId, at, count, quantity);
+        }
+    }
+
+    private void apply(Board board, Long userId, LocalDateTime at, long count, long quantity) {
+        for (Window window : Window.values()) {
+            LocalDateTime period = periodStart(window, at);
+            if (window != Window.ALL && period == null) continue;
+            slot(board, window).add(period, userId, count, quantity);
+        }
+    }
+
+    private Slot slot(Board board, Window window) {
+        return slots.get(board).get(window);
+    }
+
+    // Start of the calendar period containing t, in server time; null for all-time (or an unknown time)
+    private static LocalDateTime periodStart(Window window, LocalDateTime t) {
+        if (window == Window.ALL || t == null) return null;
+        LocalDateTime day = t.truncatedTo(ChronoUnit.DAYS);
+        switch (window) {
+            case DAY: return day;
+            case WEEK: return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            default: return day.withDayOfMonth(1);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // One window's board and the period it covers (null for all-time). Scores for a later period replace
+    // the board; scores for an earlier one are dropped.
+    private static final class Slot {
+        private final Leaderboard board = new Leaderboard();
+        private LocalDateTime period;
+
+        synchronized void add(LocalDateTime at, Long userId, long count, long quantity) {
+            if (!roll(at)) return;
+            board.add(userId, count, quantity);
+        }
+
+        synchronized List<Leaderboard.Entry> top(LocalDateTime now, int k) {
+            return roll(now) ? board.top(k) : board.top(0);
+        }
+
+        synchronized void reset(LocalDateTime since, List<Object[]> rows) {
+            period = since;
+            board.reset(rows);
+        }
+
+        int size() {
+            return board.size();
+        }
+
+        // False if the period is already over
+        private boolean roll(LocalDateTime current) {
+            if (current == null || current.equals(period)) return true;
+            if (period != null && current.isBefore(period)) return false;
+            period = current;
+            board.clear();
+            return true;
+        }
+    }
+
+    private static final class Change {
+        final Long donorId;
+        final Long charityId;
+        final LocalDateTime donatedAt;
+        final LocalDateTime claimedAt;
+        final long quantity;
+        final int sign;
+
+        Change(DonationLog log, int sign) {
+            this.donorId = log.getDonor() != null ? log.getDonor().getId() : null;
+            this.charityId = log.getCharity() != null ? log.getCharity().getId() : null;
+            this.claimedAt = log.getClaimedAt();
+            // Logs created by a claim have no donatedAt; they count for the donor at claim time
+            this.donatedAt = log.getDonatedAt() != null ? log.getDonatedAt() : log.getClaimedAt();
+            this.quantity = log.getFoodItem() != null ? log.getFoodItem().getQuantity() : 0;
+            this.sign = sign;
+        }
+    }
+}
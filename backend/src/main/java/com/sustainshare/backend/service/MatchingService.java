@@ -0,0 +1,495 @@
+package com.sustainshare.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.event.FoodBatchEvent;
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.CharityPreference;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.CharityPreferenceRepository;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodBatchRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Opt-in matching engine (sustainshare.matching.enabled). Newly posted items are queued after commit and
+// assigned in batches on a timer: each item goes to the nearest charity whose preferences accept it and
+// that still has capacity today. Preferences live in memory, indexed by category, so matching an item
+// touches only the charities that could take it. A batch is claimed with the same conditional UPDATE as
+// ClaimMode.CONDITIONAL, so an item a charity claimed by hand in the meantime is simply lost to the engine,
+// never claimed twice; items posted one at a time, which have no log yet, get a claimed log inserted under
+// the food row lock instead. Pickups for the winners take free slots from PickupSlotService and are
+// inserted in one JDBC batch in the same transaction. If that transaction fails the batch is queued again.
+@Service
+public class MatchingService {
+
+    private static final String ANY_CATEGORY = "";
+
+    @Autowired
+    private CharityPreferenceRepository preferenceRepository;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FoodBatchRepository foodBatchRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PickupSlotService pickupSlotService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Value("${sustainshare.matching.enabled:false}")
+    private boolean enabled;
+
+    @Value("${sustainshare.matching.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${sustainshare.matching.max-pending:100000}")
+    private int maxPending;
+
+    // Earliest pickup after a match, so the charity has time to react
+    @Value("${sustainshare.matching.pickup-lead:PT30M}")
+    private Duration pickupLead;
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Candidate> byCharity = new HashMap<>();
+    private final Map<String, List<Candidate>> byCategory = new HashMap<>();
+
+    // Claims per charity today, manual ones included (fed by CLAIMED events)
+    private final Map<Long, AtomicInteger> claimedToday = new ConcurrentHashMap<>();
+    private volatile LocalDate usageDay = LocalDate.now();
+
+    private final ConcurrentLinkedQueue<FoodItem> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final AtomicLong matched = new AtomicLong();
+    private final AtomicLong unmatched = new AtomicLong();
+    private final AtomicLong lost = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile double lastBatchMs;
+
+    public MatchingService(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        lock.writeLock().lock();
+        try {
+            byCharity.clear();
+            for (CharityPreference p : preferenceRepository.findByEnabledTrue()) {
+                byCharity.put(p.getCharityId(), new Candidate(p));
+            }
+            reindex();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        resetUsage(LocalDate.now());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodEvent(FoodEvent event) {
+        if (event.getType() == FoodEvent.Type.CLAIMED && event.getCharityId() != null) {
+            claimedToday.computeIfAbsent(event.getCharityId(), k -> new AtomicInteger()).incrementAndGet();
+        } else if (event.getType() == FoodEvent.Type.POSTED) {
+            enqueue(event.getFoodItem());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFoodBatch(FoodBatchEvent event) {
+        event.getPosted().forEach(this::enqueue);
+    }
+
+    @Scheduled(fixedDelayString = "${sustainshare.matching.tick-ms:2000}",
+               initialDelayString = "${sustainshare.matching.tick-ms:2000}")
+    public void scheduledRun() {
+        if (!enabled) return;
+        while (runBatch() == batchSize) {
+            // keep draining while the queue is backed up
+        }
+    }
+
+    // Matches up to batch-size queued items; returns how many were taken off the queue
+    public int runBatch() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(usageDay)) {
+            resetUsage(today);
+        }
+        List<FoodItem> batch = new ArrayList<>(Math.min(batchSize, pendingCount.get()));
+        FoodItem next;
+        while (batch.size() < batchSize && (next = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(next);
+        }
+        if (batch.isEmpty()) return 0;
+
+        long start = System.nanoTime();
+        // Millisecond precision so the stamp read back by claimIfUnclaimed survives DATETIME(3) columns
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Map<Long, Long> charityByFood = new LinkedHashMap<>();
+        Map<Long, PickupSlotService.Slot> slotByFood = new HashMap<>();
+        Map<Long, FoodItem> foods = new HashMap<>();
+        Map<Long, Integer> assignedNow = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (FoodItem f : batch) {
+                if (f.isExpired() || (f.getExpiresAt() != null && !f.getExpiresAt().isAfter(now))) continue;
+                Candidate best = null;
+                double bestDistance = Double.MAX_VALUE;
+                int bestRemaining = 0;
+                LocalDateTime bestPickup = null;
+                for (Candidate c : candidatesFor(f)) {
+                    int remaining = c.dailyCapacity - used(c.charityId) - assignedNow.getOrDefault(c.charityId, 0);
+                    if (remaining <= 0) continue;
+                    double distance = c.distanceKm(f);
+                    if (c.maxDistanceKm != null && !(distance <= c.maxDistanceKm)) continue;
+                    LocalDateTime pickup = c.pickupAfter(now.plus(pickupLead));
+                    if (f.getExpiresAt() != null && pickup.isAfter(f.getExpiresAt())) continue;
+                    // Nearest first (unknown distance sorts last), then most spare capacity, then lowest id
+                    if (best == null || distance < bestDistance
+                            || (distance == bestDistance && (remaining > bestRemaining
+                                || (remaining == bestRemaining && c.charityId < best.charityId)))) {
+                        best = c;
+                        bestDistance = distance;
+                        bestRemaining = remaining;
+                        bestPickup = pickup;
+                    }
+                }
+                PickupSlotService.Slot slot = best != null ? reserveSlot(best, f, bestPickup) : null;
+                if (slot != null) {
+                    charityByFood.put(f.getId(), best.charityId);
+                    slotByFood.put(f.getId(), slot);
+                    foods.put(f.getId(), f);
+                    assignedNow.merge(best.charityId, 1, Integer::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int won = 0;
+        if (!charityByFood.isEmpty()) {
+            List<PickupSchedule> pickups;
+            try {
+                pickups = transactionTemplate.execute(status -> claim(charityByFood, slotByFood, foods, now));
+            } catch (RuntimeException e) {
+                slotByFood.values().forEach(pickupSlotService::release);
+                // Nothing was claimed: the whole batch goes back on the queue for the next tick
+                requeue(batch);
+                throw e;
+            }
+            for (PickupSchedule p : pickups) {
+                pickupSlotService.assign(slotByFood.remove(p.getFoodItem().getId()), p.getId());
+            }
+            slotByFood.values().forEach(pickupSlotService::release); // items lost to manual claims
+            won = pickups.size();
+        }
+        record("matched", won, matched);
+        record("lost", charityByFood.size() - won, lost);
+        record("unmatched", batch.size() - charityByFood.size(), unmatched);
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("sustainshare.matching.batch").register(meterRegistry).record(elapsed, TimeUnit.NANOSECONDS);
+        lastBatchSize = batch.size();
+        lastBatchMs = elapsed / 1_000_000.0;
+        return batch.size();
+    }
+
+    private List<PickupSchedule> claim(Map<Long, Long> charityByFood, Map<Long, PickupSlotService.Slot> slotByFood,
+                                       Map<Long, FoodItem> foods, LocalDateTime now) {
+        Set<Long> won = new HashSet<>(foodBatchRepository.claimIfUnclaimed(charityByFood, now));
+        // Items posted one at a time have no log for the UPDATE to flip; those get a claimed log inserted
+        Map<Long, Long> notUpdated = new HashMap<>(charityByFood);
+        notUpdated.keySet().removeAll(won);
+        Set<Long> created = notUpdated.isEmpty() ? Set.of() : foodBatchRepository.claimWithoutLog(notUpdated, now);
+        won.addAll(created);
+        if (won.isEmpty()) return List.of();
+        Set<Long> charityIds = new HashSet<>();
+        for (Long foodItemId : won) {
+            charityIds.add(charityByFood.get(foodItemId));
+        }
+        Map<Long, User> charities = new HashMap<>();
+        for (User u : userRepository.findAllById(charityIds)) {
+            charities.put(u.getId(), u);
+        }
+        List<PickupSchedule> pickups = new ArrayList<>(won.size());
+        for (Map.Entry<Long, Long> e : charityByFood.entrySet()) {
+            if (!won.contains(e.getKey())) continue;
+            pickups.add(new PickupSchedule(slotByFood.get(e.getKey()).getStart(), "Scheduled",
+                    foods.get(e.getKey()), charities.get(e.getValue())));
+        }
+        foodBatchRepository.insertPickupSchedules(pickups);
+        dashboardStatsService.donationsClaimedWithPickups(pickups.size() - created.size());
+        for (PickupSchedule p : pickups) {
+            if (created.contains(p.getFoodItem().getId())) {
+                // A new log: the donor is counted now, as when a manual claim creates one
+                DonationLog log = new DonationLog(donorOf(p.getFoodItem()), p.getCharity(), p.getFoodItem(), null);
+                log.setClaimedAt(now);
+                dashboardStatsService.donationCreated(log);
+                dashboardStatsService.pickupScheduled();
+                leaderboardService.donationCreated(log);
+            } else {
+                leaderboardService.donationClaimed(p.getCharity().getId(), p.getFoodItem().getQuantity(), now);
+            }
+        }
+        notificationService.notifyFoodMatched(pickups);
+        for (PickupSchedule p : pickups) {
+            eventPublisher.publishEvent(FoodEvent.claimed(p.getFoodItem(), p.getCharity().getId()));
+        }
+        return pickups;
+    }
+
+    private User donorOf(FoodItem food) {
+        return food.getDonorId() == null ? null : userCache.findById(food.getDonorId()).orElse(null);
+    }
+
+    // First free slot for the charity and the item's pickup location that lies in the charity's window and
+    // before expiry, taken right away so later items in the batch see it; null if there is none
+    private PickupSlotService.Slot reserveSlot(Candidate c, FoodItem f, LocalDateTime earliest) {
+        LocalDateTime from = earliest;
+        for (int attempt = 0; attempt < 8; attempt++) {
+            List<LocalDateTime> free = pickupSlotService.nextFreeSlots(c.charityId, f.getPickupLocation(), from, 1);
+            if (free.isEmpty()) return null;
+            LocalDateTime start = c.pickupAfter(free.get(0));
+            if (f.getExpiresAt() != null && start.isAfter(f.getExpiresAt())) return null;
+            if (!start.equals(free.get(0))) {
+                from = start; // outside the window: search again from the next window opening
+                continue;
+            }
+            try {
+                return pickupSlotService.reserve(c.charityId, f.getId(), f.getPickupLocation(), start);
+            } catch (PickupConflictException e) {
+                return null; // the item already has a pickup
+            }
+        }
+        return null;
+    }
+
+    public Optional<CharityPreference> getPreference(Long charityId) {
+        return preferenceRepository.findByCharityId(charityId);
+    }
+
+    // Upsert by charity; the in-memory index follows the saved row
+    public CharityPreference savePreference(Long charityId, CharityPreference preference) {
+        preference.setId(preferenceRepository.findByCharityId(charityId).map(CharityPreference::getId).orElse(null));
+        preference.setCharityId(charityId);
+        CharityPreference saved = preferenceRepository.save(preference);
+        lock.writeLock().lock();
+        try {
+            if (saved.isEnabled()) {
+                byCharity.put(charityId, new Candidate(saved));
+            } else {
+                byCharity.remove(charityId);
+            }
+            reindex();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return saved;
+    }
+
+    public boolean deletePreference(Long charityId) {
+        Optional<CharityPreference> existing = preferenceRepository.findByCharityId(charityId);
+        existing.ifPresent(preferenceRepository::delete);
+        lock.writeLock().lock();
+        try {
+            byCharity.remove(charityId);
+            reindex();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return existing.isPresent();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        lock.readLock().lock();
+        try {
+            stats.put("charities", byCharity.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("pending", pendingCount.get());
+        stats.put("matched", matched.get());
+        stats.put("unmatched", unmatched.get());
+        stats.put("lost", lost.get());
+        stats.put("dropped", dropped.get());
+        stats.put("lastBatchSize", lastBatchSize);
+        stats.put("lastBatchMs", lastBatchMs);
+        return stats;
+    }
+
+    private void enqueue(FoodItem f) {
+        if (!enabled) return;
+        if (pendingCount.incrementAndGet() > maxPending) {
+            // Still listed as available; charities can claim it by hand
+            pendingCount.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        pending.add(f);
+    }
+
+    private void requeue(List<FoodItem> batch) {
+        pending.addAll(batch);
+        pendingCount.addAndGet(batch.size());
+    }
+
+    private List<Candidate> candidatesFor(FoodItem f) {
+        List<Candidate> any = byCategory.getOrDefault(ANY_CATEGORY, List.of());
+        String category = normalize(f.getCategory());
+        if (category.isEmpty()) return any;
+        List<Candidate> specific = byCategory.getOrDefault(category, List.of());
+        if (specific.isEmpty()) return any;
+        if (any.isEmpty()) return specific;
+        List<Candidate> all = new ArrayList<>(specific.size() + any.size());
+        all.addAll(specific);
+        all.addAll(any);
+        return all;
+    }
+
+    private int used(Long charityId) {
+        AtomicInteger count = claimedToday.get(charityId);
+        return count == null ? 0 : count.get();
+    }
+
+    private void resetUsage(LocalDate day) {
+        Map<Long, AtomicInteger> counts = new HashMap<>();
+        for (Object[] row : donationLogRepository.countClaimsByCharitySince(day.atStartOfDay())) {
+            counts.put((Long) row[0], new AtomicInteger(((Number) row[1]).intValue()));
+        }
+        claimedToday.clear();
+        claimedToday.putAll(counts);
+        usageDay = day;
+    }
+
+    // Caller holds the write lock
+    private void reindex() {
+        byCategory.clear();
+        for (Candidate c : byCharity.values()) {
+            if (c.categories.isEmpty()) {
+                byCategory.computeIfAbsent(ANY_CATEGORY, k -> new ArrayList<>()).add(c);
+            }
+            for (String category : c.categories) {
+                byCategory.computeIfAbsent(category, k -> new ArrayList<>()).add(c);
+            }
+        }
+    }
+
+    private void record(String outcome, int count, AtomicLong total) {
+        if (count <= 0) return;
+        total.addAndGet(count);
+        meterRegistry.counter("sustainshare.matching.items", "outcome", outcome).increment(count);
+    }
+
+    private static String normalize(String category) {
+        return category == null ? ANY_CATEGORY : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Immutable snapshot of a preference row, as used by the matcher
+    private static final class Candidate {
+        final long charityId;
+        final int dailyCapacity;
+        final Set<String> categories = new HashSet<>();
+        final Double latitude;
+        final Double longitude;
+        final Double maxDistanceKm;
+        final LocalTime windowStart;
+        final LocalTime windowEnd;
+
+        Candidate(CharityPreference p) {
+            this.charityId = p.getCharityId();
+            this.dailyCapacity = p.getDailyCapacity();
+            if (p.getCategories() != null) {
+                for (String category : p.getCategories().split(",")) {
+                    String normalized = normalize(category);
+                    if (!normalized.isEmpty()) categories.add(normalized);
+                }
+            }
+            this.latitude = p.getLatitude();
+            this.longitude = p.getLongitude();
+            this.maxDistanceKm = p.getMaxDistanceKm();
+            this.windowStart = p.getPickupWindowStart();
+            this.windowEnd = p.getPickupWindowEnd();
+        }
+
+        // Double.MAX_VALUE when either side has no coordinates
+        double distanceKm(FoodItem f) {
+            if (latitude == null || longitude == null || f.getLatitude() == null || f.getLongitude() == null) {
+                return Double.MAX_VALUE;
+            }
+            return FoodGeoIndex.distanceKm(latitude, longitude, f.getLatitude(), f.getLongitude());
+        }
+
+        // Earliest time at or after "earliest" inside the daily window; windows may wrap past midnight
+        LocalDateTime pickupAfter(LocalDateTime earliest) {
+            if (windowStart == null || windowEnd == null) return earliest;
+            LocalTime t = earliest.toLocalTime();
+            boolean inside = windowStart.isBefore(windowEnd)
+                    ? !t.isBefore(windowStart) && t.isBefore(windowEnd)
+                    : !t.isBefore(windowStart) || t.isBefore(windowEnd);
+            if (inside) return earliest;
+            LocalDateTime today = earliest.toLocalDate().atTime(windowStart);
+            return t.isBefore(windowStart) ? today : today.plusDays(1);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.sustainshare.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sustainshare.backend.controller.dto.CursorPage;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.Notification;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.NotificationBatchRepository;
+import com.sustainshare.backend.repository.NotificationRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+@Service
+public class NotificationService {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationBatchRepository notificationBatchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    // Food posted: every charity gets "food_posted", every admin gets "food_donated"
+    @Transactional
+    public void notifyFoodPosted(FoodItem food) {
+        String donorName = null;
+        if (food.getDonorId() != null) {
+            donorName = userCache.findName(food.getDonorId()).orElse(null);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> batch = new ArrayList<>();
+        for (Long charityId : userRepository.findIdsByRole("Charity")) {
+            Notification n = new Notification(charityId, "food_posted",
+                    "New food posted: " + food.getName() + " by " + donorName, now);
+            n.setFoodName(food.getName());
+            n.setDonorName(donorName);
+            batch.add(n);
+        }
+        for (Long adminId : userRepository.findIdsByRole("Admin")) {
+            Notification n = new Notification(adminId, "food_donated",
+                    "Food donated: " + food.getName() + " by " + donorName, now);
+            n.setFoodName(food.getName());
+            n.setDonorName(donorName);
+            batch.add(n);
+        }
+        notificationBatchRepository.insertAll(batch);
+    }
+
+    // Bulk post: one summary per donor for each charity and admin instead of one row per item
+    @Transactional
+    public void notifyFoodPostedBatch(List<FoodItem> items) {
+        Map<Long, List<FoodItem>> byDonor = new LinkedHashMap<>();
+        for (FoodItem f : items) {
+            byDonor.computeIfAbsent(f.getDonorId(), k -> new ArrayList<>()).add(f);
+        }
+        Map<Long, String> donorNames = new HashMap<>();
+        for (Long donorId : byDonor.keySet()) {
+            if (donorId != null) userCache.findName(donorId).ifPresent(name -> donorNames.put(donorId, name));
+        }
+        List<Long> charityIds = userRepository.findIdsByRole("Charity");
+        List<Long> adminIds = userRepository.findIdsByRole("Admin");
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> batch = new ArrayList<>();
+        for (Map.Entry<Long, List<FoodItem>> e : byDonor.entrySet()) {
+            String donorName = donorNames.get(e.getKey());
+            List<FoodItem> posted = e.getValue();
+            String foodName = posted.size() == 1
+                    ? posted.get(0).getName()
+                    : posted.get(0).getName() + " and " + (posted.size() - 1) + " more";
+            for (Long charityId : charityIds) {
+                Notification n = new Notification(charityId, "food_posted",
+                        "New food posted: " + foodName + " by " + donorName, now);
+                n.setFoodName(foodName);
+                n.setDonorName(donorName);
+                batch.add(n);
+            }
+            for (Long adminId : adminIds) {
+                Notification n = new Notification(adminId, "food_donated",
+                        "Food donated: " + foodName + " by " + donorName, now);
+                n.setFoodName(foodName);
+                n.setDonorName(donorName);
+                batch.add(n);
+            }
+        }
+        notificationBatchRepository.insertAll(batch);
+    }
+
+    // Food claimed: the donor and every admin get "food_claimed"
+    @Transactional
+    public void notifyFoodClaimed(DonationLog log) {
+        FoodItem food = log.getFoodItem();
+        String foodName = food != null ? food.getName() : null;
+        // getId() does not initialize a lazy reference; the name comes from the user cache
+        String charityName = log.getCharity() != null ? userCache.findName(log.getCharity().getId()).orElse(null) : null;
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> batch = new ArrayList<>();
+
+        Long donorId = log.getDonor() != null ? log.getDonor().getId() : (food != null ? food.getDonorId() : null);
+        if (donorId != null) {
+            Notification n = new Notification(donorId, "food_claimed",
+                    "Your food '" + foodName + "' was claimed by " + charityName, now);
+            n.setFoodName(foodName);
+            n.setCharityName(charityName);
+            batch.add(n);
+        }
+        for (Long adminId : userRepository.findIdsByRole("Admin")) {
+            Notification n = new Notification(adminId, "food_claimed",
+                    "Food claimed: " + foodName + " by " + charityName, now);
+            n.setFoodName(foodName);
+            n.setCharityName(charityName);
+            batch.add(n);
+        }
+        notificationBatchRepository.insertAll(batch);
+    }
+
+    // Matching engine: per item the donor gets "food_claimed" and the charity "food_matched";
+    // admins get one summary per run instead of one row per item
+    @Transactional
+    public void notifyFoodMatched(List<PickupSchedule> pickups) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> batch = new ArrayList<>();
+        for (PickupSchedule p : pickups) {
+            FoodItem food = p.getFoodItem();
+            String charityName = p.getCharity().getName();
+            if (food.getDonorId() != null) {
+                Notification n = new Notification(food.getDonorId(), "food_claimed",
+                        "Your food '" + food.getName() + "' was claimed by " + charityName, now);
+                n.setFoodName(food.getName());
+                n.setCharityName(charityName);
+                batch.add(n);
+            }
+            Notification n = new Notification(p.getCharity().getId(), "food_matched",
+                    "Matched: " + food.getName() + ", pickup at " + p.getScheduledTime(), now);
+            n.setFoodName(food.getName());
+            n.setCharityName(charityName);
+            batch.add(n);
+        }
+        for (Long adminId : userRepository.findIdsByRole("Admin")) {
+            batch.add(new Notification(adminId, "food_claimed",
+                    "Matching assigned " + pickups.size() + " food items to charities", now));
+        }
+        notificationBatchRepository.insertAll(batch);
+    }
+
+    // New user: every other admin gets "new_user"
+    @Transactional
+    public void notifyUserRegistered(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> batch = new ArrayList<>();
+        for (Long adminId : userRepository.findIdsByRole("Admin")) {
+            if (adminId.equals(user.getId())) continue; // Don't notify about self
+            Notification n = new Notification(adminId, "new_user",
+                    "New user registered: " + user.getName() + " (" + user.getRole() + ")", now);
+            n.setUserName(user.getName());
+            n.setUserRole(user.getRole());
+            batch.add(n);
+        }
+        notificationBatchRepository.insertAll(batch);
+    }
+
+    // Newest-first feed; pass the previous page's nextCursor as "after" to continue
+    @Transactional(readOnly = true)
+    public CursorPage<Notification> getFeed(Long userId, Long after, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        // Fetch one extra row to know whether another page exists
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<Notification> rows = after == null
+                ? notificationRepository.findByRecipientIdOrderByIdDesc(userId, page)
+                : notificationRepository.findByRecipientIdAndIdLessThanOrderByIdDesc(userId, after, page);
+        return CursorPage.of(rows, size, Notification::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long userId) {
+        return notificationRepository.countByRecipientIdAndReadFalse(userId);
+    }
+
+    @Transactional
+    public boolean markRead(Long userId, Long notificationId) {
+        return notificationRepository.markRead(userId, notificationId) > 0;
+    }
+
+    @Transactional
+    public int markAllRead(Long userId) {
+        return notificationRepository.markAllRead(userId);
+    }
+}
@@ -0,0 +1,15 @@
+package com.sustainshare.backend.service;
+
+// A pickup would overlap an existing one for the same charity, pickup location or food item
+public class PickupConflictException extends RuntimeException {
+
+    private final Long conflictingPickupId;
+
+    public PickupConflictException(String message, Long conflictingPickupId) {
+        super(message);
+        this.conflictingPickupId = conflictingPickupId;
+    }
+
+    // Null when the conflict is with a slot still being written (not yet committed)
+    public Long getConflictingPickupId() { return conflictingPickupId; }
+}
@@ -1,12 +1,22 @@
 package com.sustainshare.backend.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.sustainshare.backend.controller.dto.CursorPage;
+import com.sustainshare.backend.controller.dto.PickupScheduleView;
+import com.sustainshare.backend.model.FoodItem;
 import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.ListingSpecifications;
 import com.sustainshare.backend.repository.PickupScheduleRepository;
 
 @Service
@@ -15,9 +25,62 @@ public class PickupScheduleService {
     @Autowired
     private PickupScheduleRepository pickupScheduleRepository;
 
-    // Add new pickup schedule
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private PickupSlotService pickupSlotService;
+
+    // Add new pickup schedule. Active pickups take a slot in PickupSlotService first, which throws
+    // PickupConflictException on overlap; without a scheduledTime the next free slot is used.
+    @Transactional
     public PickupSchedule schedulePickup(PickupSchedule pickup) {
-        return pickupScheduleRepository.save(pickup);
+        if (pickup.getFoodItem() != null && pickup.getFoodItem().getId() != null) {
+            foodItemRepository.findById(pickup.getFoodItem().getId()).ifPresent(pickup::setFoodItem);
+        }
+        if (pickup.getStatus() == null) {
+            pickup.setStatus("Scheduled");
+        }
+        if (!PickupSlotService.isActive(pickup.getStatus())) {
+            PickupSchedule saved = pickupScheduleRepository.save(pickup);
+            dashboardStatsService.pickupScheduled();
+            return saved;
+        }
+        Long charityId = pickup.getCharity() != null ? pickup.getCharity().getId() : null;
+        Long foodItemId = pickup.getFoodItem() != null ? pickup.getFoodItem().getId() : null;
+        String location = pickup.getFoodItem() != null ? pickup.getFoodItem().getPickupLocation() : null;
+        if (pickup.getScheduledTime() == null) {
+            List<LocalDateTime> free = pickupSlotService.nextFreeSlots(charityId, location, LocalDateTime.now(), 1);
+            if (free.isEmpty()) {
+                throw new PickupConflictException("No free pickup slot within the search horizon", null);
+            }
+            pickup.setScheduledTime(free.get(0));
+        }
+        PickupSlotService.Slot slot = pickupSlotService.reserve(charityId, foodItemId, location, pickup.getScheduledTime());
+        PickupSchedule saved;
+        try {
+            saved = pickupScheduleRepository.save(pickup);
+        } catch (RuntimeException e) {
+            pickupSlotService.release(slot);
+            throw e;
+        }
+        pickupSlotService.assign(slot, saved.getId());
+        releaseOnRollback(slot);
+        dashboardStatsService.pickupScheduled();
+        return saved;
+    }
+
+    // Free pickup slots for a charity and/or pickup location (taken from the food item when given)
+    @Transactional(readOnly = true)
+    public List<LocalDateTime> findFreeSlots(Long charityId, Long foodItemId, String location,
+                                             LocalDateTime from, int count) {
+        if (location == null && foodItemId != null) {
+            location = foodItemRepository.findById(foodItemId).map(FoodItem::getPickupLocation).orElse(null);
+        }
+        return pickupSlotService.nextFreeSlots(charityId, location, from != null ? from : LocalDateTime.now(), count);
     }
 
     // Get all pickup schedules
@@ -25,18 +88,60 @@ public class PickupScheduleService {
         return pickupScheduleRepository.findAll();
     }
 
+    // Same rows as getAllPickups, as flat views from one joined query
+    @Transactional(readOnly = true)
+    public List<PickupScheduleView> getAllPickupViews() {
+        return pickupScheduleRepository.findViews(null, 0);
+    }
+
+    // Keyset page, newest first, with optional charity/status/time-window filters
+    @Transactional(readOnly = true)
+    public CursorPage<PickupScheduleView> getPickupsPage(Long charityId, String status,
+                                                     LocalDateTime from, LocalDateTime to,
+                                                     Long cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        Specification<PickupSchedule> spec = Specification.allOf(
+                ListingSpecifications.idBefore(cursor),
+                ListingSpecifications.pickupCharity(charityId),
+                ListingSpecifications.pickupStatus(status),
+                ListingSpecifications.scheduledBetween(from, to));
+        List<PickupScheduleView> rows = pickupScheduleRepository.findViews(spec, size + 1);
+        return CursorPage.of(rows, size, PickupScheduleView::getId);
+    }
+
     // Get pickup by ID
     public Optional<PickupSchedule> getPickupById(Long id) {
         return pickupScheduleRepository.findById(id);
     }
 
     // Delete a pickup
+    @Transactional
     public void deletePickup(Long id) {
-        pickupScheduleRepository.deleteById(id);
+        if (pickupScheduleRepository.existsById(id)) {
+            pickupScheduleRepository.deleteById(id);
+            dashboardStatsService.pickupDeleted();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pickupSlotService.releasePickup(id);
+                }
+            });
+        }
+    }
+
+    private void releaseOnRollback(PickupSlotService.Slot slot) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    pickupSlotService.release(slot);
+                }
+            }
+        });
     }
 
-    // Get total pickups count
+    // Get total pickups count (maintained by DashboardStatsService)
     public long getTotalPickupsCount() {
-        return pickupScheduleRepository.count();
+        return dashboardStatsService.getPickupCount();
     }
 }
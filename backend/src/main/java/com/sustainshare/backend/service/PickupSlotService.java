@@ -0,0 +1,338 @@
+package com.sustainshare.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+
+// Pickups occupy fixed-length slots [scheduledTime, scheduledTime + slot-length). Active future slots are
+// kept in one ordered map per charity and one per pickup location. Because every slot has the same
+// length, a new slot at t conflicts exactly when some slot in the same map starts in (t - length,
+// t + length), so a conflict check is one lowerEntry() per map: O(log n) with no table scan.
+// Free-slot search walks the slot grid and jumps past each conflict. Completed, missed and cancelled
+// pickups hold no slot, and slots that have ended are pruned periodically.
+@Service
+public class PickupSlotService {
+
+    static final Set<String> CLOSED_STATUSES = Set.of("completed", "missed", "cancelled");
+
+    @Autowired
+    private PickupScheduleRepository pickupScheduleRepository;
+
+    private final Duration slotLength;
+    private final Duration searchHorizon;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, TreeMap<SlotKey, Slot>> byCharity = new HashMap<>();
+    private final Map<String, TreeMap<SlotKey, Slot>> byLocation = new HashMap<>();
+    private final Map<Long, Slot> byFoodItem = new HashMap<>();
+    private final Map<Long, Slot> byPickupId = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private Set<Long> releasedDuringLoad; // non-null while a rebuild query is in flight, guarded by the lock
+
+    public PickupSlotService(@Value("${sustainshare.pickup.slot-length:PT30M}") Duration slotLength,
+                             @Value("${sustainshare.pickup.search-horizon:P30D}") Duration searchHorizon) {
+        this.slotLength = slotLength;
+        this.searchHorizon = searchHorizon;
+    }
+
+    // One projection query over active pickups that have not ended yet. Slots reserved in this process are
+    // carried over, since their rows may not have committed when the query ran (reservations made while
+    // it runs never are), and pickups released meanwhile are not loaded back.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (releasedDuringLoad != null) return; // another thread is already loading
+            releasedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Object[]> rows = null;
+        try {
+            rows = pickupScheduleRepository.findSlotsSince(LocalDateTime.now().minus(slotLength));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rows != null) {
+                    Set<Slot> reserved = new HashSet<>();
+                    Set<Long> skip = new HashSet<>(releasedDuringLoad);
+                    for (Map<?, TreeMap<SlotKey, Slot>> index : List.of(byCharity, byLocation)) {
+                        for (TreeMap<SlotKey, Slot> slots : index.values()) {
+                            for (Slot slot : slots.values()) {
+                                if (slot.reserved) reserved.add(slot);
+                            }
+                        }
+                    }
+                    for (Slot slot : byFoodItem.values()) {
+                        if (slot.reserved) reserved.add(slot);
+                    }
+                    for (Slot slot : reserved) {
+                        if (slot.pickupId != null) skip.add(slot.pickupId);
+                    }
+                    byCharity.clear();
+                    byLocation.clear();
+                    byFoodItem.clear();
+                    byPickupId.clear();
+                    for (Slot slot : reserved) {
+                        add(slot);
+                    }
+                    for (Object[] row : rows) {
+                        if (row[1] == null || !isActive((String) row[2]) || skip.contains((Long) row[0])) continue;
+                        Slot slot = new Slot((Long) row[0], (LocalDateTime) row[1], (Long) row[3], (Long) row[4],
+                                locationKey((String) row[5]), false);
+                        add(slot); // legacy overlaps are kept as they are; they only block new slots
+                    }
+                }
+                releasedDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public static boolean isActive(String status) {
+        return status == null || !CLOSED_STATUSES.contains(status.toLowerCase(Locale.ROOT));
+    }
+
+    public Duration getSlotLength() {
+        return slotLength;
+    }
+
+    // Checks and takes the slot atomically. The reservation must later be assigned its pickup id once
+    // the row is written, or released if it is not.
+    public Slot reserve(Long charityId, Long foodItemId, String location, LocalDateTime start) {
+        Slot slot = new Slot(null, start, charityId, foodItemId, locationKey(location), true);
+        lock.writeLock().lock();
+        try {
+            Slot conflict = conflictWith(slot);
+            if (conflict != null) {
+                throw new PickupConflictException(describe(slot, conflict), conflict.pickupId);
+            }
+            add(slot);
+            return slot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void assign(Slot slot, Long pickupId) {
+        lock.writeLock().lock();
+        try {
+            slot.pickupId = pickupId;
+            byPickupId.put(pickupId, slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void release(Slot slot) {
+        lock.writeLock().lock();
+        try {
+            remove(slot);
+            if (releasedDuringLoad != null && slot.pickupId != null) releasedDuringLoad.add(slot.pickupId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void releasePickup(Long pickupId) {
+        lock.writeLock().lock();
+        try {
+            Slot slot = byPickupId.get(pickupId);
+            if (slot != null) remove(slot);
+            if (releasedDuringLoad != null) releasedDuringLoad.add(pickupId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Up to count free slot starts at or after "from", on the slot grid, within the search horizon.
+    // A null charityId or location leaves that dimension unconstrained.
+    public List<LocalDateTime> nextFreeSlots(Long charityId, String location, LocalDateTime from, int count) {
+        List<LocalDateTime> free = new ArrayList<>(count);
+        LocalDateTime end = from.plus(searchHorizon);
+        String locationKey = locationKey(location);
+        lock.readLock().lock();
+        try {
+            LocalDateTime t = alignUp(from);
+            while (free.size() < count && t.isBefore(end)) {
+                Slot conflict = latest(latestConflict(byCharity.get(charityId), t), latestConflict(byLocation.get(locationKey), t));
+                if (conflict == null) {
+                    free.add(t);
+                    t = t.plus(slotLength);
+                } else {
+                    t = alignUp(conflict.start.plus(slotLength));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return free;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("slots", byPickupId.size());
+            stats.put("charities", byCharity.size());
+            stats.put("locations", byLocation.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("slotLengthMinutes", slotLength.toMinutes());
+        return stats;
+    }
+
+    // Ended slots can no longer conflict with anything schedulable
+    @Scheduled(fixedDelayString = "${sustainshare.pickup.prune-ms:3600000}")
+    public void pruneEnded() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(slotLength);
+        lock.writeLock().lock();
+        try {
+            List<Slot> ended = new ArrayList<>();
+            for (TreeMap<SlotKey, Slot> slots : byCharity.values()) {
+                ended.addAll(slots.headMap(new SlotKey(cutoff, Long.MIN_VALUE)).values());
+            }
+            for (TreeMap<SlotKey, Slot> slots : byLocation.values()) {
+                ended.addAll(slots.headMap(new SlotKey(cutoff, Long.MIN_VALUE)).values());
+            }
+            for (Slot slot : byFoodItem.values()) {
+                if (slot.start.isBefore(cutoff)) ended.add(slot);
+            }
+            ended.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Slot conflictWith(Slot slot) {
+        Slot conflict = slot.foodItemId != null ? byFoodItem.get(slot.foodItemId) : null;
+        if (conflict != null) return conflict;
+        return latest(latestConflict(byCharity.get(slot.charityId), slot.start),
+                latestConflict(byLocation.get(slot.location), slot.start));
+    }
+
+    // The latest-starting slot overlapping [t, t + length), or null
+    private Slot latestConflict(TreeMap<SlotKey, Slot> slots, LocalDateTime t) {
+        if (slots == null) return null;
+        Map.Entry<SlotKey, Slot> before = slots.lowerEntry(new SlotKey(t.plus(slotLength), Long.MIN_VALUE));
+        if (before == null || !before.getKey().start.isAfter(t.minus(slotLength))) return null;
+        return before.getValue();
+    }
+
+    private static Slot latest(Slot a, Slot b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.start.isAfter(b.start) ? a : b;
+    }
+
+    private LocalDateTime alignUp(LocalDateTime t) {
+        long lengthNanos = slotLength.toNanos();
+        long sinceMidnight = Duration.between(t.toLocalDate().atStartOfDay(), t).toNanos();
+        long remainder = sinceMidnight % lengthNanos;
+        return remainder == 0 ? t : t.plusNanos(lengthNanos - remainder);
+    }
+
+    private void add(Slot slot) {
+        if (slot.charityId != null) {
+            byCharity.computeIfAbsent(slot.charityId, k -> new TreeMap<>()).put(slot.key, slot);
+        }
+        if (slot.location != null) {
+            byLocation.computeIfAbsent(slot.location, k -> new TreeMap<>()).put(slot.key, slot);
+        }
+        if (slot.foodItemId != null) {
+            byFoodItem.putIfAbsent(slot.foodItemId, slot);
+        }
+        if (slot.pickupId != null) {
+            byPickupId.put(slot.pickupId, slot);
+        }
+    }
+
+    private void remove(Slot slot) {
+        removeFrom(byCharity, slot.charityId, slot);
+        removeFrom(byLocation, slot.location, slot);
+        if (slot.foodItemId != null) byFoodItem.remove(slot.foodItemId, slot);
+        if (slot.pickupId != null) byPickupId.remove(slot.pickupId, slot);
+    }
+
+    private static <K> void removeFrom(Map<K, TreeMap<SlotKey, Slot>> index, K key, Slot slot) {
+        if (key == null) return;
+        TreeMap<SlotKey, Slot> slots = index.get(key);
+        if (slots == null) return;
+        slots.remove(slot.key);
+        if (slots.isEmpty()) index.remove(key);
+    }
+
+    private String describe(Slot wanted, Slot conflict) {
+        String what = wanted.foodItemId != null && wanted.foodItemId.equals(conflict.foodItemId) ? "food item"
+                : wanted.charityId != null && wanted.charityId.equals(conflict.charityId) ? "charity"
+                : "pickup location";
+        return "Pickup at " + wanted.start + " overlaps "
+                + (conflict.pickupId != null ? "pickup " + conflict.pickupId : "a pickup being scheduled")
+                + " at " + conflict.start + " for the same " + what;
+    }
+
+    // Case- and whitespace-insensitive; blank means "no location constraint"
+    static String locationKey(String location) {
+        if (location == null || location.isBlank()) return null;
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class SlotKey implements Comparable<SlotKey> {
+        final LocalDateTime start;
+        final long seq;
+
+        SlotKey(LocalDateTime start, long seq) {
+            this.start = start;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(SlotKey other) {
+            int c = start.compareTo(other.start);
+            return c != 0 ? c : Long.compare(seq, other.seq);
+        }
+    }
+
+    public final class Slot {
+        private volatile Long pickupId;
+        private final LocalDateTime start;
+        private final Long charityId;
+        private final Long foodItemId;
+        private final String location;
+        private final SlotKey key;
+        private final boolean reserved; // taken through reserve() rather than loaded by rebuild()
+
+        private Slot(Long pickupId, LocalDateTime start, Long charityId, Long foodItemId, String location, boolean reserved) {
+            this.pickupId = pickupId;
+            this.start = start;
+            this.charityId = charityId;
+            this.foodItemId = foodItemId;
+            this.location = location;
+            this.key = new SlotKey(start, sequence.incrementAndGet());
+            this.reserved = reserved;
+        }
+
+        public LocalDateTime getStart() { return start; }
+        public LocalDateTime getEnd() { return start.plus(slotLength); }
+    }
+}
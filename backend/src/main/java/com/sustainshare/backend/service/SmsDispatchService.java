@@ -0,0 +1,372 @@
+package com.sustainshare.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.event.FoodBatchEvent;
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.SmsMessage;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.SmsMessageRepository;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.sms.PermanentSmsException;
+import com.sustainshare.backend.sms.SmsSender;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Outbound SMS (sustainshare.sms.enabled). Claims and postings become rows in the sms_outbox table,
+// written in the transaction that commits them (a BEFORE_COMMIT listener), so an alert exists exactly when
+// its claim or posting does and survives a crash. The request path only pays for one insert: a posting to
+// every charity is a single FANOUT row. One dispatcher thread, separate from the @Scheduled pool, then:
+//  - expands FANOUT rows into one row per charity phone, merging the postings waiting for each;
+//  - sends due rows in batches, merging every due row for a recipient into one message, and retries
+//    transient failures with exponential backoff and jitter up to max-attempts.
+// Back-pressure: once max-pending rows are waiting, further alerts are rejected (counted) instead of growing
+// the table without bound. In-app notifications are unaffected either way.
+@Service
+public class SmsDispatchService {
+
+    private static final int MAX_BODY = 640;
+    private static final int MAX_NAMES = 3;
+    private static final String CLAIMED = "CLAIMED";
+    private static final String POSTED = "POSTED";
+    private static final String CHARITIES = "Charity";
+
+    private static final Logger log = LoggerFactory.getLogger(SmsDispatchService.class);
+
+    @Autowired
+    private SmsMessageRepository smsMessageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private SmsSender smsSender;
+
+    @Value("${sustainshare.sms.enabled:false}")
+    private boolean enabled;
+
+    @Value("${sustainshare.sms.notify-charities-on-post:true}")
+    private boolean notifyCharitiesOnPost;
+
+    @Value("${sustainshare.sms.max-pending:100000}")
+    private long maxPending;
+
+    @Value("${sustainshare.sms.batch-size:200}")
+    private int batchSize;
+
+    @Value("${sustainshare.sms.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${sustainshare.sms.retry-base:PT30S}")
+    private Duration retryBase;
+
+    @Value("${sustainshare.sms.retry-max:PT1H}")
+    private Duration retryMax;
+
+    @Value("${sustainshare.sms.flush-ms:1000}")
+    private long flushMs;
+
+    @Value("${sustainshare.sms.dispatch-ms:2000}")
+    private long dispatchMs;
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sms-dispatch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong pendingRows = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public SmsDispatchService(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("sustainshare.sms.pending", pendingRows, AtomicLong::get).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        pendingRows.set(smsMessageRepository.countByStatus(SmsMessage.PENDING) + smsMessageRepository.countByStatus(SmsMessage.FANOUT));
+        worker.scheduleWithFixedDelay(() -> runQuietly(this::flush), flushMs, flushMs, TimeUnit.MILLISECONDS);
+        worker.scheduleWithFixedDelay(() -> runQuietly(this::dispatch), dispatchMs, dispatchMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onFoodEvent(FoodEvent event) {
+        if (!enabled) return;
+        FoodItem food = event.getFoodItem();
+        if (event.getType() == FoodEvent.Type.CLAIMED) {
+            String phone = donorPhone(food);
+            if (phone != null) enqueue(alert(phone, SmsMessage.PENDING, CLAIMED, List.of(food)));
+        } else if (event.getType() == FoodEvent.Type.POSTED && notifyCharitiesOnPost) {
+            enqueue(alert(CHARITIES, SmsMessage.FANOUT, POSTED, List.of(food)));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onFoodBatch(FoodBatchEvent event) {
+        if (!enabled || !notifyCharitiesOnPost || event.getPosted().isEmpty()) return;
+        enqueue(alert(CHARITIES, SmsMessage.FANOUT, POSTED, event.getPosted()));
+    }
+
+    // Expands FANOUT rows into one pending row per charity phone; returns the number of rows written
+    public int flush() {
+        if (pendingRows.get() >= maxPending) return 0;
+        int[] counts = transactionTemplate.execute(status -> {
+            List<SmsMessage> fanOuts = smsMessageRepository.findByStatusOrderByIdAsc(SmsMessage.FANOUT, PageRequest.of(0, batchSize));
+            if (fanOuts.isEmpty()) return new int[2];
+            Lines lines = new Lines();
+            fanOuts.forEach(lines::add);
+            LocalDateTime now = LocalDateTime.now();
+            List<SmsMessage> rows = new ArrayList<>();
+            for (String phone : new LinkedHashSet<>(userRepository.findPhonesByRole(CHARITIES))) {
+                rows.add(lines.toMessage(phone, now));
+            }
+            smsMessageRepository.saveAll(rows);
+            smsMessageRepository.markSent(fanOuts.stream().map(SmsMessage::getId).toList(), now);
+            return new int[] { fanOuts.size(), rows.size() };
+        });
+        pendingRows.addAndGet(counts[1] - counts[0]);
+        return counts[1];
+    }
+
+    // Sends due outbox rows; returns the number of messages handed to the provider successfully
+    public int dispatch() {
+        int delivered = 0;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            List<SmsMessage> due = smsMessageRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                    SmsMessage.PENDING, now, PageRequest.of(0, batchSize));
+            if (due.isEmpty()) return delivered;
+
+            Map<String, List<SmsMessage>> byRecipient = new LinkedHashMap<>();
+            for (SmsMessage m : due) {
+                byRecipient.computeIfAbsent(m.getRecipient(), k -> new ArrayList<>()).add(m);
+            }
+            List<Long> sentIds = new ArrayList<>();
+            List<SmsMessage> changed = new ArrayList<>();
+            int transientFailures = 0;
+            for (Map.Entry<String, List<SmsMessage>> e : byRecipient.entrySet()) {
+                if (transientFailures >= 3) break; // provider looks down; the rest stay due for the next tick
+                List<SmsMessage> group = e.getValue();
+                try {
+                    smsSender.send(e.getKey(), merge(group));
+                    group.forEach(m -> sentIds.add(m.getId()));
+                } catch (PermanentSmsException ex) {
+                    for (SmsMessage m : group) {
+                        fail(m, ex);
+                        changed.add(m);
+                    }
+                } catch (Exception ex) {
+                    transientFailures++;
+                    for (SmsMessage m : group) {
+                        retryLater(m, ex, now);
+                        changed.add(m);
+                    }
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!sentIds.isEmpty()) smsMessageRepository.markSent(sentIds, LocalDateTime.now());
+                smsMessageRepository.saveAll(changed);
+            });
+            record("sent", sentIds.size(), sent);
+            pendingRows.addAndGet(-sentIds.size());
+            delivered += sentIds.size();
+            if (transientFailures >= 3 || due.size() < batchSize) return delivered;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("pending", pendingRows.get());
+        stats.put("sent", sent.get());
+        stats.put("retried", retried.get());
+        stats.put("failed", failed.get());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    // Joins the transaction being committed, or runs in its own when there is none
+    private void enqueue(SmsMessage row) {
+        if (pendingRows.get() >= maxPending) {
+            record("rejected", 1, rejected);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> smsMessageRepository.save(row));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pendingRows.incrementAndGet();
+                }
+            });
+        } else {
+            pendingRows.incrementAndGet();
+        }
+    }
+
+    private String donorPhone(FoodItem food) {
+        if (food.getDonorPhone() != null && !food.getDonorPhone().isBlank()) return food.getDonorPhone();
+        if (food.getDonorId() == null) return null;
+        return userCache.findById(food.getDonorId()).map(User::getPhone).filter(p -> !p.isBlank()).orElse(null);
+    }
+
+    private static SmsMessage alert(String recipient, String status, String kind, List<FoodItem> items) {
+        Lines lines = new Lines();
+        List<String> names = items.stream().map(FoodItem::getName).toList();
+        lines.add(kind, names.size(), names);
+        SmsMessage row = lines.toMessage(recipient, LocalDateTime.now());
+        row.setStatus(status);
+        return row;
+    }
+
+    private void retryLater(SmsMessage m, Exception ex, LocalDateTime now) {
+        if (m.getAttempts() + 1 >= maxAttempts) {
+            fail(m, ex);
+            return;
+        }
+        m.setAttempts(m.getAttempts() + 1);
+        // base * 2^(attempts-1), capped, with up to 20% jitter so a recovering provider is not hit all at once
+        long delayMs = Math.min(retryMax.toMillis(), retryBase.toMillis() << Math.min(20, m.getAttempts() - 1));
+        delayMs += ThreadLocalRandom.current().nextLong(delayMs / 5 + 1);
+        m.setNextAttemptAt(now.plusNanos(delayMs * 1_000_000));
+        m.setLastError(truncate(String.valueOf(ex.getMessage()), 255));
+        record("retried", 1, retried);
+    }
+
+    private void fail(SmsMessage m, Exception ex) {
+        m.setAttempts(m.getAttempts() + 1);
+        m.setStatus(SmsMessage.FAILED);
+        m.setLastError(truncate(String.valueOf(ex.getMessage()), 255));
+        pendingRows.decrementAndGet();
+        record("failed", 1, failed);
+    }
+
+    private void record(String outcome, int count, AtomicLong total) {
+        if (count <= 0) return;
+        total.addAndGet(count);
+        meterRegistry.counter("sustainshare.sms", "outcome", outcome).increment(count);
+    }
+
+    private static void runQuietly(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            // Everything is still in the outbox and is picked up on the next run
+            log.warn("SMS outbox run failed", e);
+        }
+    }
+
+    // A backlog for one recipient goes out as a single message
+    private static String merge(List<SmsMessage> group) {
+        if (group.size() == 1) return group.get(0).getBody();
+        Lines lines = new Lines();
+        group.forEach(lines::add);
+        return lines.toBody();
+    }
+
+    private static String truncate(String s, int max) {
+        return s.length() <= max ? s : s.substring(0, max - 3) + "...";
+    }
+
+    private static String names(List<String> names, int count) {
+        String shown = String.join(", ", names.subList(0, Math.min(MAX_NAMES, names.size())));
+        return count > MAX_NAMES ? shown + " and " + (count - MAX_NAMES) + " more" : shown;
+    }
+
+    // Claimed and posted items for one recipient: counts plus the first few names
+    private static final class Lines {
+        final List<String> claimed = new ArrayList<>();
+        final List<String> posted = new ArrayList<>();
+        int claimedCount;
+        int postedCount;
+
+        void add(SmsMessage m) {
+            List<String> names = m.getItemNames() == null || m.getItemNames().isEmpty()
+                    ? List.of() : List.of(m.getItemNames().split("\n"));
+            add(m.getKind(), m.getItemCount(), names);
+        }
+
+        void add(String kind, int count, List<String> names) {
+            List<String> target = CLAIMED.equals(kind) ? claimed : posted;
+            for (String name : names) {
+                if (target.size() < MAX_NAMES) target.add(name);
+            }
+            if (CLAIMED.equals(kind)) {
+                claimedCount += count;
+            } else {
+                postedCount += count;
+            }
+        }
+
+        SmsMessage toMessage(String recipient, LocalDateTime now) {
+            SmsMessage row = new SmsMessage(recipient, toBody(), now);
+            boolean claims = claimedCount > 0;
+            row.setKind(claims ? CLAIMED : POSTED);
+            row.setItemCount(claims ? claimedCount : postedCount);
+            row.setItemNames(truncate(String.join("\n", claims ? claimed : posted), MAX_BODY));
+            return row;
+        }
+
+        String toBody() {
+            List<String> parts = new ArrayList<>(2);
+            if (claimedCount == 1) {
+                parts.add("SustainShare: your food '" + claimed.get(0) + "' was claimed.");
+            } else if (claimedCount > 1) {
+                parts.add("SustainShare: " + claimedCount + " of your items were claimed: " + names(claimed, claimedCount) + ".");
+            }
+            if (postedCount == 1) {
+                parts.add("SustainShare: new food available: " + posted.get(0) + ".");
+            } else if (postedCount > 1) {
+                parts.add("SustainShare: " + postedCount + " new food items available: " + names(posted, postedCount) + ".");
+            }
+            return truncate(String.join(" ", parts), MAX_BODY);
+        }
+    }
+}
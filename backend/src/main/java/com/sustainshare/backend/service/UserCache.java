@@ -0,0 +1,188 @@
+package com.sustainshare.backend.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Near-cache for user rows, by id and by email, in front of the claim, notification, stream and login
+// paths. Bounded LRU with a time-to-live, so other instances' changes are seen within the TTL. Writes
+// through JPA evict the entry (UserCacheListener), immediately and again after commit; a load that
+// overlaps an eviction is not cached. Callers get copies, so nothing can mutate a cached row.
+// Misses are not cached: a user registered after a failed lookup is found on the next one.
+@Service
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // Guarded by "this"; access order makes iteration order least recently used first
+    private final LinkedHashMap<Long, Entry> byId;
+    private final Map<String, Long> idByEmail = new HashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter idHits;
+    private final Counter idMisses;
+    private final Counter emailHits;
+    private final Counter emailMisses;
+    private final Counter evictions;
+
+    public UserCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                     @Value("${sustainshare.users.cache.enabled:true}") boolean enabled,
+                     @Value("${sustainshare.users.cache.max-size:10000}") int maxSize,
+                     @Value("${sustainshare.users.cache.ttl:PT10M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() <= UserCache.this.maxSize) return false;
+                idByEmail.remove(eldest.getValue().user.getEmail(), eldest.getKey());
+                evictions.increment();
+                return true;
+            }
+        };
+        this.idHits = meterRegistry.counter("sustainshare.users.cache", "key", "id", "result", "hit");
+        this.idMisses = meterRegistry.counter("sustainshare.users.cache", "key", "id", "result", "miss");
+        this.emailHits = meterRegistry.counter("sustainshare.users.cache", "key", "email", "result", "hit");
+        this.emailMisses = meterRegistry.counter("sustainshare.users.cache", "key", "email", "result", "miss");
+        this.evictions = meterRegistry.counter("sustainshare.users.cache.evictions");
+        Gauge.builder("sustainshare.users.cache.size", this, UserCache::size).register(meterRegistry);
+    }
+
+    public Optional<User> findById(Long id) {
+        if (id == null) return Optional.empty();
+        if (!enabled) return userRepository.findById(id);
+        User cached = get(id);
+        if (cached != null) {
+            idHits.increment();
+            return Optional.of(copyOf(cached));
+        }
+        idMisses.increment();
+        return load(() -> userRepository.findById(id));
+    }
+
+    public Optional<User> findByEmail(String email) {
+        if (email == null) return Optional.empty();
+        if (!enabled) return userRepository.findByEmail(email);
+        User cached = null;
+        synchronized (this) {
+            Long id = idByEmail.get(email);
+            if (id != null) cached = get(id);
+        }
+        if (cached != null) {
+            emailHits.increment();
+            return Optional.of(copyOf(cached));
+        }
+        emailMisses.increment();
+        return load(() -> userRepository.findByEmail(email));
+    }
+
+    public Optional<String> findName(Long id) {
+        return findById(id).map(User::getName);
+    }
+
+    // Drops the entry now and, inside a transaction, again once it has committed or rolled back, so a
+    // concurrent reader cannot re-cache the row as it was before the write
+    public void evict(Long id) {
+        if (id == null) return;
+        remove(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(id);
+                }
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        invalidations.incrementAndGet();
+        byId.clear();
+        idByEmail.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("idHits", (long) idHits.count());
+        stats.put("idMisses", (long) idMisses.count());
+        stats.put("emailHits", (long) emailHits.count());
+        stats.put("emailMisses", (long) emailMisses.count());
+        stats.put("evictions", (long) evictions.count());
+        return stats;
+    }
+
+    private synchronized int size() {
+        return byId.size();
+    }
+
+    private synchronized User get(Long id) {
+        Entry entry = byId.get(id);
+        if (entry == null) return null;
+        if (entry.expiresAt - System.nanoTime() <= 0) {
+            byId.remove(id);
+            idByEmail.remove(entry.user.getEmail(), id);
+            return null;
+        }
+        return entry.user;
+    }
+
+    private Optional<User> load(Supplier<Optional<User>> query) {
+        long generation = invalidations.get();
+        Optional<User> loaded = query.get();
+        loaded.ifPresent(user -> put(copyOf(user), generation));
+        return loaded.map(UserCache::copyOf);
+    }
+
+    private synchronized void put(User user, long generation) {
+        if (invalidations.get() != generation) return;
+        Entry previous = byId.put(user.getId(), new Entry(user, System.nanoTime() + ttlNanos));
+        if (previous != null) idByEmail.remove(previous.user.getEmail(), user.getId());
+        if (user.getEmail() != null) idByEmail.put(user.getEmail(), user.getId());
+    }
+
+    private synchronized void remove(Long id) {
+        invalidations.incrementAndGet();
+        Entry entry = byId.remove(id);
+        if (entry != null) idByEmail.remove(entry.user.getEmail(), id);
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User(user.getName(), user.getUsername(), user.getEmail(), user.getPhone(), user.getPassword(), user.getRole());
+        copy.setId(user.getId());
+        return copy;
+    }
+
+    private static final class Entry {
+        final User user;
+        final long expiresAt;
+
+        Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.sustainshare.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+import com.sustainshare.backend.model.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA entity listener on User, created by Hibernate through Spring's bean container: any update or
+// delete that goes through the entity manager evicts the cached copy. Native and JDBC writes to the
+// users table bypass this and must call UserCache.evict themselves.
+public class UserCacheListener {
+
+    @Autowired
+    @Lazy
+    private UserCache userCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        userCache.evict(user.getId());
+    }
+}
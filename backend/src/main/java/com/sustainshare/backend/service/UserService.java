@@ -4,9 +4,15 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.sustainshare.backend.controller.dto.CursorPage;
+import com.sustainshare.backend.controller.dto.UserSummary;
 import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.ListingSpecifications;
 import com.sustainshare.backend.repository.UserRepository;
 
 @Service
@@ -15,8 +21,21 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Transactional
     public User registerUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        notificationService.notifyUserRegistered(saved);
+        dashboardStatsService.userRegistered();
+        return saved;
     }
 
     public boolean isUsernameTaken(String username) {
@@ -31,12 +50,27 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    // Keyset page, newest first, optionally filtered by role; only the public fields of each user
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> getUsersPage(String role, Long cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        Specification<User> spec = Specification.allOf(
+                ListingSpecifications.idBefore(cursor),
+                ListingSpecifications.userRole(role));
+        List<UserSummary> rows = userRepository.findBy(spec,
+                q -> q.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(size + 1).all()).stream()
+                .map(u -> new UserSummary(u.getId(), u.getName(), u.getUsername(), u.getRole()))
+                .toList();
+        return CursorPage.of(rows, size, UserSummary::getId);
+    }
+
+    // Served from UserCache; the result is a copy, so changes to it must go through the repository
     public Optional<User> getUserById(Long id) {
-        return userRepository.findById(id);
+        return userCache.findById(id);
     }
 
     public Optional<User> getUserByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return userCache.findByEmail(email);
     }
 
     // New method to authenticate user by email and password
@@ -45,7 +79,7 @@ public class UserService {
         String trimmedEmail = email != null ? email.trim() : null;
         String trimmedPassword = password != null ? password.trim() : null;
 
-        Optional<User> userOpt = userRepository.findByEmail(trimmedEmail);
+        Optional<User> userOpt = userCache.findByEmail(trimmedEmail);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             // For now, plain text password comparison (consider hashing in future)
@@ -56,7 +90,8 @@ public class UserService {
         return Optional.empty();
     }
 
+    // Maintained by DashboardStatsService
     public long getUserCount() {
-        return userRepository.count();
+        return dashboardStatsService.getUserCount();
     }
 }
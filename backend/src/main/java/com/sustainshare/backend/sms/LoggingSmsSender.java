@@ -0,0 +1,38 @@
+package com.sustainshare.backend.sms;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Local stub (sustainshare.sms.provider=log, the default): logs each message and keeps the most recent
+// ones in memory so tests and local runs can see what would have been sent
+@Component
+@ConditionalOnProperty(name = "sustainshare.sms.provider", havingValue = "log", matchIfMissing = true)
+public class LoggingSmsSender implements SmsSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingSmsSender.class);
+    private static final int KEEP = 1000;
+
+    private final Deque<String[]> recent = new ArrayDeque<>();
+
+    @Override
+    public void send(String to, String body) {
+        log.info("SMS to {}: {}", to, body);
+        synchronized (recent) {
+            if (recent.size() == KEEP) recent.removeFirst();
+            recent.addLast(new String[] { to, body });
+        }
+    }
+
+    // Most recent last, as {to, body}
+    public List<String[]> getRecent() {
+        synchronized (recent) {
+            return List.copyOf(recent);
+        }
+    }
+}
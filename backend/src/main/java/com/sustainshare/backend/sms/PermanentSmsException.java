@@ -0,0 +1,9 @@
+package com.sustainshare.backend.sms;
+
+// Rejected for good (invalid number, unsubscribed recipient, ...); the message is marked FAILED without retries
+public class PermanentSmsException extends RuntimeException {
+
+    public PermanentSmsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.sustainshare.backend.sms;
+
+// Delivers one text message to a provider. Called only from the dispatcher thread, never inside a
+// request or transaction. Throw PermanentSmsException when retrying cannot help; anything else is retried.
+public interface SmsSender {
+
+    void send(String to, String body) throws Exception;
+}
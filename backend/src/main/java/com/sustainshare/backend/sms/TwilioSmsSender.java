@@ -0,0 +1,38 @@
+package com.sustainshare.backend.sms;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.twilio.Twilio;
+import com.twilio.exception.ApiException;
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.type.PhoneNumber;
+
+// sustainshare.sms.provider=twilio. Client errors other than rate limiting (429) are permanent.
+@Component
+@ConditionalOnProperty(name = "sustainshare.sms.provider", havingValue = "twilio")
+public class TwilioSmsSender implements SmsSender {
+
+    private final PhoneNumber from;
+
+    public TwilioSmsSender(@Value("${sustainshare.sms.twilio.account-sid}") String accountSid,
+                           @Value("${sustainshare.sms.twilio.auth-token}") String authToken,
+                           @Value("${sustainshare.sms.twilio.from}") String from) {
+        Twilio.init(accountSid, authToken);
+        this.from = new PhoneNumber(from);
+    }
+
+    @Override
+    public void send(String to, String body) {
+        try {
+            Message.creator(new PhoneNumber(to), from, body).create();
+        } catch (ApiException e) {
+            Integer status = e.getStatusCode();
+            if (status != null && status >= 400 && status < 500 && status != 429) {
+                throw new PermanentSmsException("Twilio rejected the message: " + e.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+-- Schema as of the first release (previously created by hibernate ddl-auto). Databases created that way are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and only run the later scripts.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_phone UNIQUE (phone)
+);
+
+CREATE TABLE food_item (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    quantity INTEGER NOT NULL,
+    pickup_location VARCHAR(255),
+    expiry_time VARCHAR(255),
+    donor_phone VARCHAR(255),
+    donor_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE donation_log (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    donor_id BIGINT,
+    charity_id BIGINT,
+    food_item_id BIGINT,
+    donated_at DATETIME(6),
+    claimed_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_donation_log_donor FOREIGN KEY (donor_id) REFERENCES users (id),
+    CONSTRAINT fk_donation_log_charity FOREIGN KEY (charity_id) REFERENCES users (id),
+    CONSTRAINT fk_donation_log_food_item FOREIGN KEY (food_item_id) REFERENCES food_item (id)
+);
+
+CREATE TABLE pickup_schedule (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    scheduled_time DATETIME(6),
+    status VARCHAR(255),
+    food_item_id BIGINT,
+    charity_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pickup_schedule_food_item FOREIGN KEY (food_item_id) REFERENCES food_item (id),
+    CONSTRAINT fk_pickup_schedule_charity FOREIGN KEY (charity_id) REFERENCES users (id)
+);
@@ -0,0 +1,19 @@
+-- Per-recipient notifications (GET /api/notifications)
+
+CREATE TABLE notification (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    recipient_id BIGINT NOT NULL,
+    type VARCHAR(32) NOT NULL,
+    message VARCHAR(255),
+    food_name VARCHAR(255),
+    donor_name VARCHAR(255),
+    charity_name VARCHAR(255),
+    user_name VARCHAR(255),
+    user_role VARCHAR(255),
+    timestamp DATETIME(6),
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_notification_recipient_id ON notification (recipient_id, id);
+CREATE INDEX idx_notification_recipient_read ON notification (recipient_id, is_read);
@@ -0,0 +1,12 @@
+-- Keyset pagination and filters on the list endpoints, and the dashboard and export range queries
+
+CREATE INDEX idx_users_role ON users (role, id);
+CREATE INDEX idx_food_item_donor ON food_item (donor_id, id);
+CREATE INDEX idx_donation_log_donor ON donation_log (donor_id, id);
+CREATE INDEX idx_donation_log_charity ON donation_log (charity_id, id);
+CREATE INDEX idx_donation_log_food_item ON donation_log (food_item_id);
+CREATE INDEX idx_donation_log_donated_at ON donation_log (donated_at);
+CREATE INDEX idx_donation_log_claimed_at ON donation_log (claimed_at);
+CREATE INDEX idx_pickup_charity ON pickup_schedule (charity_id, id);
+CREATE INDEX idx_pickup_status ON pickup_schedule (status, id);
+CREATE INDEX idx_pickup_scheduled_time ON pickup_schedule (scheduled_time);
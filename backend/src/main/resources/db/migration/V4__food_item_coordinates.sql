@@ -0,0 +1,4 @@
+-- Pickup coordinates for /api/food/nearby; optional, so existing rows stay without them
+
+ALTER TABLE food_item ADD COLUMN latitude DOUBLE;
+ALTER TABLE food_item ADD COLUMN longitude DOUBLE;
@@ -0,0 +1,8 @@
+-- Typed expiry for the expiration engine. Existing rows start out not expired; FoodExpiryService fills in
+-- expires_at from the free-form expiry_time at startup where that parses as a date-time.
+
+ALTER TABLE food_item ADD COLUMN expires_at DATETIME(6);
+ALTER TABLE food_item ADD COLUMN expired BOOLEAN NOT NULL DEFAULT FALSE;
+UPDATE food_item SET expired = FALSE;
+
+CREATE INDEX idx_food_item_expiry ON food_item (expired, expires_at);
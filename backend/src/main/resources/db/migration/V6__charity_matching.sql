@@ -0,0 +1,18 @@
+-- Matching engine: optional food category and per-charity preferences
+
+ALTER TABLE food_item ADD COLUMN category VARCHAR(255);
+
+CREATE TABLE charity_preference (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    charity_id BIGINT NOT NULL,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    daily_capacity INTEGER NOT NULL,
+    categories VARCHAR(255),
+    latitude DOUBLE,
+    longitude DOUBLE,
+    max_distance_km DOUBLE,
+    pickup_window_start TIME(6),
+    pickup_window_end TIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_charity_preference_charity UNIQUE (charity_id)
+);
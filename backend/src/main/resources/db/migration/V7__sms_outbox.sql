@@ -0,0 +1,20 @@
+-- Outbound SMS outbox, written in the committing transaction and drained by SmsDispatchService
+
+CREATE TABLE sms_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    recipient VARCHAR(32) NOT NULL,
+    body VARCHAR(640) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6),
+    sent_at DATETIME(6),
+    last_error VARCHAR(255),
+    kind VARCHAR(16),
+    item_count INTEGER NOT NULL,
+    item_names VARCHAR(640),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_sms_outbox_due ON sms_outbox (status, next_attempt_at, id);
+CREATE INDEX idx_sms_outbox_recipient ON sms_outbox (recipient);
@@ -0,0 +1,19 @@
+-- Hourly and daily donation rollups and the checkpoint of the last folded log
+
+CREATE TABLE donation_rollup (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    granularity VARCHAR(8) NOT NULL,
+    bucket_start DATETIME(6) NOT NULL,
+    posted BIGINT NOT NULL,
+    claimed BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    claim_delays VARCHAR(1200),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_donation_rollup_bucket UNIQUE (granularity, bucket_start)
+);
+
+CREATE TABLE rollup_checkpoint (
+    name VARCHAR(32) NOT NULL,
+    watermark DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+);
@@ -0,0 +1,76 @@
+package com.sustainshare.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControlDataSourceTest {
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:admission;DB_CLOSE_DELAY=-1");
+        return ds;
+    }
+
+    @Test
+    void fullQueueIsRejectedAndCloseReleasesThePermit() throws Exception {
+        AdmissionControlDataSource ds = new AdmissionControlDataSource(h2(), 1, 0, 1000);
+
+        Connection held = ds.getConnection();
+        assertThrows(SQLTransientConnectionException.class, ds::getConnection);
+        held.close();
+        held.close(); // second close must not hand out a second permit
+        try (Connection again = ds.getConnection()) {
+            assertTrue(again.isValid(1));
+        }
+
+        assertEquals(1L, ds.getStats().get("rejected"));
+        assertEquals(0, ds.getStats().get("inUse"));
+        assertThrows(SQLTransientConnectionException.class, () -> {
+            try (Connection a = ds.getConnection(); Connection b = ds.getConnection()) {
+                // only one permit
+            }
+        });
+    }
+
+    @Test
+    void waiterIsAdmittedWhenAPermitIsReturnedAndWaitIsRecorded() throws Exception {
+        AdmissionControlDataSource ds = new AdmissionControlDataSource(h2(), 1, 10, 5000);
+
+        Connection held = ds.getConnection();
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return ds.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (((Integer) ds.getStats().get("queueDepth")) == 0) {
+            Thread.onSpinWait();
+        }
+        Thread.sleep(20);
+        held.close();
+        waiter.get(5, TimeUnit.SECONDS).close();
+
+        assertEquals(2L, ds.getStats().get("admitted"));
+        assertTrue((Double) ds.getStats().get("maxWaitMs") >= 20.0);
+    }
+
+    @Test
+    void waitingPastTheTimeoutFails() throws Exception {
+        AdmissionControlDataSource ds = new AdmissionControlDataSource(h2(), 1, 10, 50);
+
+        try (Connection held = ds.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, ds::getConnection);
+        }
+        assertEquals(1L, ds.getStats().get("timedOut"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.sustainshare.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Routing through the JPA stack of a web request: the "replica" is the same embedded database, but its
+// connections set @route when opened, so a query shows which pool it ran on
+@SpringBootTest(properties = {
+    "sustainshare.db.replicas.enabled=true",
+    "sustainshare.db.replicas.urls=jdbc:h2:mem:sustainshare;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000;INIT=SET @route = 'replica'",
+    "sustainshare.db.replicas.read-your-writes=PT0S"
+})
+@AutoConfigureMockMvc
+class ReadReplicaJpaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void eachTransactionOfARequestIsRoutedOnItsOwn() throws Exception {
+        assertTrue(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+        ReadReplicaRoutingDataSource router = dataSource.unwrap(ReadReplicaRoutingDataSource.class);
+        long replicaBefore = (Long) router.getStats().get("replicaRoutes");
+
+        // A read-only transaction, then a read-write one, in the same request
+        mockMvc.perform(get("/api/stats/route-probe"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("replica,primary"));
+        assertTrue((Long) router.getStats().get("replicaRoutes") > replicaBefore);
+        assertEquals(0L, router.getStats().get("replicaFallbacks"));
+    }
+
+    @TestConfiguration
+    static class Probe {
+        @Bean
+        RouteProbeController routeProbeController(PlatformTransactionManager transactionManager) {
+            return new RouteProbeController(transactionManager);
+        }
+    }
+
+    @RestController
+    static class RouteProbeController {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        private final TransactionTemplate read;
+        private final TransactionTemplate write;
+
+        RouteProbeController(PlatformTransactionManager transactionManager) {
+            read = new TransactionTemplate(transactionManager);
+            read.setReadOnly(true);
+            write = new TransactionTemplate(transactionManager);
+        }
+
+        @GetMapping("/api/stats/route-probe")
+        String probe() {
+            return read.execute(status -> route()) + "," + write.execute(status -> route());
+        }
+
+        private String route() {
+            Object route = entityManager.createNativeQuery("SELECT @route").getSingleResult();
+            return route == null ? "primary" : route.toString();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.sustainshare.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    // Each embedded database answers with its own name, so a query shows where it was routed
+    private static DataSource h2(String name) {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(20))");
+        jdbc.update("DELETE FROM whoami");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return ds;
+    }
+
+    private static String whoami(JdbcTemplate jdbc, TransactionTemplate tx) {
+        return tx.execute(status -> jdbc.queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicasAndEverythingElseToThePrimary() {
+        ReadReplicaRoutingDataSource router = new ReadReplicaRoutingDataSource(h2("rw_primary"),
+                List.of(h2("rw_replica_a"), h2("rw_replica_b")), Duration.ofMinutes(1));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(router);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate write = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        TransactionTemplate read = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        read.setReadOnly(true);
+
+        assertEquals("rw_primary", whoami(jdbc, write));
+        assertEquals("rw_primary", jdbc.queryForObject("SELECT name FROM whoami", String.class));
+        assertEquals("rw_replica_a", whoami(jdbc, read));
+        assertEquals("rw_replica_b", whoami(jdbc, read));
+        assertEquals("rw_replica_a", whoami(jdbc, read));
+
+        try (ReadReplicaRoutingDataSource.Pin pin = ReadReplicaRoutingDataSource.pinToPrimary()) {
+            assertEquals("rw_primary", whoami(jdbc, read));
+        }
+        assertEquals("rw_replica_b", whoami(jdbc, read));
+
+        assertEquals(4L, router.getStats().get("replicaRoutes"));
+        assertEquals(1L, router.getStats().get("pinnedRoutes"));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        JdbcDataSource missing = new JdbcDataSource();
+        missing.setURL("jdbc:h2:mem:rw_missing;IFEXISTS=TRUE");
+        ReadReplicaRoutingDataSource router = new ReadReplicaRoutingDataSource(h2("rw_primary_2"), List.of(missing), Duration.ofMinutes(1));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(router);
+        TransactionTemplate read = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        read.setReadOnly(true);
+
+        assertEquals("rw_primary_2", whoami(new JdbcTemplate(dataSource), read));
+        assertEquals(1, router.getStats().get("replicasDown"));
+        // Skipped outright during the cool-down
+        assertEquals("rw_primary_2", whoami(new JdbcTemplate(dataSource), read));
+        assertEquals(2L, router.getStats().get("replicaFallbacks"));
+        assertEquals(1L, router.getStats().get("replicaRoutes"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.sustainshare.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+// A database created before the migrations existed (schema from the first release, no history table) is
+// baselined at V1 and brought up to date by the later scripts, keeping its rows
+class SchemaMigrationTest {
+
+    @Test
+    void anExistingDatabaseIsBaselinedAndUpgraded() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        try (var connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO food_item (name, quantity, pickup_location, expiry_time, donor_id) VALUES ('Bread', 3, 'Depot', 'tonight', NULL)");
+
+        Flyway flyway = Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load();
+        assertEquals(7, flyway.migrate().migrationsExecuted);
+
+        assertFalse(jdbc.queryForObject("SELECT expired FROM food_item WHERE name = 'Bread'", Boolean.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM notification", Integer.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM sms_outbox", Integer.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM donation_rollup", Integer.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM rollup_checkpoint", Integer.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM charity_preference", Integer.class));
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+}
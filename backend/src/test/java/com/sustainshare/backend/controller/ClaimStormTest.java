@@ -0,0 +1,76 @@
+package com.sustainshare.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.sustainshare.backend.service.ClaimAdmissionService;
+
+// A real Tomcat with few worker threads: claims queued behind a held slot must leave threads for other endpoints
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "server.tomcat.threads.max=8",
+    "sustainshare.auth.allow-unauthenticated-ids=true",
+    "sustainshare.claims.admission.max-concurrent=1",
+    "sustainshare.claims.admission.queue-timeout-ms=5000"
+})
+class ClaimStormTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ClaimAdmissionService claimAdmissionService;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void otherEndpointsStillAnswerWhileClaimsQueue() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> claims = new ArrayList<>();
+        try (ClaimAdmissionService.Permit held = claimAdmissionService.admit(-1L, -1L)) {
+            for (int i = 0; i < 20; i++) {
+                HttpRequest claim = HttpRequest.newBuilder(uri("/api/donations/claim/" + (1_000_000 + i)))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"charityId\":" + (1_000_000 + i) + "}"))
+                        .build();
+                claims.add(client.sendAsync(claim, HttpResponse.BodyHandlers.ofString()));
+            }
+            awaitQueued(2);
+
+            long start = System.nanoTime();
+            HttpResponse<String> stats = client.send(HttpRequest.newBuilder(uri("/api/stats/claims"))
+                    .timeout(Duration.ofSeconds(4)).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, stats.statusCode());
+            assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+        }
+        long rejected = 0;
+        for (CompletableFuture<HttpResponse<String>> claim : claims) {
+            if (claim.get().statusCode() == 429) rejected++;
+        }
+        // The queue holds two of the eight worker threads; the rest of the storm is turned away at once
+        assertEquals(18, rejected);
+    }
+
+    private void awaitQueued(int queued) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Integer.valueOf(queued).equals(claimAdmissionService.getStats().get("queued")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,132 @@
+package com.sustainshare.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.security.AccessTokenService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DonationExportTest {
+
+    // Far from "now" so rows created by other tests fall outside the export window
+    private static final LocalDateTime DAY = LocalDateTime.of(2001, 3, 4, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
+    @Test
+    void csvQuotesFieldsAndHonoursTheWindow() throws Exception {
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        DonationLog claimed = donate(donor, "Rice, \"basmati\"", DAY.plusHours(2));
+        claimed.setCharity(charity);
+        claimed.setClaimedAt(DAY.plusHours(3));
+        donationLogRepository.save(claimed);
+        donate(donor, "Outside", DAY.plusDays(1));
+
+        String csv = new String(export("format=csv&from=" + DAY + "&to=" + DAY.plusDays(1)), StandardCharsets.UTF_8);
+
+        List<String> lines = csv.lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("id,donatedAt,claimedAt,donorId,donorName,charityId,charityName,foodItemId,foodName,quantity,pickupLocation",
+                lines.get(0));
+        assertTrue(lines.get(1).startsWith(claimed.getId() + "," + DAY.plusHours(2) + "," + DAY.plusHours(3) + ","));
+        assertTrue(lines.get(1).contains(",\"Rice, \"\"basmati\"\"\",3,Depot"));
+    }
+
+    @Test
+    void gzippedNdjsonHasOneObjectPerLine() throws Exception {
+        LocalDateTime day = DAY.plusDays(10);
+        User donor = newUser(userRepository, "Donor");
+        DonationLog first = donate(donor, "Bread", day.plusHours(1));
+        DonationLog second = donate(donor, "Milk", day.plusHours(2));
+
+        byte[] gz = export("format=ndjson&gzip=true&from=" + day + "&to=" + day.plusDays(1));
+        String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(gz)).readAllBytes(), StandardCharsets.UTF_8);
+
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(2, lines.size());
+        JsonNode row = objectMapper.readTree(lines.get(0));
+        assertEquals(first.getId().longValue(), row.get("id").asLong());
+        assertEquals("Bread", row.get("foodName").asText());
+        assertTrue(row.get("charityId").isNull());
+        assertEquals(second.getId().longValue(), objectMapper.readTree(lines.get(1)).get("id").asLong());
+    }
+
+    @Test
+    void unknownFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/api/donations/export?format=xml").header("Authorization", adminToken()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void onlyAdminsCanExport() throws Exception {
+        mockMvc.perform(get("/api/donations/export")).andExpect(status().isForbidden());
+        User donor = newUser(userRepository, "Donor");
+        mockMvc.perform(get("/api/donations/export")
+                        .header("Authorization", "Bearer " + accessTokenService.issue(donor.getId(), "Donor")))
+                .andExpect(status().isForbidden());
+    }
+
+    private byte[] export(String query) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/donations/export?" + query).header("Authorization", adminToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // The long timeout is set on the export alone
+        assertEquals(3_600_000L, started.getRequest().getAsyncContext().getTimeout());
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private String adminToken() {
+        return "Bearer " + accessTokenService.issue(newUser(userRepository, "Admin").getId(), "Admin");
+    }
+
+    private DonationLog donate(User donor, String foodName, LocalDateTime at) {
+        FoodItem food = foodItemRepository.save(new FoodItem(foodName, 3, "Depot", null, donor.getId()));
+        return donationLogRepository.save(new DonationLog(donor, null, food, at));
+    }
+}
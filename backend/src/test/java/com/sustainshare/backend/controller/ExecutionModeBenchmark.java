@@ -0,0 +1,193 @@
+package com.sustainshare.backend.controller;
+
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.security.AccessTokenService;
+
+// HTTP load test of /api/food/available and /api/donations/claim/{id} against a real Tomcat.
+// Run each configuration separately and compare the printed lines:
+//   platform threads:            mvn test -Dtest=ExecutionModeBenchmark -Dbenchmark=true
+//   + admission control:         ... -Dsustainshare.db.admission.enabled=true
+//   virtual threads (JDK 21+):   ... -Dspring.threads.virtual.enabled=true -Dsustainshare.db.admission.enabled=true
+// On a JDK older than 21 the virtual-thread switch is ignored by Spring Boot and the result line says so.
+// Clients run on virtual threads when the JDK has them, so the client side is not the bottleneck.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExecutionModeBenchmark {
+
+    private static final int CLIENTS = 400;
+    private static final int READS = 20_000;
+    private static final int ITEMS = 300;
+    private static final int CHARITIES_PER_ITEM = 8;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${sustainshare.db.admission.enabled:false}")
+    private boolean admission;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void availableAndClaimUnderLoad() throws Exception {
+        String mode = "server=" + (virtualThreads && Runtime.version().feature() >= 21 ? "virtual" : "platform")
+                + " admission=" + admission;
+
+        User donor = newUser(userRepository, "Donor");
+        List<Long> foodIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            FoodItem food = foodItemRepository.save(new FoodItem("Item " + i, 1, "Depot", null, donor.getId()));
+            donationLogRepository.save(new DonationLog(donor, null, food, LocalDateTime.now()));
+            foodIds.add(food.getId());
+        }
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < CHARITIES_PER_ITEM; i++) {
+            tokens.add(accessTokenService.issue(newUser(userRepository, "Charity").getId(), "Charity"));
+        }
+
+        get("/api/food/available"); // warm the cache and the connection
+
+        List<HttpRequest> reads = new ArrayList<>();
+        for (int i = 0; i < READS; i++) {
+            reads.add(HttpRequest.newBuilder(uri("/api/food/available")).GET().build());
+        }
+        run(reads, 200).print("available", mode);
+
+        List<HttpRequest> claims = new ArrayList<>();
+        for (Long foodId : foodIds) {
+            for (String token : tokens) {
+                claims.add(HttpRequest.newBuilder(uri("/api/donations/claim/" + foodId))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                        .build());
+            }
+        }
+        Collections.shuffle(claims);
+        Result claimResult = run(claims, 200);
+        claimResult.print("claim", mode);
+        if (claimResult.ok != ITEMS) {
+            throw new IllegalStateException("expected " + ITEMS + " successful claims but got " + claimResult.ok);
+        }
+        System.out.println("execution-benchmark db-stats " + get("/api/stats/db"));
+    }
+
+    private Result run(List<HttpRequest> requests, int okStatus) throws Exception {
+        ExecutorService pool = clientExecutor();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>(requests.size());
+        Semaphore inFlight = new Semaphore(CLIENTS);
+        for (HttpRequest request : requests) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                inFlight.acquire();
+                try {
+                    long t0 = System.nanoTime();
+                    int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    return new long[] { System.nanoTime() - t0, status == okStatus ? 1 : 0 };
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        List<Long> latencies = new ArrayList<>(futures.size());
+        long ok = 0;
+        for (Future<long[]> f : futures) {
+            long[] r = f.get();
+            latencies.add(r[0]);
+            ok += r[1];
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        Collections.sort(latencies);
+        return new Result(latencies, elapsed, ok);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() exists from JDK 21; looked up reflectively to compile on 17
+    private static ExecutorService clientExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(CLIENTS);
+        }
+    }
+
+    private String get(String path) throws Exception {
+        return http.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static final class Result {
+        final List<Long> sortedLatencies;
+        final long elapsedNanos;
+        final long ok;
+
+        Result(List<Long> sortedLatencies, long elapsedNanos, long ok) {
+            this.sortedLatencies = sortedLatencies;
+            this.elapsedNanos = elapsedNanos;
+            this.ok = ok;
+        }
+
+        double percentileMs(double p) {
+            int index = (int) Math.ceil(p * sortedLatencies.size()) - 1;
+            return sortedLatencies.get(Math.max(0, index)) / 1_000_000.0;
+        }
+
+        void print(String endpoint, String mode) {
+            double throughput = sortedLatencies.size() / (elapsedNanos / 1_000_000_000.0);
+            System.out.printf("execution-benchmark endpoint=%s %s requests=%d ok=%d throughput=%.0f/s p50=%.2fms p99=%.2fms max=%.2fms%n",
+                    endpoint, mode, sortedLatencies.size(), ok, throughput,
+                    percentileMs(0.50), percentileMs(0.99), percentileMs(1.0));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.sustainshare.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.security.AccessTokenService;
+import com.sustainshare.backend.service.DonationLogService;
+import com.sustainshare.backend.service.FoodEventStreamService;
+import com.sustainshare.backend.service.FoodItemService;
+
+@SpringBootTest(properties = "sustainshare.stream.buffer-size=8")
+@AutoConfigureMockMvc
+class FoodEventStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private FoodEventStreamService streamService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DonationLogService donationLogService;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
+    @Test
+    void aBulkPostLargerThanTheBufferArrivesAsOneFrame() throws Exception {
+        long resyncsBefore = streamService.getStats().get("resyncs");
+        MockHttpServletResponse stream = mockMvc.perform(get("/api/stream"))
+                .andExpect(request().asyncStarted()).andReturn().getResponse();
+
+        User donor = newUser(userRepository, "Donor");
+        List<FoodItem> items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            items.add(new FoodItem("Stream " + i, 1, "Depot", null, donor.getId()));
+        }
+        foodItemService.addFoodBatch(items);
+
+        String body = awaitContent(stream, "event:food_posted_batch");
+        assertEquals(1, body.split("event:food_posted_batch", -1).length - 1);
+        assertTrue(body.contains("\"name\":\"Stream 49\""));
+        assertFalse(body.contains("event:resync"));
+        assertEquals(resyncsBefore, streamService.getStats().get("resyncs"));
+    }
+
+    @Test
+    void resumingReplaysSmallGapsAndResyncsWhenTheReplayDoesNotFit() throws Exception {
+        MockHttpServletResponse first = mockMvc.perform(get("/api/stream"))
+                .andExpect(request().asyncStarted()).andReturn().getResponse();
+        User donor = newUser(userRepository, "Donor");
+        foodItemService.addFood(new FoodItem("Resume 0", 1, "Depot", null, donor.getId()));
+        String body = awaitContent(first, "Resume 0");
+        String lastId = body.substring(body.lastIndexOf("id:") + 3, body.indexOf('\n', body.lastIndexOf("id:")));
+
+        for (int i = 1; i <= 3; i++) {
+            foodItemService.addFood(new FoodItem("Resume " + i, 1, "Depot", null, donor.getId()));
+        }
+        String replayed = awaitContent(resume(lastId), "Resume 3");
+        assertTrue(replayed.contains("Resume 1") && replayed.contains("Resume 2"));
+        assertFalse(replayed.contains("event:resync"));
+
+        // More missed events than the 8-slot buffer holds, though still inside the replay window
+        for (int i = 4; i <= 20; i++) {
+            foodItemService.addFood(new FoodItem("Resume " + i, 1, "Depot", null, donor.getId()));
+        }
+        String overflow = awaitContent(resume(lastId), "event:resync");
+        assertTrue(overflow.contains("event:resync"));
+        assertFalse(overflow.contains("Resume"));
+
+        // An id from an earlier start of the server
+        assertTrue(awaitContent(resume("0-1"), "event:resync").contains("event:resync"));
+    }
+
+    @Test
+    void removalsReachEveryoneWithoutTheDonorsContactDetails() throws Exception {
+        User donor = newUser(userRepository, "Donor");
+        User otherDonor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        // A userId parameter no longer picks the view; only the token does
+        MockHttpServletResponse anonymous = mockMvc.perform(get("/api/stream").param("userId", donor.getId().toString()))
+                .andExpect(request().asyncStarted()).andReturn().getResponse();
+        MockHttpServletResponse asOtherDonor = mockMvc.perform(get("/api/stream")
+                        .header("Authorization", "Bearer " + accessTokenService.issue(otherDonor.getId(), "Donor")))
+                .andExpect(request().asyncStarted()).andReturn().getResponse();
+
+        FoodItem food = new FoodItem("Removal", 1, "Depot", null, donor.getId());
+        food.setDonorPhone("555-0199");
+        foodItemService.addFood(food);
+        assertTrue(donationLogService.claimFood(food.getId(), charity.getId()).isPresent());
+
+        String body = awaitContent(anonymous, "event:food_claimed");
+        assertTrue(body.contains("event:food_posted"));
+        assertTrue(body.contains("event:food_claimed"));
+        assertFalse(body.contains("555-0199"));
+        assertFalse(body.contains("donorPhone"));
+        // Another donor does not see the posting, but does see the item go
+        String other = awaitContent(asOtherDonor, "event:food_claimed");
+        assertTrue(other.contains("event:food_claimed"));
+        assertFalse(other.contains("event:food_posted"));
+    }
+
+    private MockHttpServletResponse resume(String lastEventId) throws Exception {
+        return mockMvc.perform(get("/api/stream").header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted()).andReturn().getResponse();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = response.getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = response.getContentAsString();
+        }
+        return body;
+    }
+}
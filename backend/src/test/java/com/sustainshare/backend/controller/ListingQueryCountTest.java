@@ -0,0 +1,180 @@
+package com.sustainshare.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.jayway.jsonpath.JsonPath;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.security.AccessTokenService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Listing endpoints must cost one SQL statement per request, not 1 + 3N entity loads
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListingQueryCountTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private PickupScheduleRepository pickupScheduleRepository;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
+    private Statistics statistics;
+    private Long charityId;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < ROWS; i++) {
+            User donor = newUser(userRepository, "Donor");
+            User charity = newUser(userRepository, "Charity");
+            FoodItem food = foodItemRepository.save(new FoodItem("Item " + i, i + 1, "Depot " + i, null, donor.getId()));
+            DonationLog log = new DonationLog(donor, charity, food, LocalDateTime.now());
+            log.setClaimedAt(LocalDateTime.now());
+            donationLogRepository.save(log);
+            pickupScheduleRepository.save(new PickupSchedule(LocalDateTime.now().plusHours(i), "Scheduled", food, charity));
+            charityId = charity.getId();
+        }
+    }
+
+    @Test
+    void donationListIsOneStatement() throws Exception {
+        assertStatements(1, "/api/donations");
+    }
+
+    @Test
+    void donationPageIsOneStatement() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/donations").param("limit", "3").param("claimed", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].donor.password").doesNotExist());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void pickupListIsOneStatement() throws Exception {
+        assertStatements(1, "/api/pickups");
+    }
+
+    @Test
+    void pickupPageIsOneStatement() throws Exception {
+        assertStatements(1, "/api/pickups?limit=3&charityId=" + charityId);
+    }
+
+    // The bearer token is verified in memory, so authorizing adds no users lookup
+    @Test
+    void notificationFeedIsOneStatement() throws Exception {
+        String token = accessTokenService.issue(charityId, "Charity");
+        assertStatements(1, "/api/notifications/user/" + charityId, token);
+    }
+
+    @Test
+    void notificationFeedOfAnotherUserIsForbidden() throws Exception {
+        String token = accessTokenService.issue(charityId + 1, "Charity");
+        mockMvc.perform(get("/api/notifications/user/" + charityId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    // Two pages of one donor's items: nothing repeated or skipped across the cursor, newest first
+    @Test
+    void cursorWalksAFilteredListWithoutGapsOrRepeats() throws Exception {
+        User donor = newUser(userRepository, "Donor");
+        List<Long> posted = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            posted.add(foodItemRepository.save(new FoodItem("Walk " + i, 1, "Depot", null, donor.getId())).getId());
+        }
+        // Other donors' items in between must not show up
+        User other = newUser(userRepository, "Donor");
+        foodItemRepository.save(new FoodItem("Other", 1, "Depot", null, other.getId()));
+
+        String first = mockMvc.perform(get("/api/food").param("donorId", donor.getId().toString()).param("limit", "4"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        List<Number> firstIds = JsonPath.read(first, "$.items[*].id");
+        Number cursor = JsonPath.read(first, "$.nextCursor");
+        assertEquals(4, firstIds.size());
+        assertNotNull(cursor);
+
+        String second = mockMvc.perform(get("/api/food").param("donorId", donor.getId().toString()).param("limit", "4")
+                        .param("cursor", cursor.toString()))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        List<Number> secondIds = JsonPath.read(second, "$.items[*].id");
+        assertNull(JsonPath.read(second, "$.nextCursor"));
+
+        List<Long> walked = new ArrayList<>();
+        firstIds.forEach(id -> walked.add(id.longValue()));
+        secondIds.forEach(id -> walked.add(id.longValue()));
+        List<Long> expected = new ArrayList<>(posted);
+        Collections.reverse(expected);
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void userPageLeavesOutPrivateFields() throws Exception {
+        mockMvc.perform(get("/api/users").param("role", "Charity").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].role").value("Charity"))
+                .andExpect(jsonPath("$.items[0].password").doesNotExist())
+                .andExpect(jsonPath("$.items[0].email").doesNotExist());
+    }
+
+    private void assertStatements(long expected, String url) throws Exception {
+        assertStatements(expected, url, null);
+    }
+
+    private void assertStatements(long expected, String url, String token) throws Exception {
+        MockHttpServletRequestBuilder request = get(url);
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        assertEquals(expected, statistics.getPrepareStatementCount(), url);
+    }
+}
@@ -0,0 +1,109 @@
+package com.sustainshare.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.security.AccessTokenService;
+import com.sustainshare.backend.service.DonationLogService;
+import com.sustainshare.backend.service.DonationLogService.ClaimMode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DonationLogService donationLogService;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @ParameterizedTest
+    @EnumSource(ClaimMode.class)
+    void claimOutcomesAreCountedPerMode(ClaimMode mode) {
+        User donor = newUser(userRepository, "Donor");
+        User first = newUser(userRepository, "Charity");
+        User second = newUser(userRepository, "Charity");
+        double won = claims("won", mode);
+        double lost = claims("lost", mode);
+        double invalid = claims("invalid", mode);
+
+        Long foodId = donate(donor).getFoodItem().getId();
+        assertTrue(donationLogService.claimFood(foodId, first.getId(), mode).isPresent());
+        assertTrue(donationLogService.claimFood(foodId, second.getId(), mode).isEmpty());
+        assertTrue(donationLogService.claimFood(donate(donor).getFoodItem().getId(), -1L, mode).isEmpty());
+        // Without a log the claim takes the locking path, but is still counted under the mode it asked for
+        FoodItem unlogged = foodItemRepository.save(new FoodItem("Bread", 1, "Depot", null, donor.getId()));
+        assertTrue(donationLogService.claimFood(unlogged.getId(), first.getId(), mode).isPresent());
+
+        assertEquals(won + 2, claims("won", mode));
+        assertEquals(lost + 1, claims("lost", mode));
+        assertEquals(invalid + 1, claims("invalid", mode));
+        assertTrue(meterRegistry.get("sustainshare.claims.lock.wait").tag("mode", mode.name()).timer().count() >= 3);
+    }
+
+    @Test
+    void prometheusScrapeCoversFeedStatementsAndPool() throws Exception {
+        User charity = newUser(userRepository, "Charity");
+        mockMvc.perform(get("/api/notifications/user/" + charity.getId())
+                        .header("Authorization", "Bearer " + accessTokenService.issue(charity.getId(), "Charity")))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("sustainshare_notifications_feed_size_bytes_count"));
+        assertTrue(scrape.contains("sustainshare_notifications_feed_build_seconds_bucket"));
+        assertTrue(scrape.contains("sustainshare_http_db_statements_count{method=\"GET\",uri=\"/api/notifications/user/{userId}\"}"));
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket"));
+        assertTrue(scrape.contains("hikaricp_connections_active"));
+    }
+
+    private double claims(String outcome, ClaimMode mode) {
+        var counter = meterRegistry.find("sustainshare.claims").tag("outcome", outcome).tag("mode", mode.name()).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private DonationLog donate(User donor) {
+        FoodItem food = foodItemRepository.save(new FoodItem("Soup", 2, "Depot", null, donor.getId()));
+        return donationLogRepository.save(new DonationLog(donor, null, food, LocalDateTime.now()));
+    }
+}
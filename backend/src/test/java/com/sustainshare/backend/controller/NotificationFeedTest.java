@@ -0,0 +1,135 @@
+package com.sustainshare.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.jayway.jsonpath.JsonPath;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.security.AccessTokenService;
+import com.sustainshare.backend.service.FoodItemService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class NotificationFeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
+    // Posting fans out one row per charity and per admin, each with its own type
+    @Test
+    void postingReachesEveryCharityAndAdmin() throws Exception {
+        User donor = newUser(userRepository, "Donor");
+        User first = newUser(userRepository, "Charity");
+        User second = newUser(userRepository, "Charity");
+        User admin = newUser(userRepository, "Admin");
+
+        foodItemService.addFood(new FoodItem("Fan-out", 2, "Depot", null, donor.getId()));
+
+        for (User charity : List.of(first, second)) {
+            String page = feed(charity, null, null);
+            assertEquals("food_posted", JsonPath.read(page, "$.items[0].type"));
+            assertEquals("Fan-out", JsonPath.read(page, "$.items[0].foodName"));
+            assertEquals(donor.getName(), JsonPath.read(page, "$.items[0].donorName"));
+            assertEquals(false, JsonPath.read(page, "$.items[0].isRead"));
+        }
+        assertEquals("food_donated", JsonPath.read(feed(admin, null, null), "$.items[0].type"));
+        assertEquals(0, ((List<?>) JsonPath.read(feed(donor, null, null), "$.items")).size());
+    }
+
+    // Two pages through the feed: newest first, nothing repeated or skipped across the cursor
+    @Test
+    void afterCursorWalksTheFeedWithoutGapsOrRepeats() throws Exception {
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        for (int i = 0; i < 5; i++) {
+            foodItemService.addFood(new FoodItem("Feed " + i, 1, "Depot", null, donor.getId()));
+        }
+
+        String first = feed(charity, null, 3);
+        List<String> walked = new ArrayList<>(JsonPath.read(first, "$.items[*].foodName"));
+        Number cursor = JsonPath.read(first, "$.nextCursor");
+        assertNotNull(cursor);
+        String second = feed(charity, cursor.longValue(), 3);
+        walked.addAll(JsonPath.read(second, "$.items[*].foodName"));
+        assertNull(JsonPath.read(second, "$.nextCursor"));
+
+        assertEquals(List.of("Feed 4", "Feed 3", "Feed 2", "Feed 1", "Feed 0"), walked);
+    }
+
+    @Test
+    void readStateFollowsSingleAndBulkMarks() throws Exception {
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        User other = newUser(userRepository, "Charity");
+        for (int i = 0; i < 3; i++) {
+            foodItemService.addFood(new FoodItem("Unread " + i, 1, "Depot", null, donor.getId()));
+        }
+        assertUnread(charity, 3);
+
+        Number newest = JsonPath.read(feed(charity, null, 1), "$.items[0].id");
+        // Someone else's notification is not found, and marking it changes nothing
+        perform(put("/api/notifications/user/" + other.getId() + "/" + newest + "/read"), other)
+                .andExpect(status().isNotFound());
+        assertUnread(charity, 3);
+
+        perform(put("/api/notifications/user/" + charity.getId() + "/" + newest + "/read"), charity)
+                .andExpect(status().isNoContent());
+        assertUnread(charity, 2);
+        assertEquals(true, JsonPath.read(feed(charity, null, 1), "$.items[0].isRead"));
+
+        perform(put("/api/notifications/user/" + charity.getId() + "/read"), charity)
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+        assertUnread(charity, 0);
+        assertUnread(other, 3);
+    }
+
+    private String feed(User user, Long after, Integer limit) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/notifications/user/" + user.getId());
+        if (after != null) {
+            request.param("after", after.toString());
+        }
+        if (limit != null) {
+            request.param("limit", limit.toString());
+        }
+        return perform(request, user).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    }
+
+    private void assertUnread(User user, long expected) throws Exception {
+        perform(get("/api/notifications/user/" + user.getId() + "/unread/count"), user)
+                .andExpect(status().isOk())
+                .andExpect(content().string(Long.toString(expected)));
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request, User user) throws Exception {
+        return mockMvc.perform(request.header("Authorization", "Bearer " + accessTokenService.issue(user.getId(), user.getRole())));
+    }
+}
@@ -0,0 +1,359 @@
+package com.sustainshare.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sustainshare.backend.BackendApplication;
+
+// Open-model load generator: each scenario fires requests at its own arrival rate whether or not earlier
+// requests have finished, and latency is measured from the intended send time, so a slow server shows up
+// as latency instead of silently lowering the offered load. Mix: donors posting food, charities polling and
+// claiming, admins reading notifications and stats, all through the real HTTP stack with login tokens.
+//
+// Options (--key=value): target (default: start the app in-process with the "loadtest" profile),
+// duration=60, warmup=10 (seconds, excluded from the report), arrivals=poisson|constant,
+// rate.post=5, rate.poll=50, rate.claim=5, rate.notifications=10, rate.stats=5 (requests/second),
+// donors=5, charities=10, max-in-flight=2000, max-error-rate=0.01, p99-budget-ms (optional), report=<json path>.
+// Exit code 1 when the error rate or a p99 exceeds its budget.
+public class LoadGenerator {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Map<String, String> options;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentLinkedDeque<Long> claimable = new ConcurrentLinkedDeque<>();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private String target;
+    private long measureFromNanos;
+
+    private final List<Account> donors = new ArrayList<>();
+    private final List<Account> charities = new ArrayList<>();
+    private Account admin;
+
+    LoadGenerator(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        ConfigurableApplicationContext context = null;
+        if (!options.containsKey("target")) {
+            // devtools would re-run main() in a restart classloader without these arguments
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            context = new SpringApplicationBuilder(BackendApplication.class)
+                    .profiles("loadtest")
+                    .properties("server.port=0", "spring.main.banner-mode=off")
+                    .run();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            options.put("target", "http://localhost:" + port);
+        }
+        boolean passed;
+        try {
+            passed = new LoadGenerator(options).run();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    boolean run() throws Exception {
+        target = options.get("target");
+        int durationSec = intOption("duration", 60);
+        int warmupSec = intOption("warmup", 10);
+        setUpAccounts(intOption("donors", 5), intOption("charities", 10));
+
+        List<Scenario> scenarios = List.of(
+                new Scenario("POST /api/food", doubleOption("rate.post", 5), this::postFood, this::rememberPosted),
+                new Scenario("GET /api/food/available", doubleOption("rate.poll", 50), this::pollAvailable, null),
+                new Scenario("POST /api/donations/claim/{id}", doubleOption("rate.claim", 5), this::claim, null),
+                new Scenario("GET /api/notifications/user/{id}", doubleOption("rate.notifications", 10), this::readNotifications, null),
+                new Scenario("GET /api/stats", doubleOption("rate.stats", 5), this::readStats, null));
+        for (Scenario s : scenarios) {
+            stats.put(s.name, new EndpointStats());
+        }
+
+        System.out.printf("loadtest target=%s duration=%ds warmup=%ds arrivals=%s%n",
+                target, durationSec, warmupSec, options.getOrDefault("arrivals", "poisson"));
+        long start = System.nanoTime();
+        measureFromNanos = start + TimeUnit.SECONDS.toNanos(warmupSec);
+        long end = measureFromNanos + TimeUnit.SECONDS.toNanos(durationSec);
+        List<Thread> drivers = new ArrayList<>();
+        for (Scenario s : scenarios) {
+            Thread t = new Thread(() -> drive(s, start, end), "loadtest-" + s.name);
+            t.start();
+            drivers.add(t);
+        }
+        for (Thread t : drivers) {
+            t.join();
+        }
+        long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(50);
+        }
+        return report(durationSec);
+    }
+
+    // Fires requests at the scenario's arrival rate until end; never waits for responses
+    private void drive(Scenario scenario, long start, long end) {
+        if (scenario.rate <= 0) return;
+        boolean poisson = !"constant".equals(options.getOrDefault("arrivals", "poisson"));
+        int maxInFlight = intOption("max-in-flight", 2000);
+        double meanGapNanos = 1_000_000_000.0 / scenario.rate;
+        long next = start;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long intended = next;
+            next += (long) (poisson ? -Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos : meanGapNanos);
+
+            EndpointStats endpoint = stats.get(scenario.name);
+            boolean measured = intended >= measureFromNanos;
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) endpoint.dropped();
+                continue;
+            }
+            HttpRequest request = scenario.request.get();
+            if (request == null) continue; // nothing to do yet (e.g. no unclaimed item)
+            inFlight.incrementAndGet();
+            http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                long latency = System.nanoTime() - intended;
+                int status = error != null ? 0 : response.statusCode();
+                if (measured) endpoint.record(latency, status);
+                if (error == null && status / 100 == 2 && scenario.onSuccess != null) {
+                    scenario.onSuccess.accept(response.body());
+                }
+            });
+        }
+    }
+
+    private HttpRequest postFood() {
+        Account donor = pick(donors);
+        Map<String, Object> food = new LinkedHashMap<>();
+        food.put("name", "Load item " + UUID.randomUUID().toString().substring(0, 8));
+        food.put("quantity", 1 + ThreadLocalRandom.current().nextInt(20));
+        food.put("pickupLocation", "Depot " + ThreadLocalRandom.current().nextInt(50));
+        food.put("expiryTime", LocalDateTime.now().plusHours(6).withNano(0).toString());
+        food.put("donorId", donor.id);
+        food.put("latitude", 17.3 + ThreadLocalRandom.current().nextDouble(0.2));
+        food.put("longitude", 78.4 + ThreadLocalRandom.current().nextDouble(0.2));
+        return json(donor, "/api/food", food);
+    }
+
+    private void rememberPosted(String body) {
+        try {
+            claimable.add(JSON.readTree(body).get("id").asLong());
+        } catch (IOException e) {
+            // response without an id; nothing to claim
+        }
+    }
+
+    private HttpRequest pollAvailable() {
+        return get(pick(charities), "/api/food/available");
+    }
+
+    private HttpRequest claim() {
+        Long foodId = claimable.pollFirst();
+        return foodId == null ? null : json(pick(charities), "/api/donations/claim/" + foodId, Map.of());
+    }
+
+    private HttpRequest readNotifications() {
+        return get(admin, "/api/notifications/user/" + admin.id + "?limit=20");
+    }
+
+    private HttpRequest readStats() {
+        return get(admin, "/api/stats");
+    }
+
+    private void setUpAccounts(int donorCount, int charityCount) throws Exception {
+        for (int i = 0; i < donorCount; i++) donors.add(signUp("Donor"));
+        for (int i = 0; i < charityCount; i++) charities.add(signUp("Charity"));
+        admin = signUp("Admin");
+    }
+
+    private Account signUp(String role) throws Exception {
+        String unique = UUID.randomUUID().toString().substring(0, 12);
+        Map<String, Object> user = Map.of("name", role + " " + unique, "username", unique,
+                "email", unique + "@loadtest.example", "phone", unique, "password", "pass", "role", role);
+        send(HttpRequest.newBuilder(uri("/api/auth/signup")).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(user))).build());
+        JsonNode login = JSON.readTree(send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(
+                        Map.of("email", unique + "@loadtest.example", "password", "pass")))).build()));
+        return new Account(login.get("id").asLong(), login.get("token").asText());
+    }
+
+    private String send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private HttpRequest get(Account account, String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + account.token).GET().build();
+    }
+
+    private HttpRequest json(Account account, String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .header("Authorization", "Bearer " + account.token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean report(int durationSec) throws IOException {
+        double maxErrorRate = doubleOption("max-error-rate", 0.01);
+        Double p99Budget = options.containsKey("p99-budget-ms") ? doubleOption("p99-budget-ms", 0) : null;
+        boolean passed = true;
+        Map<String, Object> json = new LinkedHashMap<>();
+        System.out.printf("%-36s %8s %9s %9s %9s %9s %9s %8s %8s%n",
+                "endpoint", "requests", "rps", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors", "409s");
+        for (Map.Entry<String, EndpointStats> e : stats.entrySet()) {
+            Map<String, Object> row = e.getValue().summary(durationSec);
+            json.put(e.getKey(), row);
+            System.out.printf("%-36s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %7.2f%% %8d%n", e.getKey(),
+                    row.get("requests"), row.get("throughput"), row.get("p50Ms"), row.get("p95Ms"),
+                    row.get("p99Ms"), row.get("maxMs"), 100 * (double) row.get("errorRate"), row.get("conflicts"));
+            if ((double) row.get("errorRate") > maxErrorRate) passed = false;
+            if (p99Budget != null && (double) row.get("p99Ms") > p99Budget) passed = false;
+        }
+        System.out.println("loadtest " + (passed ? "PASSED" : "FAILED"));
+        String reportPath = options.get("report");
+        if (reportPath != null) {
+            Path path = Path.of(reportPath);
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            JSON.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), json);
+        }
+        return passed;
+    }
+
+    private URI uri(String path) {
+        return URI.create(target + path);
+    }
+
+    private int intOption(String key, int fallback) {
+        return options.containsKey(key) ? Integer.parseInt(options.get(key)) : fallback;
+    }
+
+    private double doubleOption(String key, double fallback) {
+        return options.containsKey(key) ? Double.parseDouble(options.get(key)) : fallback;
+    }
+
+    private static <T> T pick(List<T> list) {
+        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
+    }
+
+    private static final class Account {
+        final long id;
+        final String token;
+
+        Account(long id, String token) {
+            this.id = id;
+            this.token = token;
+        }
+    }
+
+    private static final class Scenario {
+        final String name;
+        final double rate;
+        final Supplier<HttpRequest> request;
+        final Consumer<String> onSuccess;
+
+        Scenario(String name, double rate, Supplier<HttpRequest> request, Consumer<String> onSuccess) {
+            this.name = name;
+            this.rate = rate;
+            this.request = request;
+            this.onSuccess = onSuccess;
+        }
+    }
+
+    // 2xx counts as success, 409 as a legitimate lost race, anything else (or no response) as an error
+    private static final class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long conflicts;
+        private long dropped;
+
+        synchronized void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status == 409) conflicts++;
+            else if (status / 100 != 2) errors++;
+        }
+
+        synchronized void dropped() {
+            dropped++;
+        }
+
+        synchronized Map<String, Object> summary(int durationSec) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            long attempts = count + dropped;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", (long) count);
+            row.put("throughput", count / (double) durationSec);
+            row.put("p50Ms", percentileMs(sorted, 0.50));
+            row.put("p95Ms", percentileMs(sorted, 0.95));
+            row.put("p99Ms", percentileMs(sorted, 0.99));
+            row.put("maxMs", percentileMs(sorted, 1.0));
+            row.put("errors", errors);
+            row.put("conflicts", conflicts);
+            row.put("dropped", dropped);
+            row.put("errorRate", attempts == 0 ? 0.0 : (errors + dropped) / (double) attempts);
+            return row;
+        }
+
+        private static double percentileMs(long[] sorted, double p) {
+            if (sorted.length == 0) return 0.0;
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
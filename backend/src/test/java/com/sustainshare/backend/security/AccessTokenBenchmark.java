@@ -0,0 +1,53 @@
+package com.sustainshare.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+// Cost of verifying one bearer token, i.e. what every authenticated request now pays instead of a users lookup.
+// Run with: mvn test -Dtest=AccessTokenBenchmark -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AccessTokenBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+    private static final int THREADS = 4;
+
+    private final AccessTokenService tokens = new AccessTokenService("0123456789abcdef0123456789abcdef", Duration.ofHours(1));
+
+    @Test
+    void verifyCost() throws Exception {
+        String token = tokens.issue(12345L, "Charity");
+        verify(token, WARMUP);
+
+        long start = System.nanoTime();
+        verify(token, ITERATIONS);
+        long singleNanos = System.nanoTime() - start;
+
+        Thread[] workers = new Thread[THREADS];
+        start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            workers[t] = new Thread(() -> verify(token, ITERATIONS));
+            workers[t].start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        long parallelNanos = System.nanoTime() - start;
+
+        System.out.printf("verify, 1 thread : %.0f ns/op%n", (double) singleNanos / ITERATIONS);
+        System.out.printf("verify, %d threads: %.0f ops/ms total%n", THREADS,
+                (double) ITERATIONS * THREADS / (parallelNanos / 1_000_000.0));
+    }
+
+    private void verify(String token, int times) {
+        boolean ok = true;
+        for (int i = 0; i < times; i++) {
+            ok &= tokens.verify(token).isPresent();
+        }
+        assertTrue(ok);
+    }
+}
@@ -0,0 +1,50 @@
+package com.sustainshare.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+class AccessTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final AccessTokenService tokens = new AccessTokenService(SECRET, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void issuedTokenVerifiesToItsUserAndRole() {
+        AuthenticatedUser user = tokens.verify(tokens.issue(42L, "Charity")).orElseThrow();
+
+        assertEquals(42L, user.getId());
+        assertEquals("Charity", user.getRole());
+        assertTrue(user.canActFor(42L));
+        assertTrue(!user.canActFor(43L));
+    }
+
+    @Test
+    void tamperedForeignAndExpiredTokensAreRejected() {
+        String token = tokens.issue(7L, "Donor");
+        String otherPayload = tokens.issue(8L, "Admin").split("\\.")[0];
+        AccessTokenService otherKey = new AccessTokenService(SECRET.toUpperCase(), Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+        AccessTokenService later = new AccessTokenService(SECRET, Duration.ofHours(1), Clock.fixed(NOW.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+
+        assertTrue(tokens.verify(otherPayload + token.substring(token.indexOf('.'))).isEmpty());
+        assertTrue(otherKey.verify(token).isEmpty());
+        assertTrue(later.verify(token).isEmpty());
+        assertTrue(tokens.verify("dummy-token").isEmpty());
+        assertTrue(tokens.verify("a.b.c").isEmpty());
+        assertTrue(tokens.verify("%%%.%%%").isEmpty());
+    }
+
+    @Test
+    void shortSecretIsRefused() {
+        assertThrows(IllegalArgumentException.class, () -> new AccessTokenService("too-short", Duration.ofHours(1)));
+    }
+}
@@ -0,0 +1,136 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+// Each test drives its own cache instance by hand, so the counters start at zero and events arrive only when sent
+@SpringBootTest
+class AvailableFoodCacheTest {
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void aCappedCacheHoldsTheNewestItemsAndReadsTheRestFromTheDatabase() {
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        for (int i = 0; i < 3; i++) {
+            foodItemRepository.save(new FoodItem("Capped " + i, 1, "Depot", null, donor.getId()));
+        }
+        AvailableFoodCache cache = cache(AvailableFoodCache.Mode.LOCAL, 2);
+
+        assertEquals(availableIds(), ids(cache.getAvailable()));
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(2, stats.get("size"));
+        assertEquals(true, stats.get("truncated"));
+        assertEquals(1L, stats.get("tailQueries"));
+        long cachedFrom = (Long) stats.get("cachedFromId");
+
+        // A new post pushes the oldest cached item down to the database part
+        FoodItem posted = foodItemRepository.save(new FoodItem("Capped new", 1, "Depot", null, donor.getId()));
+        cache.onFoodEvent(FoodEvent.posted(posted));
+        assertEquals(availableIds(), ids(cache.getAvailable()));
+        assertEquals(2, cache.getStats().get("size"));
+        assertTrue((Long) cache.getStats().get("cachedFromId") > cachedFrom);
+
+        DonationLog claim = new DonationLog(donor, charity, posted, LocalDateTime.now());
+        claim.setClaimedAt(LocalDateTime.now());
+        donationLogRepository.save(claim);
+        cache.onFoodEvent(FoodEvent.claimed(posted, charity.getId()));
+        List<Long> listed = ids(cache.getAvailable());
+        assertFalse(listed.contains(posted.getId()));
+        assertEquals(availableIds(), listed);
+        assertEquals(1, cache.getStats().get("size"));
+    }
+
+    @Test
+    void countersTrackHitsMissesReloadsAndUpdates() {
+        User donor = newUser(userRepository, "Donor");
+        AvailableFoodCache cache = cache(AvailableFoodCache.Mode.LOCAL, 50000);
+        assertNull(cache.getStats().get("stalenessMs"));
+
+        cache.getAvailable();
+        cache.getAvailable();
+        FoodItem posted = foodItemRepository.save(new FoodItem("Counted", 1, "Depot", null, donor.getId()));
+        cache.onFoodEvent(FoodEvent.posted(posted));
+        assertTrue(ids(cache.getAvailable()).contains(posted.getId()));
+
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(2L, stats.get("hits"));
+        assertEquals(1L, stats.get("reloads"));
+        assertEquals(1L, stats.get("updates"));
+        assertEquals(false, stats.get("truncated"));
+        assertEquals(0L, stats.get("tailQueries"));
+        assertNotNull(stats.get("stalenessMs"));
+
+        AvailableFoodCache off = cache(AvailableFoodCache.Mode.OFF, 50000);
+        off.getAvailable();
+        off.onFoodEvent(FoodEvent.posted(posted));
+        assertEquals(1L, off.getStats().get("misses"));
+        assertEquals(0L, off.getStats().get("reloads"));
+        assertEquals(0L, off.getStats().get("updates"));
+    }
+
+    // A write made by another instance publishes no event here; only the periodic reload finds it
+    @Test
+    void boundedStalenessPicksUpOtherInstancesWritesOnRefresh() {
+        User donor = newUser(userRepository, "Donor");
+        AvailableFoodCache bounded = cache(AvailableFoodCache.Mode.BOUNDED_STALENESS, 50000);
+        AvailableFoodCache local = cache(AvailableFoodCache.Mode.LOCAL, 50000);
+        bounded.getAvailable();
+        local.getAvailable();
+
+        FoodItem elsewhere = foodItemRepository.save(new FoodItem("Other node", 1, "Depot", null, donor.getId()));
+        assertFalse(ids(bounded.getAvailable()).contains(elsewhere.getId()));
+
+        bounded.scheduledRefresh();
+        local.scheduledRefresh();
+        assertTrue(ids(bounded.getAvailable()).contains(elsewhere.getId()));
+        assertEquals(2L, bounded.getStats().get("reloads"));
+        assertEquals(1L, local.getStats().get("reloads"));
+    }
+
+    private AvailableFoodCache cache(AvailableFoodCache.Mode mode, int maxEntries) {
+        AvailableFoodCache cache = new AvailableFoodCache();
+        ReflectionTestUtils.setField(cache, "foodItemRepository", foodItemRepository);
+        ReflectionTestUtils.setField(cache, "mode", mode);
+        ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+        return cache;
+    }
+
+    private List<Long> availableIds() {
+        return foodItemRepository.findAllAvailable().stream().map(FoodItem::getId).sorted().toList();
+    }
+
+    private static List<Long> ids(List<FoodItem> items) {
+        return items.stream().map(FoodItem::getId).toList();
+    }
+}
@@ -0,0 +1,160 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.FoodItem;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ClaimAdmissionServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void eachCharityIsLimitedByItsOwnTokenBucket() {
+        ClaimAdmissionService admission = admission(1, 2, 0, 10, 10, 1000);
+        admission.admit(1L, 100L).close();
+        admission.admit(1L, 101L).close();
+        ClaimRejectedException e = assertThrows(ClaimRejectedException.class, () -> admission.admit(1L, 102L));
+        assertEquals(ClaimRejectedException.Reason.RATE_LIMITED, e.getReason());
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+        admission.admit(2L, 102L).close();
+        assertEquals(1.0, registry.counter("sustainshare.claims.admission", "outcome", "rate_limited").count());
+    }
+
+    @Test
+    void claimsForOneItemAreCappedAndTakenItemsAreTurnedAwayAtOnce() {
+        ClaimAdmissionService admission = admission(0, 1, 2, 10, 10, 1000);
+        ClaimAdmissionService.Permit first = admission.admit(1L, 200L);
+        ClaimAdmissionService.Permit second = admission.admit(2L, 200L);
+        assertEquals(ClaimRejectedException.Reason.ITEM_BUSY, reason(() -> admission.admit(3L, 200L)));
+        admission.admit(3L, 201L).close();
+        first.close();
+        second.close();
+
+        FoodItem food = new FoodItem("Bread", 1, "Depot", null, 1L);
+        food.setId(200L);
+        admission.onFoodEvent(FoodEvent.claimed(food, 1L));
+        ClaimRejectedException e = assertThrows(ClaimRejectedException.class, () -> admission.admit(3L, 200L));
+        assertEquals(ClaimRejectedException.Reason.TAKEN, e.getReason());
+        assertEquals(0, e.getRetryAfterSeconds());
+    }
+
+    @Test
+    void waitersAreServedRoundRobinAcrossCharities() throws InterruptedException {
+        ClaimAdmissionService admission = admission(0, 1, 0, 1, 10, 5000);
+        ClaimAdmissionService.Permit held = admission.admit(9L, 1L);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        // Charity 1 queues three claims before charity 2 queues one
+        String[] waiters = { "1a", "1b", "1c", "2a" };
+        for (int i = 0; i < waiters.length; i++) {
+            String name = waiters[i];
+            long charityId = name.charAt(0) - '0';
+            long foodItemId = 10 + i;
+            Thread t = new Thread(() -> {
+                try (ClaimAdmissionService.Permit permit = admission.admit(charityId, foodItemId)) {
+                    order.add(name);
+                }
+            });
+            t.start();
+            threads.add(t);
+            awaitQueued(admission, i + 1);
+        }
+        held.close();
+        for (Thread t : threads) {
+            t.join(5000);
+        }
+        assertEquals(List.of("1a", "2a", "1b", "1c"), order);
+        assertEquals(0, admission.getStats().get("inFlight"));
+    }
+
+    @Test
+    void aFullQueueAndALongWaitAreRejected() throws InterruptedException {
+        ClaimAdmissionService admission = admission(0, 1, 0, 1, 1, 5000);
+        ClaimAdmissionService.Permit held = admission.admit(1L, 1L);
+        Thread waiter = new Thread(() -> admission.admit(2L, 2L).close());
+        waiter.start();
+        awaitQueued(admission, 1);
+        assertEquals(ClaimRejectedException.Reason.QUEUE_FULL, reason(() -> admission.admit(3L, 3L)));
+        held.close();
+        waiter.join(5000);
+
+        ClaimAdmissionService waiting = admission(0, 1, 0, 1, 5, 50);
+        ClaimAdmissionService.Permit busy = waiting.admit(1L, 1L);
+        assertEquals(ClaimRejectedException.Reason.TIMED_OUT, reason(() -> waiting.admit(2L, 2L)));
+        assertEquals(0, waiting.getStats().get("queued"));
+        busy.close();
+    }
+
+    // Burst 1 and next to no refill: a second claim from charity 1 is only admitted if the rejected ones cost nothing
+    @Test
+    void onlyAdmittedClaimsSpendAToken() throws InterruptedException {
+        ClaimAdmissionService admission = admission(0.001, 1, 1, 1, 1, 50);
+        ClaimAdmissionService.Permit held = admission.admit(9L, 300L);
+        assertEquals(ClaimRejectedException.Reason.ITEM_BUSY, reason(() -> admission.admit(1L, 300L)));
+        assertEquals(ClaimRejectedException.Reason.TIMED_OUT, reason(() -> admission.admit(1L, 301L)));
+
+        Thread waiter = new Thread(() -> admission.admit(8L, 302L).close());
+        waiter.start();
+        awaitQueued(admission, 1);
+        assertEquals(ClaimRejectedException.Reason.QUEUE_FULL, reason(() -> admission.admit(1L, 303L)));
+        held.close();
+        waiter.join(5000);
+
+        admission.admit(1L, 304L).close();
+        assertEquals(ClaimRejectedException.Reason.RATE_LIMITED, reason(() -> admission.admit(1L, 305L)));
+    }
+
+    @Test
+    void refilledBucketsArePrunedAndUsedOnesKept() throws InterruptedException {
+        ClaimAdmissionService fast = admission(1000, 1, 0, 10, 10, 1000);
+        for (long charityId = 1; charityId <= 3; charityId++) {
+            fast.admit(charityId, 400L + charityId).close();
+        }
+        assertEquals(3, fast.getStats().get("trackedCharities"));
+        Thread.sleep(10);
+        fast.pruneIdleBuckets();
+        assertEquals(0, fast.getStats().get("trackedCharities"));
+
+        ClaimAdmissionService slow = admission(0.001, 2, 0, 10, 10, 1000);
+        slow.admit(1L, 500L).close();
+        slow.pruneIdleBuckets();
+        assertEquals(1, slow.getStats().get("trackedCharities"));
+        // Pruning must not hand back the spent token
+        slow.admit(1L, 501L).close();
+        assertEquals(ClaimRejectedException.Reason.RATE_LIMITED, reason(() -> slow.admit(1L, 502L)));
+    }
+
+    @Test
+    void theQueueStaysWellBelowTheWorkerThreads() {
+        ClaimAdmissionService derived = new ClaimAdmissionService(registry, true, 0, 1, 0, 1, 10, 0, 200, 1000, 1000);
+        assertEquals(50, derived.getStats().get("maxQueue"));
+        ClaimAdmissionService capped = new ClaimAdmissionService(registry, true, 0, 1, 0, 1, 10, 500, 200, 1000, 1000);
+        assertEquals(100, capped.getStats().get("maxQueue"));
+    }
+
+    private ClaimAdmissionService admission(double rate, double burst, int maxPerItem, int maxConcurrent, int maxQueue, long timeoutMs) {
+        return new ClaimAdmissionService(registry, true, rate, burst, maxPerItem, maxConcurrent, 10, maxQueue, 200, timeoutMs, 1000);
+    }
+
+    private static ClaimRejectedException.Reason reason(Runnable claim) {
+        return assertThrows(ClaimRejectedException.class, claim::run).getReason();
+    }
+
+    private static void awaitQueued(ClaimAdmissionService admission, int queued) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Integer.valueOf(queued).equals(admission.getStats().get("queued")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
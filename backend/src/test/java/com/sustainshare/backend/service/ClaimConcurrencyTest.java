@@ -0,0 +1,109 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.service.DonationLogService.ClaimMode;
+
+@SpringBootTest
+class ClaimConcurrencyTest {
+
+    private static final int RACERS = 16;
+
+    @Autowired
+    private DonationLogService donationLogService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @ParameterizedTest
+    @EnumSource(ClaimMode.class)
+    void exactlyOneCharityWinsARace(ClaimMode mode) throws Exception {
+        User donor = newUser(userRepository, "Donor");
+        FoodItem food = foodItemRepository.save(new FoodItem("Bread", 10, "Main St", null, donor.getId()));
+        donationLogRepository.save(new DonationLog(donor, null, food, LocalDateTime.now()));
+
+        List<Long> charityIds = new ArrayList<>();
+        for (int i = 0; i < RACERS; i++) {
+            charityIds.add(newUser(userRepository, "Charity").getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(RACERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<DonationLog>>> results = new ArrayList<>();
+        for (Long charityId : charityIds) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return donationLogService.claimFood(food.getId(), charityId, mode);
+            }));
+        }
+        start.countDown();
+
+        Long winner = null;
+        int wins = 0;
+        for (Future<Optional<DonationLog>> result : results) {
+            Optional<DonationLog> claimed = result.get();
+            if (claimed.isPresent()) {
+                wins++;
+                winner = claimed.get().getCharity().getId();
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, wins);
+        DonationLog stored = donationLogRepository.findByFoodItem_Id(food.getId()).orElseThrow();
+        assertEquals(winner, stored.getCharity().getId());
+        assertTrue(stored.getClaimedAt() != null);
+    }
+
+    @Test
+    void conditionalClaimCreatesLogWhenNoneExists() {
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        FoodItem food = foodItemRepository.save(new FoodItem("Rice", 5, "Market Rd", null, donor.getId()));
+
+        Optional<DonationLog> claimed = donationLogService.claimFood(food.getId(), charity.getId(), ClaimMode.CONDITIONAL);
+
+        assertTrue(claimed.isPresent());
+        assertEquals(donor.getId(), claimed.get().getDonor().getId());
+        assertTrue(donationLogService.claimFood(food.getId(), newUser(userRepository, "Charity").getId(), ClaimMode.CONDITIONAL).isEmpty());
+    }
+
+    @Test
+    void conditionalClaimRejectsUnknownCharity() {
+        User donor = newUser(userRepository, "Donor");
+        FoodItem food = foodItemRepository.save(new FoodItem("Soup", 3, "Park Ave", null, donor.getId()));
+        donationLogRepository.save(new DonationLog(donor, null, food, LocalDateTime.now()));
+
+        assertTrue(donationLogService.claimFood(food.getId(), -1L, ClaimMode.CONDITIONAL).isEmpty());
+        assertTrue(donationLogRepository.findByFoodItem_Id(food.getId()).orElseThrow().getClaimedAt() == null);
+    }
+}
@@ -0,0 +1,131 @@
+package com.sustainshare.backend.service;
+
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.service.DonationLogService.ClaimMode;
+
+// Claim storm: every item is raced by CHARITIES_PER_ITEM charities at once.
+// Run with: mvn test -Dtest=ClaimContentionBenchmark -Dbenchmark=true
+// By default this uses the embedded H2 from the test properties. H2 re-executes an UPDATE that hits a
+// concurrently modified row, which penalizes CONDITIONAL; for representative numbers point it at MySQL with
+// -Dspring.datasource.url=jdbc:mysql://... -Dspring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver
+// -Dspring.datasource.username=... -Dspring.datasource.password=...
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ClaimContentionBenchmark {
+
+    private static final int ITEMS = 200;
+    private static final int CHARITIES_PER_ITEM = 16;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private DonationLogService donationLogService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Test
+    void compareClaimModes() throws Exception {
+        List<Long> charityIds = new ArrayList<>();
+        for (int i = 0; i < CHARITIES_PER_ITEM; i++) {
+            charityIds.add(newUser(userRepository, "Charity").getId());
+        }
+        // Warm-up so JIT and connection pool are hot for both runs
+        run(ClaimMode.LOCKING, charityIds, 20);
+        run(ClaimMode.CONDITIONAL, charityIds, 20);
+
+        for (ClaimMode mode : ClaimMode.values()) {
+            run(mode, charityIds, ITEMS).print(mode);
+        }
+    }
+
+    private Result run(ClaimMode mode, List<Long> charityIds, int items) throws Exception {
+        User donor = newUser(userRepository, "Donor");
+        List<Long> foodIds = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            FoodItem food = foodItemRepository.save(new FoodItem("Item " + i, 1, "Depot", null, donor.getId()));
+            donationLogRepository.save(new DonationLog(donor, null, food, LocalDateTime.now()));
+            foodIds.add(food.getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (Long foodId : foodIds) {
+            for (Long charityId : charityIds) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    long t0 = System.nanoTime();
+                    boolean won = donationLogService.claimFood(foodId, charityId, mode).isPresent();
+                    return new long[] { System.nanoTime() - t0, won ? 1 : 0 };
+                }));
+            }
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        List<Long> latencies = new ArrayList<>(futures.size());
+        long wins = 0;
+        for (Future<long[]> f : futures) {
+            long[] r = f.get();
+            latencies.add(r[0]);
+            wins += r[1];
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        if (wins != items) {
+            throw new IllegalStateException(mode + ": expected " + items + " winners but got " + wins);
+        }
+        Collections.sort(latencies);
+        return new Result(latencies, elapsed);
+    }
+
+    private static final class Result {
+        final List<Long> sortedLatencies;
+        final long elapsedNanos;
+
+        Result(List<Long> sortedLatencies, long elapsedNanos) {
+            this.sortedLatencies = sortedLatencies;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        double percentileMs(double p) {
+            int index = (int) Math.ceil(p * sortedLatencies.size()) - 1;
+            return sortedLatencies.get(Math.max(0, index)) / 1_000_000.0;
+        }
+
+        void print(ClaimMode mode) {
+            double throughput = sortedLatencies.size() / (elapsedNanos / 1_000_000_000.0);
+            System.out.printf("claim-benchmark mode=%s claims=%d throughput=%.0f/s p50=%.2fms p99=%.2fms max=%.2fms%n",
+                    mode, sortedLatencies.size(), throughput, percentileMs(0.50), percentileMs(0.99), percentileMs(1.0));
+        }
+    }
+}
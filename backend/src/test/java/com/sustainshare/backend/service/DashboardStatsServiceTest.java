@@ -0,0 +1,110 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+@SpringBootTest
+class DashboardStatsServiceTest {
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private DonationLogService donationLogService;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private PickupScheduleRepository pickupScheduleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void countersFollowCreateClaimAndDelete() {
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        FoodItem food = foodItemRepository.save(new FoodItem("Counted", 4, "Depot", null, donor.getId()));
+        dashboardStatsService.reconcile();
+        long donations = dashboardStatsService.getDonationCount();
+        long claimed = dashboardStatsService.getClaimedCount();
+        long quantity = dashboardStatsService.getFoodQuantity();
+        long donors = dashboardStatsService.getDistinctDonorCount();
+
+        DonationLog log = donationLogService.createDonationLog(new DonationLog(donor, null, food, LocalDateTime.now()));
+        assertEquals(donations + 1, dashboardStatsService.getDonationCount());
+        assertEquals(claimed, dashboardStatsService.getClaimedCount());
+        assertEquals(quantity + 4, dashboardStatsService.getFoodQuantity());
+        assertEquals(donors + 1, dashboardStatsService.getDistinctDonorCount());
+
+        assertTrue(donationLogService.claimFood(food.getId(), charity.getId()).isPresent());
+        assertEquals(claimed + 1, dashboardStatsService.getClaimedCount());
+
+        donationLogService.deleteDonation(log.getId());
+        assertEquals(donations, dashboardStatsService.getDonationCount());
+        assertEquals(claimed, dashboardStatsService.getClaimedCount());
+        assertEquals(quantity, dashboardStatsService.getFoodQuantity());
+        assertEquals(donors, dashboardStatsService.getDistinctDonorCount());
+    }
+
+    // A claim time without a charity is not a claim, for the counters as for the listing
+    @Test
+    void aClaimTimeWithoutACharityIsNotCounted() {
+        User donor = newUser(userRepository, "Donor");
+        FoodItem food = foodItemRepository.save(new FoodItem("Half claimed", 1, "Depot", null, donor.getId()));
+        dashboardStatsService.reconcile();
+        long claimed = dashboardStatsService.getClaimedCount();
+
+        DonationLog log = new DonationLog(donor, null, food, LocalDateTime.now());
+        log.setClaimedAt(LocalDateTime.now());
+        donationLogService.createDonationLog(log);
+        assertEquals(claimed, dashboardStatsService.getClaimedCount());
+        dashboardStatsService.reconcile();
+        assertEquals(claimed, dashboardStatsService.getClaimedCount());
+    }
+
+    @Test
+    void aWriteThatCommitsWhileAReconcileReadsIsKept() {
+        User donor = newUser(userRepository, "Donor");
+        DashboardStatsService stats = new DashboardStatsService();
+        // The write commits after the reconcile's last query has read the counts
+        DonationLogRepository slowQuery = (DonationLogRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { DonationLogRepository.class }, (proxy, method, args) -> {
+                    Object result = method.invoke(donationLogRepository, args);
+                    if (method.getName().equals("countByDonor")) {
+                        FoodItem food = foodItemRepository.save(new FoodItem("Overlap", 3, "Depot", null, donor.getId()));
+                        stats.donationCreated(donationLogRepository.save(new DonationLog(donor, null, food, LocalDateTime.now())));
+                    }
+                    return result;
+                });
+        ReflectionTestUtils.setField(stats, "donationLogRepository", slowQuery);
+        ReflectionTestUtils.setField(stats, "userRepository", userRepository);
+        ReflectionTestUtils.setField(stats, "pickupScheduleRepository", pickupScheduleRepository);
+
+        stats.reconcile();
+
+        assertEquals(donationLogRepository.count(), stats.getDonationCount());
+        assertEquals(donationLogRepository.sumFoodQuantity(), stats.getFoodQuantity());
+    }
+}
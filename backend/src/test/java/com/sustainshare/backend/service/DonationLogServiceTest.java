@@ -0,0 +1,79 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+@SpringBootTest
+class DonationLogServiceTest {
+
+    @Autowired
+    private DonationLogService donationLogService;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void logsClaimedThroughCreateOrUpdateLeaveTheAvailableListing() {
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+
+        FoodItem created = foodItemService.addFood(new FoodItem("Rice", 3, "Depot", null, donor.getId()));
+        assertTrue(isAvailable(created));
+        DonationLog claimedLog = new DonationLog(donor, charity, created, LocalDateTime.now());
+        claimedLog.setClaimedAt(LocalDateTime.now());
+        donationLogService.createDonationLog(claimedLog);
+        assertFalse(isAvailable(created));
+
+        FoodItem updated = foodItemService.addFood(new FoodItem("Beans", 2, "Depot", null, donor.getId()));
+        DonationLog open = donationLogService.createDonationLog(new DonationLog(donor, null, updated, LocalDateTime.now()));
+        assertTrue(isAvailable(updated));
+        DonationLog claim = new DonationLog();
+        claim.setCharity(charity);
+        claim.setClaimedAt(LocalDateTime.now());
+        donationLogService.updateDonationLog(open.getId(), claim);
+        assertFalse(isAvailable(updated));
+    }
+
+    // The conditional UPDATE claims every open log of the item; the winner is read back as one row
+    @Test
+    void aConditionalClaimOfAnItemWithTwoLogsReturnsOneOfThem() {
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        FoodItem food = foodItemService.addFood(new FoodItem("Twice logged", 2, "Depot", null, donor.getId()));
+        donationLogRepository.save(new DonationLog(donor, null, food, LocalDateTime.now()));
+        donationLogRepository.save(new DonationLog(donor, null, food, LocalDateTime.now()));
+
+        Optional<DonationLog> won = donationLogService.claimFood(food.getId(), charity.getId(), DonationLogService.ClaimMode.CONDITIONAL);
+
+        assertTrue(won.isPresent());
+        assertEquals(charity.getId(), won.get().getCharity().getId());
+        assertEquals(food.getId(), won.get().getFoodItem().getId());
+        assertFalse(isAvailable(food));
+        assertTrue(donationLogService.claimFood(food.getId(), charity.getId(), DonationLogService.ClaimMode.CONDITIONAL).isEmpty());
+    }
+
+    private boolean isAvailable(FoodItem food) {
+        return foodItemService.getAvailableFoodItems().stream().anyMatch(f -> f.getId().equals(food.getId()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sustainshare.backend.controller.dto.TimeSeriesPoint;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+// The background thread is pushed far out so each test drives catchUp() and rebuild() itself
+@SpringBootTest(properties = {
+    "sustainshare.rollups.tick-ms=3600000",
+    "sustainshare.rollups.reconcile-ms=3600000",
+    "sustainshare.rollups.settle=PT0S"
+})
+class DonationRollupServiceTest {
+
+    @Autowired
+    private DonationRollupService donationRollupService;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void historyIsRolledUpIntoHourAndDayBucketsWithMedians() {
+        // A day of its own, far behind the watermark, so only rebuild() touches it
+        LocalDateTime day = LocalDateTime.of(1990, 1, 1, 0, 0).plusDays(ThreadLocalRandom.current().nextInt(7000));
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        log(donor, charity, 2, day.plusMinutes(600), day.plusMinutes(610));   // claimed after 600s
+        log(donor, charity, 3, day.plusMinutes(615), day.plusMinutes(645));   // 1800s
+        log(donor, charity, 4, day.plusMinutes(630), day.plusMinutes(750));   // 7200s
+        log(donor, null, 5, day.plusMinutes(660), null);
+
+        while (!donationRollupService.catchUp()) { }
+        assertEquals(1, donationRollupService.rebuild(day, day.plusDays(1)));
+        // Recomputing is idempotent
+        assertEquals(1, donationRollupService.rebuild(day, day.plusDays(1)));
+
+        List<TimeSeriesPoint> hours = donationRollupService.getTimeSeries(
+                DonationRollupService.Granularity.HOUR, day.plusHours(9), day.plusHours(13));
+        assertEquals(4, hours.size());
+        assertPoint(hours.get(0), day.plusHours(9), 0, 0, 0);
+        assertNull(hours.get(0).getMedianTimeToClaimSeconds());
+        assertPoint(hours.get(1), day.plusHours(10), 3, 2, 9);
+        assertAbout(600, hours.get(1).getMedianTimeToClaimSeconds());
+        assertPoint(hours.get(2), day.plusHours(11), 1, 0, 5);
+        assertPoint(hours.get(3), day.plusHours(12), 0, 1, 0);
+        assertAbout(7200, hours.get(3).getMedianTimeToClaimSeconds());
+
+        List<TimeSeriesPoint> days = donationRollupService.getTimeSeries(
+                DonationRollupService.Granularity.DAY, day, day.plusDays(1));
+        assertEquals(1, days.size());
+        assertPoint(days.get(0), day, 4, 3, 14);
+        assertAbout(1800, days.get(0).getMedianTimeToClaimSeconds());
+
+        List<TimeSeriesPoint> months = donationRollupService.getTimeSeries(
+                DonationRollupService.Granularity.MONTH, day, day.plusHours(1));
+        assertEquals(day.withDayOfMonth(1), months.get(0).getBucketStart());
+        assertTrue(months.get(0).getPosted() >= 4);
+    }
+
+    @Test
+    void newLogsAreFoldedInOnceByTheSweep() {
+        while (!donationRollupService.catchUp()) { }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+        TimeSeriesPoint before = hourPoint(hour);
+
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        log(donor, charity, 7, now, now);
+        assertTrue(donationRollupService.catchUp());
+        assertTrue(donationRollupService.catchUp());
+
+        TimeSeriesPoint after = hourPoint(hour);
+        assertEquals(before.getPosted() + 1, after.getPosted());
+        assertEquals(before.getClaimed() + 1, after.getClaimed());
+        assertEquals(before.getQuantity() + 7, after.getQuantity());
+    }
+
+    private TimeSeriesPoint hourPoint(LocalDateTime hour) {
+        return donationRollupService.getTimeSeries(DonationRollupService.Granularity.HOUR, hour, hour.plusHours(1)).get(0);
+    }
+
+    private void log(User donor, User charity, int quantity, LocalDateTime donatedAt, LocalDateTime claimedAt) {
+        FoodItem food = foodItemRepository.save(new FoodItem("Rollup test", quantity, "Depot", null, donor.getId()));
+        DonationLog log = new DonationLog(donor, charity, food, donatedAt);
+        log.setClaimedAt(claimedAt);
+        donationLogRepository.save(log);
+    }
+
+    private static void assertPoint(TimeSeriesPoint p, LocalDateTime start, long posted, long claimed, long quantity) {
+        assertEquals(start, p.getBucketStart());
+        assertEquals(posted, p.getPosted());
+        assertEquals(claimed, p.getClaimed());
+        assertEquals(quantity, p.getQuantity());
+    }
+
+    // The histogram resolves medians to within about 10%
+    private static void assertAbout(long expected, Long actual) {
+        assertTrue(actual != null && Math.abs(actual - expected) <= expected / 10, "median " + actual + " vs " + expected);
+    }
+}
@@ -0,0 +1,93 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sustainshare.backend.controller.dto.BatchItemResult;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.NotificationRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+@SpringBootTest
+class FoodBatchTest {
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void validItemsAreInsertedWithLogsAndInvalidOnesReported() {
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        List<FoodItem> items = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            items.add(new FoodItem("Loaf " + i, 2, "Bakery", null, donor.getId()));
+        }
+        items.add(7, new FoodItem("", 1, "Bakery", null, donor.getId()));
+        items.add(new FoodItem("Soup", 0, "Bakery", null, donor.getId()));
+
+        List<BatchItemResult> results = foodItemService.addFoodBatch(items);
+
+        assertEquals(items.size(), results.size());
+        assertEquals("rejected", results.get(7).getStatus());
+        assertNull(results.get(7).getId());
+        assertEquals("rejected", results.get(items.size() - 1).getStatus());
+        List<Long> ids = results.stream().filter(r -> r.getId() != null).map(BatchItemResult::getId).toList();
+        assertEquals(25, ids.size());
+        assertEquals(ids.size(), ids.stream().distinct().count());
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        FoodItem first = items.get(0);
+        assertEquals(first.getId(), results.get(0).getId());
+        DonationLog log = donationLogRepository.findByFoodItem_Id(first.getId()).orElseThrow();
+        assertEquals(donor.getId(), log.getDonor().getId());
+        assertNull(log.getCharity());
+        assertNotNull(log.getDonatedAt());
+
+        List<Long> available = foodItemService.getAvailableFoodItems().stream().map(FoodItem::getId).toList();
+        assertTrue(available.containsAll(ids));
+        // One summary notification per donor, not one per item
+        assertEquals(1, notificationRepository.countByRecipientIdAndReadFalse(charity.getId()));
+    }
+
+    @Test
+    void anUnknownDonorIsRejectedWithoutFailingTheBatch() {
+        User donor = newUser(userRepository, "Donor");
+        List<FoodItem> items = List.of(
+                new FoodItem("Rice", 3, "Pantry", null, donor.getId()),
+                new FoodItem("Beans", 2, "Pantry", null, Long.MAX_VALUE),
+                new FoodItem("Oats", 1, "Pantry", null, null));
+
+        List<BatchItemResult> results = foodItemService.addFoodBatch(items);
+
+        assertEquals("created", results.get(0).getStatus());
+        assertEquals("rejected", results.get(1).getStatus());
+        assertEquals("donorId does not refer to a user", results.get(1).getError());
+        assertEquals("created", results.get(2).getStatus());
+        assertEquals(donor.getId(), donationLogRepository.findByFoodItem_Id(results.get(0).getId()).orElseThrow().getDonor().getId());
+        assertNull(donationLogRepository.findByFoodItem_Id(results.get(2).getId()).orElseThrow().getDonor());
+    }
+}
@@ -0,0 +1,130 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+@SpringBootTest
+@RecordApplicationEvents
+class FoodExpiryServiceTest {
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private FoodExpiryService foodExpiryService;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void dueItemsAreRetiredAndLeaveTheAvailableListing() {
+        FoodItem stale = foodItemService.addFood(food("Milk", LocalDateTime.now().minusMinutes(1)));
+        FoodItem fresh = foodItemService.addFood(food("Apples", LocalDateTime.now().plusHours(1)));
+
+        foodExpiryService.expireDue();
+
+        assertTrue(foodItemRepository.findById(stale.getId()).orElseThrow().isExpired());
+        assertFalse(foodItemRepository.findById(fresh.getId()).orElseThrow().isExpired());
+        assertFalse(foodItemService.getAvailableFoodItems().stream().anyMatch(f -> f.getId().equals(stale.getId())));
+        assertTrue(foodItemService.getAvailableFoodItems().stream().anyMatch(f -> f.getId().equals(fresh.getId())));
+    }
+
+    @Test
+    void anItemClaimedBeforeItsTickIsNotExpired() {
+        User charity = newUser(userRepository, "Charity");
+        // Claimed behind the engine's back (no CLAIMED event), as by another instance after the item was scheduled
+        FoodItem claimed = new TransactionTemplate(transactionManager).execute(status -> {
+            FoodItem f = foodItemService.addFood(food("Cheese", LocalDateTime.now().minusMinutes(1)));
+            jdbcTemplate.update("INSERT INTO donation_log (charity_id, food_item_id, claimed_at) VALUES (?, ?, ?)",
+                    charity.getId(), f.getId(), LocalDateTime.now());
+            return f;
+        });
+        FoodItem stale = foodItemService.addFood(food("Cream", LocalDateTime.now().minusMinutes(1)));
+
+        foodExpiryService.expireDue();
+
+        assertFalse(foodItemRepository.findById(claimed.getId()).orElseThrow().isExpired());
+        assertTrue(foodItemRepository.findById(stale.getId()).orElseThrow().isExpired());
+        assertFalse(events.stream(FoodEvent.class)
+                .anyMatch(e -> e.getType() == FoodEvent.Type.EXPIRED && e.getFoodItemId().equals(claimed.getId())));
+        // The scheduled instance is shared with the listing cache and is left as it was
+        assertFalse(stale.isExpired());
+    }
+
+    @Test
+    void expiringWindowIsOrderedAndBounded() {
+        FoodItem later = foodItemService.addFood(food("Bread", LocalDateTime.now().plusMinutes(90)));
+        FoodItem sooner = foodItemService.addFood(food("Curry", LocalDateTime.now().plusMinutes(30)));
+        FoodItem outside = foodItemService.addFood(food("Rice", LocalDateTime.now().plusHours(5)));
+
+        var expiring = foodItemService.getExpiringFood(Duration.ofHours(2), 100);
+        int soonerAt = indexOf(expiring, sooner.getId());
+        int laterAt = indexOf(expiring, later.getId());
+
+        assertTrue(soonerAt >= 0 && laterAt > soonerAt);
+        assertTrue(indexOf(expiring, outside.getId()) < 0);
+    }
+
+    @Test
+    void offsetExpiriesAreConvertedToServerTime() {
+        // An offset five hours away from the server's, so a dropped offset would be off by hours
+        ZoneOffset server = ZoneId.systemDefault().getRules().getOffset(Instant.now());
+        ZoneOffset remote = ZoneOffset.ofTotalSeconds(server.getTotalSeconds() + (server.getTotalSeconds() > 0 ? -5 : 5) * 3600);
+        OffsetDateTime past = OffsetDateTime.now(remote).minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+
+        FoodItem stale = foodItemService.addFood(new FoodItem("Yogurt", 1, "Depot", past.toString(), null));
+        assertEquals(past.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime(), stale.getExpiresAt());
+
+        foodExpiryService.expireDue();
+        assertTrue(foodItemRepository.findById(stale.getId()).orElseThrow().isExpired());
+    }
+
+    private static FoodItem food(String name, LocalDateTime expiresAt) {
+        return new FoodItem(name, 1, "Depot", expiresAt.truncatedTo(ChronoUnit.SECONDS).toString(), null);
+    }
+
+    private static int indexOf(List<FoodItem> items, Long id) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId().equals(id)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sustainshare.backend.controller.dto.NearbyFood;
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.repository.FoodItemRepository;
+
+class FoodGeoIndexTest {
+
+    private final FoodGeoIndex index = new FoodGeoIndex(0.05, 100);
+
+    @Test
+    void returnsItemsWithinRadiusNearestFirst() {
+        post(1L, 12.9716, 77.5946);  // Bengaluru centre
+        post(2L, 12.9352, 77.6245);  // ~5 km away
+        post(3L, 13.1986, 77.7066);  // ~28 km away (airport)
+
+        List<NearbyFood> nearby = index.findNearby(12.9716, 77.5946, 10, 10);
+
+        assertEquals(2, nearby.size());
+        assertEquals(1L, nearby.get(0).getFoodItem().getId());
+        assertEquals(2L, nearby.get(1).getFoodItem().getId());
+        assertTrue(nearby.get(1).getDistanceKm() > 4 && nearby.get(1).getDistanceKm() < 6);
+    }
+
+    @Test
+    void claimedAndDeletedItemsLeaveTheIndex() {
+        FoodItem claimed = post(1L, 51.5, -0.12);
+        FoodItem deleted = post(2L, 51.5, -0.12);
+        index.onFoodEvent(FoodEvent.claimed(claimed, 9L));
+        index.onFoodEvent(FoodEvent.deleted(deleted));
+
+        assertTrue(index.findNearby(51.5, -0.12, 5, 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void searchWrapsAroundTheAntimeridian() {
+        post(1L, -17.0, 179.99);
+
+        assertEquals(1, index.findNearby(-17.0, -179.99, 10, 10).size());
+    }
+
+    // The query runs without the lock: events from another thread land meanwhile and are replayed over its result
+    @Test
+    void rebuildReplaysEventsThatCommitWhileItsQueryRuns() {
+        post(1L, 48.85, 2.35); // gone from the database, so the rebuild drops it
+        FoodItem listed = item(2L, 48.85, 2.35);
+        FoodItem claimedMeanwhile = item(3L, 48.85, 2.35);
+        FoodItem postedMeanwhile = item(4L, 48.85, 2.35);
+        FoodItemRepository slowQuery = (FoodItemRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { FoodItemRepository.class }, (proxy, method, args) -> {
+                    Thread writer = new Thread(() -> {
+                        index.onFoodEvent(FoodEvent.claimed(claimedMeanwhile, 9L));
+                        index.onFoodEvent(FoodEvent.posted(postedMeanwhile));
+                    });
+                    writer.start();
+                    writer.join(5000);
+                    assertFalse(writer.isAlive(), "an event waited for the rebuild query");
+                    return List.of(listed, claimedMeanwhile);
+                });
+        ReflectionTestUtils.setField(index, "foodItemRepository", slowQuery);
+
+        index.rebuild();
+
+        List<Long> ids = index.findNearby(48.85, 2.35, 1, 10).stream().map(n -> n.getFoodItem().getId()).sorted().toList();
+        assertEquals(List.of(2L, 4L), ids);
+    }
+
+    private FoodItem post(Long id, double lat, double lon) {
+        FoodItem f = item(id, lat, lon);
+        index.onFoodEvent(FoodEvent.posted(f));
+        return f;
+    }
+
+    private static FoodItem item(Long id, double lat, double lon) {
+        FoodItem f = new FoodItem("Food " + id, 1, "somewhere", null, 1L);
+        f.setId(id);
+        f.setLatitude(lat);
+        f.setLongitude(lon);
+        return f;
+    }
+}
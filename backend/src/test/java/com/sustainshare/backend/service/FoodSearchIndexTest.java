@@ -0,0 +1,113 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sustainshare.backend.controller.dto.FoodSearchHit;
+import com.sustainshare.backend.event.FoodEvent;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+@SpringBootTest
+class FoodSearchIndexTest {
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private FoodSearchIndex foodSearchIndex;
+
+    @Autowired
+    private DonationLogService donationLogService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Test
+    void matchesPrefixesAndTyposAndRanksNameAboveLocation() {
+        // Made-up words keep other tests' listings out of the results
+        String word = randomWord(9);
+        FoodItem inName = foodItemService.addFood(new FoodItem(word + " Bread", 2, "Depot", null, null));
+        FoodItem inLocation = foodItemService.addFood(new FoodItem("Rice", 1, word + " Hall", null, null));
+
+        assertEquals(List.of(inName.getId(), inLocation.getId()), ids(foodItemService.searchFood(word, true, 10)));
+        assertEquals(List.of(inName.getId()), ids(foodItemService.searchFood(word.substring(0, 4) + " bre", true, 10)));
+        // Two letters swapped, then one dropped, both still find it
+        String swapped = word.charAt(0) + "" + word.charAt(2) + word.charAt(1) + word.substring(3);
+        assertEquals(inName.getId(), foodItemService.searchFood(swapped + " bread", true, 10).get(0).getFoodItem().getId());
+        assertEquals(inName.getId(), foodItemService.searchFood(word.substring(0, 8) + "x", true, 10).get(0).getFoodItem().getId());
+        assertTrue(foodItemService.searchFood(word + " pasta", true, 10).isEmpty());
+    }
+
+    @Test
+    void followsClaimsAndDeletes() {
+        String word = randomWord(10);
+        User charity = newUser(userRepository, "Charity");
+        FoodItem food = foodItemService.addFood(new FoodItem(word, 1, "Depot", null, null));
+
+        assertTrue(donationLogService.claimFood(food.getId(), charity.getId()).isPresent());
+        assertTrue(foodItemService.searchFood(word, true, 10).isEmpty());
+        List<FoodSearchHit> claimed = foodItemService.searchFood(word, false, 10);
+        assertEquals(1, claimed.size());
+        assertFalse(claimed.get(0).isAvailable());
+
+        foodItemService.deleteFoodItem(food.getId());
+        assertTrue(foodItemService.searchFood(word, false, 10).isEmpty());
+
+        // A rebuild from the database agrees with the incrementally maintained index
+        FoodItem again = foodItemService.addFood(new FoodItem(word + " soup", 1, "Depot", null, null));
+        foodSearchIndex.rebuild();
+        assertEquals(List.of(again.getId()), ids(foodItemService.searchFood(word + " soup", true, 10)));
+    }
+
+    @Test
+    void eventsCommittedDuringARebuildAreNotLost() {
+        String word = randomWord(11);
+        FoodItem claimed = foodItemService.addFood(new FoodItem(word + " stew", 1, "Depot", null, null));
+        FoodSearchIndex index = new FoodSearchIndex(2, 50);
+        // The rebuild query sees the stew as available; the claim and a new posting commit right after it
+        FoodItemRepository slowQuery = (FoodItemRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { FoodItemRepository.class }, (proxy, method, args) -> {
+                    Object result = method.invoke(foodItemRepository, args);
+                    if (method.getName().equals("findSearchRows")) {
+                        FoodItem posted = foodItemRepository.save(new FoodItem(word + " pie", 1, "Depot", null, null));
+                        index.onFoodEvent(FoodEvent.claimed(claimed, null));
+                        index.onFoodEvent(FoodEvent.posted(posted));
+                    }
+                    return result;
+                });
+        ReflectionTestUtils.setField(index, "foodItemRepository", slowQuery);
+
+        index.rebuild();
+        List<FoodSearchHit> hits = index.search(word, false, 10);
+        assertEquals(2, hits.size());
+        assertEquals(List.of(word + " pie"), index.search(word, true, 10).stream().map(h -> h.getFoodItem().getName()).toList());
+    }
+
+    private static List<Long> ids(List<FoodSearchHit> hits) {
+        return hits.stream().map(h -> h.getFoodItem().getId()).toList();
+    }
+
+    private static String randomWord(int length) {
+        Random random = new Random();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) sb.append((char) ('a' + random.nextInt(26)));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sustainshare.backend.controller.dto.LeaderboardEntry;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+@SpringBootTest
+class LeaderboardServiceTest {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private DonationLogService donationLogService;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void incrementalScoresRankUsersAndMatchARebuild() {
+        leaderboardService.reconcile();
+        User busiest = newUser(userRepository, "Donor");
+        User runnerUp = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        List<FoodItem> items = post(busiest, 60, 2);
+        post(runnerUp, 59, 1);
+        for (int i = 0; i < 40; i++) {
+            assertTrue(donationLogService.claimFood(items.get(i).getId(), charity.getId()).isPresent());
+        }
+        donationLogService.deleteDonation(donationLogRepository.findByFoodItem_Id(items.get(59).getId()).orElseThrow().getId());
+
+        // Same count, so the larger quantity ranks first
+        List<LeaderboardEntry> donors = leaderboardService.getTop(LeaderboardService.Board.DONORS, LeaderboardService.Window.DAY, 2);
+        assertEntry(donors.get(0), 1, busiest, 59, 118);
+        assertEntry(donors.get(1), 2, runnerUp, 59, 59);
+        List<LeaderboardEntry> charities = leaderboardService.getTop(LeaderboardService.Board.CHARITIES, LeaderboardService.Window.WEEK, 1);
+        assertEntry(charities.get(0), 1, charity, 40, 80);
+
+        // An edit through PUT moves one claim to another charity
+        User other = newUser(userRepository, "Charity");
+        DonationLog edit = new DonationLog();
+        edit.setCharity(other);
+        donationLogService.updateDonationLog(donationLogRepository.findByFoodItem_Id(items.get(0).getId()).orElseThrow().getId(), edit);
+        charities = leaderboardService.getTop(LeaderboardService.Board.CHARITIES, LeaderboardService.Window.WEEK, 100);
+        assertEntry(charities.get(0), 1, charity, 39, 78);
+        LeaderboardEntry moved = charities.stream().filter(e -> e.getUserId() == other.getId()).findFirst().orElseThrow();
+        assertEquals(1, moved.getCount());
+        assertEquals(2, moved.getQuantity());
+
+        List<String> incremental = snapshot();
+        leaderboardService.reconcile();
+        assertEquals(snapshot(), incremental);
+    }
+
+    @Test
+    void deletingAFoodItemTakesItsDonationOffTheBoards() {
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        List<FoodItem> items = post(donor, 3, 2);
+        assertTrue(donationLogService.claimFood(items.get(0).getId(), charity.getId()).isPresent());
+
+        foodItemService.deleteFoodItem(items.get(0).getId());
+
+        LeaderboardEntry donorEntry = entry(LeaderboardService.Board.DONORS, donor);
+        assertEquals(2, donorEntry.getCount());
+        assertEquals(4, donorEntry.getQuantity());
+        assertTrue(leaderboardService.getTop(LeaderboardService.Board.CHARITIES, LeaderboardService.Window.DAY, 100).stream()
+                .noneMatch(e -> e.getUserId() == charity.getId()));
+
+        List<String> incremental = snapshot();
+        leaderboardService.reconcile();
+        assertEquals(snapshot(), incremental);
+    }
+
+    private LeaderboardEntry entry(LeaderboardService.Board board, User user) {
+        return leaderboardService.getTop(board, LeaderboardService.Window.DAY, 100).stream()
+                .filter(e -> e.getUserId() == user.getId()).findFirst().orElseThrow();
+    }
+
+    private List<String> snapshot() {
+        List<String> rows = new ArrayList<>();
+        for (LeaderboardService.Board board : LeaderboardService.Board.values()) {
+            for (LeaderboardService.Window window : LeaderboardService.Window.values()) {
+                for (LeaderboardEntry e : leaderboardService.getTop(board, window, 100)) {
+                    rows.add(board + " " + window + " " + e.getRank() + " " + e.getUserId() + " " + e.getCount() + " " + e.getQuantity());
+                }
+            }
+        }
+        return rows;
+    }
+
+    private List<FoodItem> post(User donor, int count, int quantity) {
+        List<FoodItem> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new FoodItem("Leaderboard " + i, quantity, "Depot", null, donor.getId()));
+        }
+        foodItemService.addFoodBatch(items);
+        return items;
+    }
+
+    private static void assertEntry(LeaderboardEntry e, int rank, User user, long count, long quantity) {
+        assertEquals(rank, e.getRank());
+        assertEquals(user.getId(), e.getUserId());
+        assertEquals(user.getName(), e.getName());
+        assertEquals(count, e.getCount());
+        assertEquals(quantity, e.getQuantity());
+    }
+}
@@ -0,0 +1,150 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sustainshare.backend.model.CharityPreference;
+import com.sustainshare.backend.model.DonationLog;
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.DonationLogRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+// Ticks are pushed far out so each test drives runBatch() itself
+@SpringBootTest(properties = {
+    "sustainshare.matching.enabled=true",
+    "sustainshare.matching.tick-ms=3600000"
+})
+class MatchingServiceTest {
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private DonationLogService donationLogService;
+
+    @Autowired
+    private DonationLogRepository donationLogRepository;
+
+    @Autowired
+    private PickupScheduleRepository pickupScheduleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void nearestAcceptingCharityWinsUntilItsCapacityIsUsed() {
+        String category = "produce-" + UUID.randomUUID();
+        User donor = newUser(userRepository, "Donor");
+        User near = newUser(userRepository, "Charity");
+        User far = newUser(userRepository, "Charity");
+        matchingService.savePreference(near.getId(), preference(1, category, 40.0, -74.0, 10.0));
+        CharityPreference windowed = preference(5, category, 41.0, -74.0, null);
+        windowed.setPickupWindowStart(LocalTime.of(9, 0));
+        windowed.setPickupWindowEnd(LocalTime.of(17, 0));
+        matchingService.savePreference(far.getId(), windowed);
+
+        List<FoodItem> items = List.of(food(donor, "Apples", category), food(donor, "Pears", category),
+                food(donor, "Plums", category), food(donor, "Bread", "bakery"));
+        foodItemService.addFoodBatch(items);
+
+        assertEquals(4, matchingService.runBatch());
+
+        Map<Long, PickupSchedule> pickups = pickupsFor(items);
+        assertEquals(3, pickups.size());
+        assertEquals(near.getId(), pickups.get(items.get(0).getId()).getCharity().getId());
+        assertEquals(far.getId(), pickups.get(items.get(1).getId()).getCharity().getId());
+        assertEquals(far.getId(), pickups.get(items.get(2).getId()).getCharity().getId());
+        LocalTime farPickup = pickups.get(items.get(1).getId()).getScheduledTime().toLocalTime();
+        assertFalse(farPickup.isBefore(LocalTime.of(9, 0)) || farPickup.isAfter(LocalTime.of(17, 0)));
+        assertEquals(far.getId(),
+                donationLogRepository.findByFoodItem_Id(items.get(2).getId()).orElseThrow().getCharity().getId());
+
+        // No charity takes "bakery": the item stays available for manual claims
+        List<Long> available = foodItemService.getAvailableFoodItems().stream().map(FoodItem::getId).toList();
+        assertTrue(available.contains(items.get(3).getId()));
+        assertFalse(available.contains(items.get(0).getId()));
+    }
+
+    @Test
+    void itemsClaimedByHandBeforeTheBatchAreNotClaimedAgain() {
+        String category = "dairy-" + UUID.randomUUID();
+        User donor = newUser(userRepository, "Donor");
+        User matched = newUser(userRepository, "Charity");
+        User manual = newUser(userRepository, "Charity");
+        matchingService.savePreference(matched.getId(), preference(10, category, null, null, null));
+        List<FoodItem> items = List.of(food(donor, "Milk", category), food(donor, "Cheese", category));
+        foodItemService.addFoodBatch(items);
+        assertTrue(donationLogService.claimFood(items.get(0).getId(), manual.getId()).isPresent());
+
+        matchingService.runBatch();
+
+        Map<Long, PickupSchedule> pickups = pickupsFor(items);
+        assertEquals(1, pickups.size());
+        assertEquals(matched.getId(), pickups.get(items.get(1).getId()).getCharity().getId());
+        assertEquals(manual.getId(),
+                donationLogRepository.findByFoodItem_Id(items.get(0).getId()).orElseThrow().getCharity().getId());
+    }
+
+    @Test
+    void itemsPostedOneAtATimeAreMatchedToo() {
+        String category = "frozen-" + UUID.randomUUID();
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        matchingService.savePreference(charity.getId(), preference(10, category, null, null, null));
+        FoodItem single = foodItemService.addFood(food(donor, "Peas", category));
+        assertTrue(donationLogRepository.findByFoodItem_Id(single.getId()).isEmpty());
+
+        matchingService.runBatch();
+
+        assertEquals(charity.getId(), pickupsFor(List.of(single)).get(single.getId()).getCharity().getId());
+        DonationLog log = donationLogRepository.findByFoodItem_Id(single.getId()).orElseThrow();
+        assertEquals(charity.getId(), log.getCharity().getId());
+        assertEquals(donor.getId(), log.getDonor().getId());
+        assertTrue(log.getClaimedAt() != null);
+        // A later manual claim finds the log the engine created
+        assertFalse(donationLogService.claimFood(single.getId(), newUser(userRepository, "Charity").getId()).isPresent());
+    }
+
+    private Map<Long, PickupSchedule> pickupsFor(List<FoodItem> items) {
+        List<Long> ids = items.stream().map(FoodItem::getId).toList();
+        return pickupScheduleRepository.findAll().stream()
+                .filter(p -> ids.contains(p.getFoodItem().getId()))
+                .collect(Collectors.toMap(p -> p.getFoodItem().getId(), p -> p));
+    }
+
+    private static CharityPreference preference(int capacity, String categories, Double lat, Double lon, Double maxKm) {
+        CharityPreference p = new CharityPreference();
+        p.setDailyCapacity(capacity);
+        p.setCategories(categories);
+        p.setLatitude(lat);
+        p.setLongitude(lon);
+        p.setMaxDistanceKm(maxKm);
+        return p;
+    }
+
+    private static FoodItem food(User donor, String name, String category) {
+        FoodItem f = new FoodItem(name, 1, "Depot", null, donor.getId());
+        f.setCategory(category);
+        f.setLatitude(40.01);
+        f.setLongitude(-74.0);
+        return f;
+    }
+}
@@ -0,0 +1,112 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.PickupSchedule;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.FoodItemRepository;
+import com.sustainshare.backend.repository.PickupScheduleRepository;
+import com.sustainshare.backend.repository.UserRepository;
+
+@SpringBootTest
+class PickupSlotServiceTest {
+
+    // Slots are 30 minutes (the default); a fixed future day keeps other tests' pickups out of the way
+    private static final LocalDateTime NINE = LocalDateTime.now().plusYears(1).toLocalDate().atTime(9, 0);
+
+    @Autowired
+    private PickupScheduleService pickupScheduleService;
+
+    @Autowired
+    private PickupSlotService pickupSlotService;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private PickupScheduleRepository pickupScheduleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void overlappingPickupsForTheSameCharityLocationOrItemAreRejected() {
+        String depot = "Depot " + UUID.randomUUID();
+        User charity = newUser(userRepository, "Charity");
+        User other = newUser(userRepository, "Charity");
+        FoodItem bread = food(depot);
+
+        pickupScheduleService.schedulePickup(new PickupSchedule(NINE, "Scheduled", bread, charity));
+
+        // Same charity, 10 minutes later, elsewhere
+        assertThrows(PickupConflictException.class, () -> pickupScheduleService.schedulePickup(
+                new PickupSchedule(NINE.plusMinutes(10), "Scheduled", food("Elsewhere " + UUID.randomUUID()), charity)));
+        // Same location, another charity
+        assertThrows(PickupConflictException.class, () -> pickupScheduleService.schedulePickup(
+                new PickupSchedule(NINE.minusMinutes(20), "Scheduled", food(depot), other)));
+        // Same food item, any time
+        assertThrows(PickupConflictException.class, () -> pickupScheduleService.schedulePickup(
+                new PickupSchedule(NINE.plusDays(2), "Scheduled", bread, other)));
+
+        // Back to back is fine, and so are closed pickups
+        pickupScheduleService.schedulePickup(new PickupSchedule(NINE.plusMinutes(30), "Scheduled", food(depot), other));
+        pickupScheduleService.schedulePickup(new PickupSchedule(NINE, "Completed", food(depot), other));
+    }
+
+    @Test
+    void freeSlotSearchSkipsTakenSlotsAndFollowsDeletes() {
+        String depot = "Depot " + UUID.randomUUID();
+        User charity = newUser(userRepository, "Charity");
+        PickupSchedule first = pickupScheduleService.schedulePickup(new PickupSchedule(NINE, "Scheduled", food(depot), charity));
+        pickupScheduleService.schedulePickup(new PickupSchedule(NINE.plusMinutes(45), "Scheduled", food(depot), charity));
+
+        List<LocalDateTime> free = pickupSlotService.nextFreeSlots(charity.getId(), depot, NINE.minusMinutes(10), 3);
+        // 9:00-9:30 and 9:45-10:15 are taken, so 9:30 overlaps the second and the grid resumes at 10:30
+        assertEquals(List.of(NINE.plusMinutes(90), NINE.plusMinutes(120), NINE.plusMinutes(150)), free);
+
+        pickupScheduleService.deletePickup(first.getId());
+        assertEquals(NINE, pickupSlotService.nextFreeSlots(charity.getId(), depot, NINE.minusMinutes(10), 1).get(0));
+    }
+
+    @Test
+    void reservationsMadeDuringARebuildAreKept() {
+        String depot = "Depot " + UUID.randomUUID();
+        User charity = newUser(userRepository, "Charity");
+        PickupSlotService slots = new PickupSlotService(Duration.ofMinutes(30), Duration.ofDays(30));
+        // One reservation is still uncommitted when the rebuild starts, another is taken while its query runs
+        PickupSlotService.Slot before = slots.reserve(charity.getId(), null, depot, NINE);
+        PickupScheduleRepository slowQuery = (PickupScheduleRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { PickupScheduleRepository.class }, (proxy, method, args) -> {
+                    Object result = method.invoke(pickupScheduleRepository, args);
+                    if (method.getName().equals("findSlotsSince")) {
+                        slots.reserve(charity.getId(), null, depot, NINE.plusHours(1));
+                    }
+                    return result;
+                });
+        ReflectionTestUtils.setField(slots, "pickupScheduleRepository", slowQuery);
+
+        slots.rebuild();
+        assertThrows(PickupConflictException.class, () -> slots.reserve(charity.getId(), null, depot, NINE.plusMinutes(10)));
+        assertThrows(PickupConflictException.class, () -> slots.reserve(charity.getId(), null, depot, NINE.plusMinutes(70)));
+        slots.release(before);
+        slots.reserve(charity.getId(), null, depot, NINE.plusMinutes(10));
+    }
+
+    private FoodItem food(String location) {
+        return foodItemRepository.save(new FoodItem("Bread", 1, location, null, null));
+    }
+}
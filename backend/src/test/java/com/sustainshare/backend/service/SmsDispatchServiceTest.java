@@ -0,0 +1,143 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.SmsMessage;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.SmsMessageRepository;
+import com.sustainshare.backend.repository.UserRepository;
+import com.sustainshare.backend.sms.SmsSender;
+
+// The background thread is pushed far out so each test drives flush() and dispatch() itself
+@SpringBootTest(properties = {
+    "sustainshare.sms.enabled=true",
+    "sustainshare.sms.notify-charities-on-post=false",
+    "sustainshare.sms.flush-ms=3600000",
+    "sustainshare.sms.dispatch-ms=3600000",
+    "sustainshare.sms.retry-base=PT0S"
+})
+class SmsDispatchServiceTest {
+
+    @TestConfiguration
+    static class FlakySenderConfig {
+        @Bean
+        @Primary
+        FlakySender flakySender() {
+            return new FlakySender();
+        }
+    }
+
+    // Fails while failuresLeft > 0, then records what it sends
+    static class FlakySender implements SmsSender {
+        final AtomicInteger failuresLeft = new AtomicInteger();
+        final List<String[]> sent = new ArrayList<>();
+
+        @Override
+        public synchronized void send(String to, String body) {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("provider unavailable");
+            }
+            sent.add(new String[] { to, body });
+        }
+    }
+
+    @Autowired
+    private SmsDispatchService smsDispatchService;
+
+    @Autowired
+    private FlakySender flakySender;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private DonationLogService donationLogService;
+
+    @Autowired
+    private SmsMessageRepository smsMessageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void claimsForOneDonorAreCoalescedAndRetriedUntilSent() {
+        String phone = "+1555" + (int) (Math.random() * 1_000_000);
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        List<FoodItem> items = List.of(food(donor, "Rice", phone), food(donor, "Beans", phone));
+        foodItemService.addFoodBatch(items);
+        for (FoodItem f : items) {
+            assertTrue(donationLogService.claimFood(f.getId(), charity.getId()).isPresent());
+        }
+
+        // Each claim committed its outbox row; nothing was sent on the request path
+        assertTrue(flakySender.sent.stream().noneMatch(m -> m[0].equals(phone)));
+        assertEquals(2, rowsFor(phone).size());
+
+        flakySender.failuresLeft.set(1);
+        smsDispatchService.dispatch();
+        for (SmsMessage row : rowsFor(phone)) {
+            assertEquals(SmsMessage.PENDING, row.getStatus());
+            assertEquals(1, row.getAttempts());
+        }
+
+        smsDispatchService.dispatch();
+        assertTrue(rowsFor(phone).stream().allMatch(row -> SmsMessage.SENT.equals(row.getStatus())));
+        List<String[]> toDonor = flakySender.sent.stream().filter(m -> m[0].equals(phone)).toList();
+        assertEquals(1, toDonor.size());
+        assertEquals("SustainShare: 2 of your items were claimed: Rice, Beans.", toDonor.get(0)[1]);
+    }
+
+    @Test
+    void postingsAreStoredAsOneRowAndExpandedPerCharity() {
+        ReflectionTestUtils.setField(smsDispatchService, "notifyCharitiesOnPost", true);
+        try {
+            smsDispatchService.flush();
+            String phone = "+1666" + (int) (Math.random() * 1_000_000);
+            User charity = newUser(userRepository, "Charity");
+            charity.setPhone(phone);
+            userRepository.save(charity);
+            User donor = newUser(userRepository, "Donor");
+            List<FoodItem> items = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                items.add(new FoodItem("Soup " + i, 1, "Depot", null, donor.getId()));
+            }
+            foodItemService.addFoodBatch(items);
+            foodItemService.addFood(new FoodItem("Bread", 1, "Depot", null, donor.getId()));
+            assertEquals(2, smsMessageRepository.countByStatus(SmsMessage.FANOUT));
+
+            assertTrue(smsDispatchService.flush() > 0);
+            assertEquals(0, smsMessageRepository.countByStatus(SmsMessage.FANOUT));
+            List<SmsMessage> rows = rowsFor(phone);
+            assertEquals(1, rows.size());
+            assertEquals("SustainShare: 6 new food items available: Soup 0, Soup 1, Soup 2 and 3 more.", rows.get(0).getBody());
+        } finally {
+            ReflectionTestUtils.setField(smsDispatchService, "notifyCharitiesOnPost", false);
+        }
+    }
+
+    private List<SmsMessage> rowsFor(String phone) {
+        return smsMessageRepository.findAll().stream().filter(m -> m.getRecipient().equals(phone)).toList();
+    }
+
+    private static FoodItem food(User donor, String name, String phone) {
+        FoodItem f = new FoodItem(name, 1, "Depot", null, donor.getId());
+        f.setDonorPhone(phone);
+        return f;
+    }
+}
@@ -0,0 +1,75 @@
+package com.sustainshare.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.sustainshare.backend.support.TestUsers.newUser;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sustainshare.backend.model.FoodItem;
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class UserCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private DonationLogService donationLogService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void lookupsByIdAndEmailAreServedFromTheCacheUntilTheUserIsUpdated() {
+        User user = newUser(userRepository, "Donor");
+
+        User first = userService.getUserById(user.getId()).orElseThrow();
+        long hits = (long) userCache.getStats().get("idHits");
+        User second = userService.getUserById(user.getId()).orElseThrow();
+        assertEquals(hits + 1, userCache.getStats().get("idHits"));
+        assertNotSame(first, second); // callers get copies
+        // The id lookup also indexed the email, so login does not query either
+        long emailHits = (long) userCache.getStats().get("emailHits");
+        assertTrue(userService.authenticateUser(user.getEmail(), "pass").isPresent());
+        assertEquals(emailHits + 1, userCache.getStats().get("emailHits"));
+
+        User changed = userRepository.findById(user.getId()).orElseThrow();
+        changed.setName("Renamed " + user.getUsername());
+        userRepository.save(changed);
+
+        assertEquals(changed.getName(), userService.getUserById(user.getId()).orElseThrow().getName());
+        assertEquals(changed.getName(), userService.getUserByEmail(user.getEmail()).orElseThrow().getName());
+    }
+
+    @Test
+    void claimDoesNotLoadCachedDonorOrCharityRows() {
+        User donor = newUser(userRepository, "Donor");
+        User charity = newUser(userRepository, "Charity");
+        FoodItem food = foodItemService.addFood(new FoodItem("Soup", 1, "Depot", null, donor.getId()));
+        userService.getUserById(charity.getId());
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long usersLoaded = stats.getEntityStatistics(User.class.getName()).getLoadCount();
+        assertTrue(donationLogService.claimFood(food.getId(), charity.getId(), DonationLogService.ClaimMode.LOCKING).isPresent());
+        assertEquals(usersLoaded, stats.getEntityStatistics(User.class.getName()).getLoadCount());
+    }
+}
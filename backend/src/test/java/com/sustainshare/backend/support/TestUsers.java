@@ -0,0 +1,18 @@
+package com.sustainshare.backend.support;
+
+import java.util.UUID;
+
+import com.sustainshare.backend.model.User;
+import com.sustainshare.backend.repository.UserRepository;
+
+// Users with unique names, phones and emails, so tests sharing the embedded database do not collide
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static User newUser(UserRepository userRepository, String role) {
+        String unique = UUID.randomUUID().toString().substring(0, 12);
+        return userRepository.save(new User(role + " " + unique, unique, unique + "@example.com", unique, "pass", role));
+    }
+}
@@ -6,6 +6,7 @@ import axios from 'axios';
 import './CharityDashboard.css';
 
 import { AuthContext } from '../contexts/AuthContext';
+import API from '../services/api';
 
 const CharityDashboard = () => {
   const { currentUser } = useContext(AuthContext);
@@ -285,7 +286,7 @@ const CharityDashboard = () => {
 
       // Use backend claim endpoint which enforces single-claim semantics
       try {
-        await axios.post(`http://localhost:8080/api/donations/claim/${donation.id}`, { charityId: parseInt(enteredUserId) });
+        await API.post(`/donations/claim/${donation.id}`, { charityId: parseInt(enteredUserId) });
       } catch (err) {
         if (err.response && err.response.status === 409) {
           setNotification({ type: 'error', message: 'This food has already been claimed by another charity.' });
@@ -4,6 +4,19 @@ const API = axios.create({
   baseURL: 'http://localhost:8080/api',
 });
 
+// Send the signed login token so the backend can authorize without looking the user up
+const withAuthToken = (config) => {
+  const token = localStorage.getItem('authToken');
+  if (token) {
+    config.headers = config.headers || {};
+    config.headers.Authorization = `Bearer ${token}`;
+  }
+  return config;
+};
+
+API.interceptors.request.use(withAuthToken);
+axios.interceptors.request.use(withAuthToken);
+
 // Users API
 export const fetchUsers = () => API.get('/users');
 
@@ -16,7 +29,8 @@ export const fetchFoodItems = () => API.get('/food');
 // Pickups API
 export const fetchPickups = () => API.get('/pickups');
 
-// Notifications API
-export const fetchNotifications = (userId) => API.get(`/notifications/user/${userId}`);
+// Notifications API: newest first, one page of { items, nextCursor }; pass nextCursor back as `after`
+export const fetchNotifications = (userId, { after, limit } = {}) =>
+  API.get(`/notifications/user/${userId}`, { params: { after, limit } });
 
 export default API;